@@ -55,14 +55,21 @@ import com.itextpdf.io.font.cmap.CMapParser;
 import com.itextpdf.io.font.cmap.CMapUniCid;
 
 import java.io.InputStream;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Properties;
+import java.util.List;
 import java.util.Set;
 import java.util.StringTokenizer;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 public class FontCache {
 
@@ -81,7 +88,15 @@ public class FontCache {
     private static final String W_PROP = "W";
     private static final String W2_PROP = "W2";
 
-    private static Map<FontCacheKey, FontProgram> fontCache = new ConcurrentHashMap<>();
+    private static final ConcurrentMap<FontCacheKey, CachedFontProgram> fontCache = new ConcurrentHashMap<>();
+
+    private static volatile FontCachePolicy cachePolicy = FontCachePolicy.UNBOUNDED;
+    private static final Object evictionLock = new Object();
+    private static final AtomicLong cachedWeight = new AtomicLong();
+    private static final AtomicLong accessClock = new AtomicLong();
+    private static final AtomicLong hitCount = new AtomicLong();
+    private static final AtomicLong missCount = new AtomicLong();
+    private static final AtomicLong evictionCount = new AtomicLong();
 
     static {
         try {
@@ -163,11 +178,18 @@ public class FontCache {
     }
 
     public static FontProgram getFont(String fontName) {
-        return fontCache.get(FontCacheKey.create(fontName));
+        return getFont(FontCacheKey.create(fontName));
     }
 
     static FontProgram getFont(FontCacheKey key) {
-        return fontCache.get(key);
+        CachedFontProgram cached = fontCache.get(key);
+        if (cached == null) {
+            missCount.incrementAndGet();
+            return null;
+        }
+        hitCount.incrementAndGet();
+        cached.touch(accessClock.incrementAndGet());
+        return cached.fontProgram;
     }
 
     public static FontProgram saveFont(FontProgram font, String fontName) {
@@ -175,14 +197,166 @@ public class FontCache {
     }
 
     static FontProgram saveFont(FontProgram font, FontCacheKey key) {
-        FontProgram fontFound = fontCache.get(key);
-        if (fontFound != null) {
-            return fontFound;
+        FontCachePolicy policy = cachePolicy;
+        CachedFontProgram cached = new CachedFontProgram(font, Math.max(0, policy.weigh(key, font)), accessClock.incrementAndGet());
+        // If another thread has cached the same font in the meantime, its instance is shared instead.
+        CachedFontProgram found = fontCache.putIfAbsent(key, cached);
+        if (found != null) {
+            found.touch(accessClock.incrementAndGet());
+            return found.fontProgram;
+        }
+        if (cachedWeight.addAndGet(cached.weight) > policy.getMaxWeight()) {
+            evict(key);
         }
-        fontCache.put(key, font);
         return font;
     }
 
+    /**
+     * Sets the policy which limits the total weight of cached font programs. Cached font programs
+     * are evicted immediately, if the new limit is exceeded.
+     * By default the cache is unbounded, see {@link FontCachePolicy#UNBOUNDED}.
+     *
+     * @param policy the new cache policy
+     */
+    public static void setCachePolicy(FontCachePolicy policy) {
+        if (policy == null) {
+            throw new IllegalArgumentException("policy");
+        }
+        cachePolicy = policy;
+        if (cachedWeight.get() > policy.getMaxWeight()) {
+            evict(null);
+        }
+    }
+
+    public static FontCachePolicy getCachePolicy() {
+        return cachePolicy;
+    }
+
+    /**
+     * Removes the font program with the given name from the cache.
+     * In case of TTC all cached fonts of the collection are removed.
+     * Documents which already use the font program are not affected.
+     *
+     * @param fontName the name or the path of the font, as passed to {@link FontProgramFactory}
+     * @return {@code true} if any font program has been removed
+     */
+    public static boolean invalidate(String fontName) {
+        return invalidate(FontCacheKey.create(fontName));
+    }
+
+    /**
+     * Removes the font program with the given key from the cache, e.g. the key created from the font bytes.
+     * In case of TTC all cached fonts of the collection are removed.
+     * Documents which already use the font program are not affected.
+     *
+     * @param key the key of the font program
+     * @return {@code true} if any font program has been removed
+     */
+    public static boolean invalidate(FontCacheKey key) {
+        FontCacheKey baseKey = key.getBaseKey();
+        boolean removed = false;
+        for (Map.Entry<FontCacheKey, CachedFontProgram> entry : fontCache.entrySet()) {
+            if (entry.getKey().getBaseKey().equals(baseKey)) {
+                removed |= remove(entry.getKey(), entry.getValue());
+            }
+        }
+        return removed;
+    }
+
+    /**
+     * Removes all font programs from the cache. Statistics are not reset.
+     */
+    public static void invalidateAll() {
+        for (Map.Entry<FontCacheKey, CachedFontProgram> entry : fontCache.entrySet()) {
+            remove(entry.getKey(), entry.getValue());
+        }
+    }
+
+    /**
+     * Gets the number of requests of cached font programs which have been found in the cache.
+     */
+    public static long getHitCount() {
+        return hitCount.get();
+    }
+
+    /**
+     * Gets the number of requests of cached font programs which have not been found in the cache.
+     */
+    public static long getMissCount() {
+        return missCount.get();
+    }
+
+    /**
+     * Gets the number of font programs removed from the cache due to the {@link FontCachePolicy} limit.
+     * Explicitly invalidated font programs are not counted.
+     */
+    public static long getEvictionCount() {
+        return evictionCount.get();
+    }
+
+    /**
+     * Gets the total weight of cached font programs, see {@link FontCachePolicy#weigh(FontCacheKey, FontProgram)}.
+     */
+    public static long getCachedWeight() {
+        return cachedWeight.get();
+    }
+
+    public static int getCachedFontCount() {
+        return fontCache.size();
+    }
+
+    /**
+     * Resets hit, miss and eviction counters.
+     */
+    public static void resetStatistics() {
+        hitCount.set(0);
+        missCount.set(0);
+        evictionCount.set(0);
+    }
+
+    private static boolean remove(FontCacheKey key, CachedFontProgram cached) {
+        if (fontCache.remove(key, cached)) {
+            cachedWeight.addAndGet(-cached.weight);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Evicts font programs in the order defined by the cache policy until the weight limit is met.
+     * The recently saved font program is evicted last, and only if it alone exceeds the limit.
+     */
+    private static void evict(FontCacheKey savedKey) {
+        synchronized (evictionLock) {
+            FontCachePolicy policy = cachePolicy;
+            if (cachedWeight.get() <= policy.getMaxWeight()) {
+                return;
+            }
+            List<EvictionCandidate> candidates = new ArrayList<>(fontCache.size());
+            EvictionCandidate saved = null;
+            for (Map.Entry<FontCacheKey, CachedFontProgram> entry : fontCache.entrySet()) {
+                EvictionCandidate candidate = new EvictionCandidate(entry.getKey(), entry.getValue());
+                if (entry.getKey().equals(savedKey)) {
+                    saved = candidate;
+                } else {
+                    candidates.add(candidate);
+                }
+            }
+            Collections.sort(candidates, new EvictionCandidateComparator(policy.getEvictionOrder()));
+            if (saved != null) {
+                candidates.add(saved);
+            }
+            for (EvictionCandidate candidate : candidates) {
+                if (cachedWeight.get() <= policy.getMaxWeight()) {
+                    break;
+                }
+                if (remove(candidate.key, candidate.cached)) {
+                    evictionCount.incrementAndGet();
+                }
+            }
+        }
+    }
+
     private static void loadRegistry() throws java.io.IOException {
         InputStream resource = ResourceUtil.getResourceStream(FontConstants.CMAP_RESOURCE_PATH + CJK_REGISTRY_FILENAME);
         try {
@@ -251,4 +425,53 @@ public class FontCache {
         }
         return cmap;
     }
+
+    private static class CachedFontProgram {
+        final FontProgram fontProgram;
+        final long weight;
+        final AtomicInteger useCount = new AtomicInteger(1);
+        volatile long lastAccess;
+
+        CachedFontProgram(FontProgram fontProgram, long weight, long lastAccess) {
+            this.fontProgram = fontProgram;
+            this.weight = weight;
+            this.lastAccess = lastAccess;
+        }
+
+        void touch(long time) {
+            lastAccess = time;
+            useCount.incrementAndGet();
+        }
+    }
+
+    private static class EvictionCandidate {
+        final FontCacheKey key;
+        final CachedFontProgram cached;
+        // access data is copied, since it may be updated concurrently while candidates are sorted
+        final long lastAccess;
+        final int useCount;
+
+        EvictionCandidate(FontCacheKey key, CachedFontProgram cached) {
+            this.key = key;
+            this.cached = cached;
+            this.lastAccess = cached.lastAccess;
+            this.useCount = cached.useCount.get();
+        }
+    }
+
+    private static class EvictionCandidateComparator implements Comparator<EvictionCandidate> {
+        private final FontCachePolicy.EvictionOrder order;
+
+        EvictionCandidateComparator(FontCachePolicy.EvictionOrder order) {
+            this.order = order;
+        }
+
+        @Override
+        public int compare(EvictionCandidate o1, EvictionCandidate o2) {
+            if (order == FontCachePolicy.EvictionOrder.LEAST_FREQUENTLY_USED && o1.useCount != o2.useCount) {
+                return Integer.compare(o1.useCount, o2.useCount);
+            }
+            return Long.compare(o1.lastAccess, o2.lastAccess);
+        }
+    }
 }
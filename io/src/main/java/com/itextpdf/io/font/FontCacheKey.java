@@ -62,6 +62,13 @@ public abstract class FontCacheKey {
         return new FontCacheTtcKey(fontProgram, ttcIndex);
     }
 
+    /**
+     * Gets the key of the whole font file, which is the key itself for all fonts except the fonts from TTC.
+     */
+    FontCacheKey getBaseKey() {
+        return this;
+    }
+
     private static class FontCacheStringKey extends FontCacheKey {
         private String fontName;
 
@@ -137,6 +144,11 @@ public abstract class FontCacheKey {
             this.ttcIndex = ttcIndex;
         }
 
+        @Override
+        FontCacheKey getBaseKey() {
+            return ttcKey;
+        }
+
         @Override
         public boolean equals(Object o) {
             if (this == o) return true;
@@ -0,0 +1,137 @@
+/*
+
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2017 iText Group NV
+    Authors: Bruno Lowagie, Paulo Soares, et al.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.io.font;
+
+/**
+ * Defines how many font programs {@link FontCache} keeps and which of them are dropped first.
+ * The weight of a cached font program approximates the amount of memory it holds, so that
+ * the limit of the cache is expressed in bytes rather than in a number of fonts.
+ * <p>
+ * The policy can be customized by overriding {@link #weigh(FontCacheKey, FontProgram)}.
+ *
+ * @see FontCache#setCachePolicy(FontCachePolicy)
+ */
+public class FontCachePolicy {
+
+    /**
+     * The order in which cached font programs are evicted when the cache exceeds its maximum weight.
+     */
+    public enum EvictionOrder {
+        /**
+         * The font program which has not been requested for the longest time is evicted first.
+         */
+        LEAST_RECENTLY_USED,
+        /**
+         * The font program which has been requested the least number of times is evicted first.
+         * Font programs requested equally often are evicted in least recently used order.
+         */
+        LEAST_FREQUENTLY_USED
+    }
+
+    /**
+     * The policy which never evicts font programs. This is the default policy of {@link FontCache}.
+     */
+    public static final FontCachePolicy UNBOUNDED = new FontCachePolicy(Long.MAX_VALUE, EvictionOrder.LEAST_RECENTLY_USED);
+
+    private final long maxWeight;
+    private final EvictionOrder evictionOrder;
+
+    /**
+     * Creates a new cache policy.
+     *
+     * @param maxWeight     the maximum total weight of cached font programs, approximately in bytes
+     * @param evictionOrder the order in which font programs are evicted
+     */
+    public FontCachePolicy(long maxWeight, EvictionOrder evictionOrder) {
+        if (maxWeight < 0) {
+            throw new IllegalArgumentException("maxWeight");
+        }
+        if (evictionOrder == null) {
+            throw new IllegalArgumentException("evictionOrder");
+        }
+        this.maxWeight = maxWeight;
+        this.evictionOrder = evictionOrder;
+    }
+
+    /**
+     * Creates a policy which evicts least recently used font programs.
+     *
+     * @param maxWeight the maximum total weight of cached font programs, approximately in bytes
+     * @return the cache policy
+     */
+    public static FontCachePolicy leastRecentlyUsed(long maxWeight) {
+        return new FontCachePolicy(maxWeight, EvictionOrder.LEAST_RECENTLY_USED);
+    }
+
+    /**
+     * Creates a policy which evicts least frequently used font programs.
+     *
+     * @param maxWeight the maximum total weight of cached font programs, approximately in bytes
+     * @return the cache policy
+     */
+    public static FontCachePolicy leastFrequentlyUsed(long maxWeight) {
+        return new FontCachePolicy(maxWeight, EvictionOrder.LEAST_FREQUENTLY_USED);
+    }
+
+    public long getMaxWeight() {
+        return maxWeight;
+    }
+
+    public EvictionOrder getEvictionOrder() {
+        return evictionOrder;
+    }
+
+    /**
+     * Calculates the weight of a font program which is about to be cached. The weight is calculated once,
+     * when the font program is put into the cache.
+     * By default it is the approximate size of the font data and the parsed glyphs in bytes.
+     *
+     * @param key         the cache key of the font program
+     * @param fontProgram the font program to be cached
+     * @return the non-negative weight of the font program
+     */
+    public long weigh(FontCacheKey key, FontProgram fontProgram) {
+        return fontProgram.getApproximateSize();
+    }
+}
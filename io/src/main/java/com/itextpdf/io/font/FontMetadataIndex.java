@@ -0,0 +1,413 @@
+/*
+
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2017 iText Group NV
+    Authors: Bruno Lowagie, Paulo Soares, et al.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.io.font;
+
+import com.itextpdf.io.IOException;
+import com.itextpdf.io.LogMessageConstant;
+import com.itextpdf.io.util.FileUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.text.MessageFormat;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Persistent index of font file metadata.
+ * <p>
+ * Registering a font directory requires the names of every font in it, which normally means parsing
+ * every font file on every start of the application. The index keeps the parsed {@link FontNames}
+ * together with the data needed for {@link FontProgramDescriptor} in a compact binary file keyed
+ * by font path, file size and modification time, so that unchanged files are not parsed again.
+ * Real {@link FontProgram} instances are only created when a font is actually requested.
+ * <p>
+ * Files which could not be parsed are remembered as well and are not parsed again until they change.
+ *
+ * @see FontProgramFactory#setFontMetadataIndex(FontMetadataIndex)
+ */
+public class FontMetadataIndex {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(FontMetadataIndex.class);
+
+    private static final int MAGIC = 0x46494458;
+    private static final int VERSION = 1;
+
+    private final String indexPath;
+    private final Map<String, FileEntry> entries = new HashMap<>();
+    private boolean modified;
+
+    /**
+     * Creates a new index which is stored in the specified file.
+     * If the file exists, its content is loaded; a corrupted or outdated file is ignored and rebuilt.
+     *
+     * @param indexPath the path of the index file
+     */
+    public FontMetadataIndex(String indexPath) {
+        this.indexPath = indexPath;
+        if (FileUtil.fileExists(indexPath)) {
+            try {
+                read();
+            } catch (Exception e) {
+                entries.clear();
+                modified = true;
+                LOGGER.warn(MessageFormat.format(LogMessageConstant.FONT_METADATA_INDEX_CANNOT_BE_READ, indexPath));
+            }
+        }
+    }
+
+    /**
+     * Gets the path of the index file.
+     *
+     * @return the path of the index file
+     */
+    public String getIndexPath() {
+        return indexPath;
+    }
+
+    /**
+     * Gets the names of the font stored in the specified file.
+     * For TrueType Collections the index of the font must be appended to the path, e.g. "fonts.ttc,1".
+     * The file is parsed only if it is not indexed yet or has changed since it was indexed.
+     *
+     * @param path the path of a ttf, otf, afm or pfm file, or of a font from a ttc file
+     * @return the font names
+     * @throws java.io.IOException if the font cannot be read
+     */
+    public synchronized FontNames getFontNames(String path) throws java.io.IOException {
+        return getFace(path).fontNames;
+    }
+
+    /**
+     * Gets the descriptor of the font stored in the specified file.
+     * The file is parsed only if it is not indexed yet or has changed since it was indexed.
+     *
+     * @param path the path of a ttf, otf, afm or pfm file, or of a font from a ttc file
+     * @return the descriptor of the font, or {@code null} if the font cannot be read
+     */
+    public synchronized FontProgramDescriptor fetchDescriptor(String path) {
+        try {
+            FaceEntry face = getFace(path);
+            return new FontProgramDescriptor(face.fontNames, face.italicAngle, face.monospace);
+        } catch (Exception ignored) {
+            return null;
+        }
+    }
+
+    /**
+     * Gets the number of fonts in a TrueType Collection.
+     *
+     * @param ttcPath the path of a ttc file
+     * @return the number of fonts in the collection
+     * @throws java.io.IOException if the collection cannot be read
+     */
+    public synchronized int getTtcSize(String ttcPath) throws java.io.IOException {
+        FileEntry entry = getEntry(ttcPath);
+        if (entry.faces.length == 0) {
+            throw new IOException(IOException.InvalidTtcFile).setMessageParams(ttcPath);
+        }
+        return entry.faces.length;
+    }
+
+    /**
+     * Gets the number of indexed font files.
+     *
+     * @return the number of indexed font files
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * Checks whether the index has changes which are not saved yet.
+     *
+     * @return {@code true} if the index has to be saved
+     */
+    public synchronized boolean isModified() {
+        return modified;
+    }
+
+    /**
+     * Removes all entries from the index.
+     */
+    public synchronized void clear() {
+        if (entries.size() > 0) {
+            entries.clear();
+            modified = true;
+        }
+    }
+
+    /**
+     * Writes the index to its file if it has been modified since it was loaded or last saved.
+     *
+     * @throws java.io.IOException if the index file cannot be written
+     */
+    public synchronized void save() throws java.io.IOException {
+        if (!modified) {
+            return;
+        }
+        String parent = FileUtil.getParentDirectory(indexPath);
+        if (parent != null && parent.length() > 0) {
+            FileUtil.createDirectories(parent);
+        }
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(indexPath)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(entries.size());
+            for (Map.Entry<String, FileEntry> e : entries.entrySet()) {
+                FileEntry entry = e.getValue();
+                out.writeUTF(e.getKey());
+                out.writeLong(entry.length);
+                out.writeLong(entry.lastModified);
+                out.writeInt(entry.faces.length);
+                for (FaceEntry face : entry.faces) {
+                    writeFace(out, face);
+                }
+            }
+        }
+        modified = false;
+    }
+
+    /**
+     * Saves the index and logs a warning instead of throwing an exception if it cannot be written.
+     */
+    public void saveQuietly() {
+        try {
+            save();
+        } catch (java.io.IOException e) {
+            LOGGER.warn(MessageFormat.format(LogMessageConstant.FONT_METADATA_INDEX_CANNOT_BE_WRITTEN, indexPath), e);
+        }
+    }
+
+    private FaceEntry getFace(String path) throws java.io.IOException {
+        String filePath = path;
+        int faceIndex = 0;
+        int ttcSplit = path.toLowerCase().indexOf(".ttc,");
+        if (ttcSplit > 0) {
+            filePath = path.substring(0, ttcSplit + 4);
+            try {
+                faceIndex = Integer.parseInt(path.substring(ttcSplit + 5).trim());
+            } catch (NumberFormatException nfe) {
+                throw new IOException(nfe.getMessage(), nfe);
+            }
+        }
+        FileEntry entry = getEntry(filePath);
+        if (entry.faces.length == 0) {
+            throw new IOException(IOException.TypeOfFont1IsNotRecognized).setMessageParams(path);
+        }
+        if (faceIndex < 0 || faceIndex >= entry.faces.length) {
+            throw new IOException(IOException.TtcIndexDoesNotExistInThisTtcFile);
+        }
+        return entry.faces[faceIndex];
+    }
+
+    private FileEntry getEntry(String filePath) throws java.io.IOException {
+        File file = new File(filePath);
+        if (!file.isFile()) {
+            throw new IOException(IOException.FontFile1NotFound).setMessageParams(filePath);
+        }
+        long length = file.length();
+        long lastModified = file.lastModified();
+        FileEntry entry = entries.get(filePath);
+        if (entry == null || entry.length != length || entry.lastModified != lastModified) {
+            entry = new FileEntry(length, lastModified, parseFaces(filePath));
+            entries.put(filePath, entry);
+            modified = true;
+        }
+        return entry;
+    }
+
+    private static FaceEntry[] parseFaces(String filePath) {
+        String lowerCasePath = filePath.toLowerCase();
+        try {
+            if (lowerCasePath.endsWith(".ttf") || lowerCasePath.endsWith(".otf")) {
+                try (OpenTypeParser parser = new OpenTypeParser(filePath)) {
+                    return new FaceEntry[]{parseFace(parser)};
+                }
+            } else if (lowerCasePath.endsWith(".ttc")) {
+                TrueTypeCollection ttc = new TrueTypeCollection(filePath);
+                FaceEntry[] faces = new FaceEntry[ttc.getTTCSize()];
+                ttc.raf.close();
+                for (int i = 0; i < faces.length; i++) {
+                    try (OpenTypeParser parser = new OpenTypeParser(filePath, i)) {
+                        faces[i] = parseFace(parser);
+                    }
+                }
+                return faces;
+            } else if (lowerCasePath.endsWith(".afm") || lowerCasePath.endsWith(".pfm")) {
+                Type1Font font = new Type1Font(filePath, null, null, null);
+                return new FaceEntry[]{new FaceEntry(font.getFontNames(), font.getFontMetrics().getItalicAngle(),
+                        font.getFontMetrics().isFixedPitch())};
+            }
+        } catch (Exception ignored) {
+            // The file is remembered as not a font until it changes.
+        }
+        return new FaceEntry[0];
+    }
+
+    private static FaceEntry parseFace(OpenTypeParser parser) throws java.io.IOException {
+        parser.loadTables(false);
+        return new FaceEntry(parser.getFontNames(), parser.getPostTable().italicAngle, parser.getPostTable().isFixedPitch);
+    }
+
+    private void read() throws java.io.IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(indexPath)))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                throw new IOException(IOException.IoException);
+            }
+            int count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                String path = in.readUTF();
+                long length = in.readLong();
+                long lastModified = in.readLong();
+                FaceEntry[] faces = new FaceEntry[in.readInt()];
+                for (int j = 0; j < faces.length; j++) {
+                    faces[j] = readFace(in);
+                }
+                entries.put(path, new FileEntry(length, lastModified, faces));
+            }
+        }
+    }
+
+    private static void writeFace(DataOutputStream out, FaceEntry face) throws java.io.IOException {
+        FontNames fontNames = face.fontNames;
+        writeString(out, fontNames.getFontName());
+        writeNames(out, fontNames.getFullName());
+        writeNames(out, fontNames.getFamilyName());
+        writeString(out, fontNames.getStyle());
+        writeString(out, fontNames.getCidFontName());
+        out.writeInt(fontNames.getFontWeight());
+        out.writeInt(fontNames.getFontWidth());
+        out.writeInt(fontNames.getMacStyle());
+        out.writeBoolean(fontNames.allowEmbedding());
+        out.writeFloat(face.italicAngle);
+        out.writeBoolean(face.monospace);
+    }
+
+    private static FaceEntry readFace(DataInputStream in) throws java.io.IOException {
+        FontNames fontNames = new FontNames();
+        fontNames.setFontName(readString(in));
+        fontNames.setFullName(readNames(in));
+        fontNames.setFamilyName(readNames(in));
+        fontNames.setStyle(readString(in));
+        fontNames.setCidFontName(readString(in));
+        fontNames.setWeight(in.readInt());
+        fontNames.setWidth(in.readInt());
+        fontNames.setMacStyle(in.readInt());
+        fontNames.setAllowEmbedding(in.readBoolean());
+        fontNames.setAllNames(new HashMap<Integer, List<String[]>>());
+        return new FaceEntry(fontNames, in.readFloat(), in.readBoolean());
+    }
+
+    private static void writeNames(DataOutputStream out, String[][] names) throws java.io.IOException {
+        if (names == null) {
+            out.writeInt(-1);
+            return;
+        }
+        out.writeInt(names.length);
+        for (String[] name : names) {
+            out.writeInt(name.length);
+            for (String part : name) {
+                writeString(out, part);
+            }
+        }
+    }
+
+    private static String[][] readNames(DataInputStream in) throws java.io.IOException {
+        int length = in.readInt();
+        if (length < 0) {
+            return null;
+        }
+        String[][] names = new String[length][];
+        for (int i = 0; i < length; i++) {
+            names[i] = new String[in.readInt()];
+            for (int j = 0; j < names[i].length; j++) {
+                names[i][j] = readString(in);
+            }
+        }
+        return names;
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws java.io.IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static String readString(DataInputStream in) throws java.io.IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    private static class FileEntry {
+        final long length;
+        final long lastModified;
+        final FaceEntry[] faces;
+
+        FileEntry(long length, long lastModified, FaceEntry[] faces) {
+            this.length = length;
+            this.lastModified = lastModified;
+            this.faces = faces;
+        }
+    }
+
+    private static class FaceEntry {
+        final FontNames fontNames;
+        final float italicAngle;
+        final boolean monospace;
+
+        FaceEntry(FontNames fontNames, float italicAngle, boolean monospace) {
+            this.fontNames = fontNames;
+            this.italicAngle = italicAngle;
+            this.monospace = monospace;
+        }
+    }
+}
@@ -45,12 +45,22 @@ package com.itextpdf.io.font;
 
 import com.itextpdf.io.IOException;
 import com.itextpdf.io.font.otf.Glyph;
+import com.itextpdf.io.font.otf.ShapedGlyphLineCache;
 import com.itextpdf.io.util.FileUtil;
+import com.itextpdf.io.util.IntObjectMap;
 
 import java.io.Serializable;
-import java.util.HashMap;
 import java.util.Map;
 
+/**
+ * Base class for font programs, i.e. the glyphs, metrics and names parsed from a font file.
+ * <p>
+ * Font programs are shared: {@link FontProgramFactory} caches them and the same instance is used by all
+ * {@code PdfFont}s created from the same font, in any number of documents and threads. A font program is
+ * therefore not changed after it has been created, except for data loaded on demand, which is loaded
+ * under the lock of the font program. Everything that depends on a particular document, like the glyphs
+ * used in it and the subset ranges, is tracked by the {@code PdfFont} of that document.
+ */
 public abstract class FontProgram implements Serializable {
 
     private static final long serialVersionUID = -3488910249070253659L;
@@ -60,8 +70,8 @@ public abstract class FontProgram implements Serializable {
 
     // In case Type1: char code to glyph.
     // In case TrueType: glyph index to glyph.
-    protected Map<Integer, Glyph> codeToGlyph = new HashMap<>();
-    protected Map<Integer, Glyph> unicodeToGlyph = new HashMap<>();
+    protected Map<Integer, Glyph> codeToGlyph = new IntObjectMap<>();
+    protected Map<Integer, Glyph> unicodeToGlyph = new IntObjectMap<>();
     protected boolean isFontSpecific;
 
     protected FontNames fontNames;
@@ -78,10 +88,42 @@ public abstract class FontProgram implements Serializable {
 
     protected String registry;
 
+    private transient volatile ShapedGlyphLineCache shapedGlyphLineCache;
+
     public int countOfGlyphs() {
         return Math.max(codeToGlyph.size(), unicodeToGlyph.size());
     }
 
+    /**
+     * Gets the rough estimation of memory held by this font program in bytes.
+     * It is used to weigh cached font programs, see {@link FontCachePolicy}.
+     *
+     * @return the approximate size of the font program in bytes
+     */
+    protected long getApproximateSize() {
+        // a glyph with its map entries takes roughly a hundred bytes, the shaping cache is counted as far as it is filled
+        ShapedGlyphLineCache cache = shapedGlyphLineCache;
+        return 1024 + 100L * countOfGlyphs() + (cache != null ? cache.getSize() : 0);
+    }
+
+    /**
+     * Gets the cache of the results of OpenType shaping and kerning of text runs in this font program.
+     *
+     * @return the {@link ShapedGlyphLineCache} of this font program
+     */
+    public ShapedGlyphLineCache getShapedGlyphLineCache() {
+        ShapedGlyphLineCache cache = shapedGlyphLineCache;
+        if (cache == null) {
+            synchronized (this) {
+                cache = shapedGlyphLineCache;
+                if (cache == null) {
+                    shapedGlyphLineCache = cache = new ShapedGlyphLineCache();
+                }
+            }
+        }
+        return cache;
+    }
+
     public FontNames getFontNames() {
         return fontNames;
     }
@@ -131,12 +173,12 @@ public abstract class FontProgram implements Serializable {
     }
 
     public Glyph getGlyph(int unicode) {
-        return unicodeToGlyph.get(unicode);
+        return getGlyph(unicodeToGlyph, unicode);
     }
 
     // char code in case Type1 or index in case OpenType
     public Glyph getGlyphByCode(int charCode) {
-        return codeToGlyph.get(charCode);
+        return getGlyph(codeToGlyph, charCode);
     }
 
     public boolean hasKernPairs() {
@@ -151,7 +193,7 @@ public abstract class FontProgram implements Serializable {
      * @return the kerning to be applied
      */
     public int getKerning(int first, int second) {
-        return getKerning(unicodeToGlyph.get(first), unicodeToGlyph.get(second));
+        return getKerning(getGlyph(first), getGlyph(second));
     }
 
     /**
@@ -297,4 +339,15 @@ public abstract class FontProgram implements Serializable {
         String name = getFontNames().getFontName();
         return name.length() > 0 ? name : super.toString();
     }
+
+    /**
+     * Gets the glyph mapped to the key, without boxing the key if the glyphs are kept in an {@link IntObjectMap}.
+     * The maps of the subclasses might be any other {@link Map}.
+     */
+    static Glyph getGlyph(Map<Integer, Glyph> glyphs, int key) {
+        if (glyphs instanceof IntObjectMap) {
+            return ((IntObjectMap<Glyph>) glyphs).get(key);
+        }
+        return glyphs.get(key);
+    }
 }
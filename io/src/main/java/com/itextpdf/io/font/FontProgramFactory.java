@@ -60,6 +60,8 @@ public final class FontProgramFactory {
 
     private static FontRegisterProvider fontRegisterProvider = new FontRegisterProvider();
 
+    private static boolean lazyTrueTypeFontLoading = false;
+
     private FontProgramFactory() {
     }
 
@@ -184,7 +186,7 @@ public final class FontProgramFactory {
         if (name == null) {
             if (fontProgram != null) {
                 try {
-                    fontBuilt = new TrueTypeFont(fontProgram);
+                    fontBuilt = new TrueTypeFont(fontProgram, lazyTrueTypeFontLoading);
                 } catch (Exception ignored) {
                 }
                 if (fontBuilt == null) {
@@ -201,9 +203,9 @@ public final class FontProgramFactory {
                 fontBuilt = new CidFont(name, FontCache.getCompatibleCmaps(baseName));
             } else if (baseName.toLowerCase().endsWith(".ttf") || baseName.toLowerCase().endsWith(".otf")) {
                 if (fontProgram != null) {
-                    fontBuilt = new TrueTypeFont(fontProgram);
+                    fontBuilt = new TrueTypeFont(fontProgram, lazyTrueTypeFontLoading);
                 } else {
-                    fontBuilt = new TrueTypeFont(name);
+                    fontBuilt = new TrueTypeFont(name, lazyTrueTypeFontLoading);
                 }
             } else {
                 int ttcSplit = baseName.toLowerCase().indexOf(".ttc,");
@@ -211,7 +213,7 @@ public final class FontProgramFactory {
                     try {
                         String ttcName = baseName.substring(0, ttcSplit + 4);//count(.ttc) = 4
                         int ttcIndex = Integer.parseInt(baseName.substring(ttcSplit + 5));//count(.ttc,) = 5)
-                        fontBuilt = new TrueTypeFont(ttcName, ttcIndex);
+                        fontBuilt = new TrueTypeFont(ttcName, ttcIndex, lazyTrueTypeFontLoading);
                     } catch (NumberFormatException nfe) {
                         throw new IOException(nfe.getMessage(), nfe);
                     }
@@ -307,7 +309,7 @@ public final class FontProgramFactory {
                 return fontFound;
             }
         }
-        FontProgram fontBuilt = new TrueTypeFont(ttc, ttcIndex);
+        FontProgram fontBuilt = new TrueTypeFont(ttc, ttcIndex, lazyTrueTypeFontLoading);
         return cached ? FontCache.saveFont(fontBuilt, fontCacheKey) : fontBuilt;
     }
 
@@ -329,7 +331,7 @@ public final class FontProgramFactory {
                 return fontFound;
             }
         }
-        FontProgram fontBuilt = new TrueTypeFont(ttc, ttcIndex);
+        FontProgram fontBuilt = new TrueTypeFont(ttc, ttcIndex, lazyTrueTypeFontLoading);
         return cached ? FontCache.saveFont(fontBuilt, fontKey) : fontBuilt;
     }
 
@@ -422,6 +424,52 @@ public final class FontProgramFactory {
         return fontRegisterProvider.registerSystemFontDirectories();
     }
 
+    /**
+     * Sets whether TrueType and OpenType font programs are created in lazy mode.
+     * In lazy mode only the font tables required for the font metrics are processed when the font is created.
+     * Glyphs are created from a compact copy of the font's cmap and glyph widths when they are used for the first time,
+     * and kerning and OpenType layout tables are read on first access. This considerably reduces the time and memory
+     * needed to load large fonts, e.g. CJK fonts, when only a few glyphs are used.
+     * The setting does not affect font programs which are already cached.
+     *
+     * @param lazy {@code true} to create TrueType and OpenType font programs in lazy mode
+     */
+    public static void setLazyTrueTypeFontLoading(boolean lazy) {
+        lazyTrueTypeFontLoading = lazy;
+    }
+
+    /**
+     * Checks whether TrueType and OpenType font programs are created in lazy mode.
+     *
+     * @return {@code true} if TrueType and OpenType font programs are created in lazy mode
+     * @see #setLazyTrueTypeFontLoading(boolean)
+     */
+    public static boolean isLazyTrueTypeFontLoading() {
+        return lazyTrueTypeFontLoading;
+    }
+
+    /**
+     * Sets a persistent index of font names for font registration.
+     * When the index is set, {@link #registerFont(String)}, {@link #registerFontDirectory(String)} and
+     * {@link #registerSystemFontDirectories()} take the font names from the index instead of parsing the font files,
+     * unless a file is new or has changed. The index is saved after each registered directory.
+     * Font programs are still created only on request.
+     *
+     * @param metadataIndex the index, or {@code null} to parse the font files on every registration
+     */
+    public static void setFontMetadataIndex(FontMetadataIndex metadataIndex) {
+        fontRegisterProvider.setFontMetadataIndex(metadataIndex);
+    }
+
+    /**
+     * Gets the persistent index of font names used for font registration.
+     *
+     * @return the index, or {@code null} if it is not set
+     */
+    public static FontMetadataIndex getFontMetadataIndex() {
+        return fontRegisterProvider.getFontMetadataIndex();
+    }
+
     /**
      * Gets a set of registered font names.
      *
@@ -80,6 +80,11 @@ class FontRegisterProvider {
      */
     private final Map<String, List<String>> fontFamilies = new HashMap<>();
 
+    /**
+     * Optional persistent index of font names, used instead of parsing the font files.
+     */
+    private FontMetadataIndex metadataIndex;
+
     /**
      * Creates new FontRegisterProvider
      */
@@ -243,8 +248,8 @@ class FontRegisterProvider {
     void registerFont(String path, String alias) {
         try {
             if (path.toLowerCase().endsWith(".ttf") || path.toLowerCase().endsWith(".otf") || path.toLowerCase().indexOf(".ttc,") > 0) {
-                FontProgram fontProgram = FontProgramFactory.createFont(path);
-                Object[] allNames = new Object[]{fontProgram.getFontNames().getFontName(), fontProgram.getFontNames().getFamilyName(), fontProgram.getFontNames().getFullName()};
+                FontNames registeredNames = getFontNames(path);
+                Object[] allNames = new Object[]{registeredNames.getFontName(), registeredNames.getFamilyName(), registeredNames.getFullName()};
                 fontNames.put(((String) allNames[0]).toLowerCase(), path);
                 if (alias != null) {
                     String lcAlias = alias.toLowerCase();
@@ -293,8 +298,8 @@ class FontRegisterProvider {
                     }
                 }
             } else if (path.toLowerCase().endsWith(".ttc")) {
-                TrueTypeCollection ttc = new TrueTypeCollection(path);
-                for (int i = 0; i < ttc.getTTCSize(); i++) {
+                int ttcSize = metadataIndex != null ? metadataIndex.getTtcSize(path) : new TrueTypeCollection(path).getTTCSize();
+                for (int i = 0; i < ttcSize; i++) {
                     String fullPath = path + "," + i;
                     if (alias != null) {
                         registerFont(fullPath, alias + "," + i);
@@ -303,10 +308,10 @@ class FontRegisterProvider {
                     }
                 }
             } else if (path.toLowerCase().endsWith(".afm") || path.toLowerCase().endsWith(".pfm")) {
-                FontProgram fontProgram = FontProgramFactory.createFont(path);
-                String fullName = fontProgram.getFontNames().getFullName()[0][3].toLowerCase();
-                String familyName = fontProgram.getFontNames().getFamilyName()[0][3].toLowerCase();
-                String psName = fontProgram.getFontNames().getFontName().toLowerCase();
+                FontNames registeredNames = getFontNames(path);
+                String fullName = registeredNames.getFullName()[0][3].toLowerCase();
+                String familyName = registeredNames.getFamilyName()[0][3].toLowerCase();
+                String psName = registeredNames.getFontName().toLowerCase();
                 registerFontFamily(familyName, fullName, null);
                 fontNames.put(psName, path);
                 fontNames.put(fullName, path);
@@ -317,6 +322,31 @@ class FontRegisterProvider {
         }
     }
 
+    /**
+     * Sets the persistent index used to get the names of registered fonts without parsing unchanged font files.
+     *
+     * @param metadataIndex the index, or {@code null} to parse the font files on every registration
+     */
+    void setFontMetadataIndex(FontMetadataIndex metadataIndex) {
+        this.metadataIndex = metadataIndex;
+    }
+
+    /**
+     * Gets the persistent index used to get the names of registered fonts.
+     *
+     * @return the index, or {@code null} if it is not set
+     */
+    FontMetadataIndex getFontMetadataIndex() {
+        return metadataIndex;
+    }
+
+    private FontNames getFontNames(String path) throws java.io.IOException {
+        if (metadataIndex != null) {
+            return metadataIndex.getFontNames(path);
+        }
+        return FontProgramFactory.createFont(path).getFontNames();
+    }
+
     // remove regular and correct last symbol
     // do this job to give higher priority to regular fonts in comparison with light, narrow, etc
     // Don't use this method for not regular fonts!
@@ -375,6 +405,9 @@ class FontRegisterProvider {
         } catch (Exception e) {
             //empty on purpose
         }
+        if (metadataIndex != null) {
+            metadataIndex.saveQuietly();
+        }
         return count;
     }
 
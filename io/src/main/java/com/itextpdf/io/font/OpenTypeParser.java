@@ -44,8 +44,10 @@
 package com.itextpdf.io.font;
 
 import com.itextpdf.io.IOException;
+import com.itextpdf.io.source.IRandomAccessSource;
 import com.itextpdf.io.source.RandomAccessFileOrArray;
 import com.itextpdf.io.source.RandomAccessSourceFactory;
+import com.itextpdf.io.source.ThreadSafeRandomAccessSource;
 import com.itextpdf.io.util.IntHashtable;
 
 import java.io.Closeable;
@@ -181,6 +183,8 @@ class OpenTypeParser implements Serializable, Closeable {
      * It is 0 for TTF and may vary for TTC depending on the chosen font.
      */
     protected int directoryOffset;
+
+    private transient TrueTypeFontSubset.FontData subsetFontData;
     /**
      * The font name. This name is usually extracted from the table 'name' with the 'Name ID' 6.
      */
@@ -232,7 +236,7 @@ class OpenTypeParser implements Serializable, Closeable {
 
     public OpenTypeParser(String ttcPath, int ttcIndex) throws java.io.IOException {
         this.ttcIndex = ttcIndex;
-        raf = new RandomAccessFileOrArray(new RandomAccessSourceFactory().createBestSource(ttcPath));
+        raf = new RandomAccessFileOrArray(createFileSource(ttcPath));
         initializeSfntTables();
     }
 
@@ -243,7 +247,7 @@ class OpenTypeParser implements Serializable, Closeable {
         if (ttcName.length() < nameBase.length()) {
             ttcIndex = Integer.parseInt(nameBase.substring(ttcName.length() + 1));
         }
-        raf = new RandomAccessFileOrArray(new RandomAccessSourceFactory().createBestSource(fileName));
+        raf = new RandomAccessFileOrArray(createFileSource(fileName));
         initializeSfntTables();
     }
 
@@ -373,10 +377,20 @@ class OpenTypeParser implements Serializable, Closeable {
 
     public byte[] getSubset(Set<Integer> glyphs, boolean subset) throws java.io.IOException {
         TrueTypeFontSubset sb = new TrueTypeFontSubset(fileName,
-                raf.createView(), glyphs, directoryOffset, true, !subset);
+                raf.createView(), glyphs, directoryOffset, true, !subset, getSubsetFontData());
         return sb.process();
     }
 
+    /**
+     * Gets the font data which is shared by all subsets of the font. It's read on first subsetting.
+     */
+    private synchronized TrueTypeFontSubset.FontData getSubsetFontData() throws java.io.IOException {
+        if (subsetFontData == null) {
+            subsetFontData = TrueTypeFontSubset.readFontData(fileName, raf.createView(), directoryOffset);
+        }
+        return subsetFontData;
+    }
+
     @Override
     public void close() throws java.io.IOException {
         if (raf != null) {
@@ -385,6 +399,32 @@ class OpenTypeParser implements Serializable, Closeable {
         raf = null;
     }
 
+    /**
+     * Gets the length of the font data, i.e. of the whole collection in case of TTC.
+     *
+     * @return the length in bytes or 0, if the parser is closed or the length cannot be read
+     */
+    long getFontDataLength() {
+        RandomAccessFileOrArray source = raf;
+        if (source == null) {
+            return 0;
+        }
+        try {
+            return source.length();
+        } catch (java.io.IOException e) {
+            return 0;
+        }
+    }
+
+    /**
+     * Creates the source of a font file. Cached font programs are shared between threads, which read
+     * the font file through independent views of the same source, e.g. while subsetting, so the source
+     * of a file, which usually keeps buffered state, is synchronized.
+     */
+    private static IRandomAccessSource createFileSource(String path) throws java.io.IOException {
+        return new ThreadSafeRandomAccessSource(new RandomAccessSourceFactory().createBestSource(path));
+    }
+
     private void initializeSfntTables() throws java.io.IOException {
         tables = new LinkedHashMap<>();
         if (ttcIndex >= 0) {
@@ -573,6 +613,26 @@ class OpenTypeParser implements Serializable, Closeable {
      * @throws java.io.IOException  the font file could not be read.
      */
     protected int[][] readBbox(int unitsPerEm) throws java.io.IOException {
+        int[] locaTable = readLocaTable();
+        if (locaTable == null) {
+            return null;
+        }
+        int tableGlyphOffset = getGlyfTableOffset();
+        int[][] bboxes = new int[locaTable.length - 1][];
+        for (int glyph = 0; glyph < locaTable.length - 1; ++glyph) {
+            bboxes[glyph] = readGlyphBbox(locaTable, tableGlyphOffset, glyph, unitsPerEm);
+        }
+        return bboxes;
+    }
+
+    /**
+     * Reads the offsets of the glyphs in 'glyf' table from 'loca' table.
+     *
+     * @return the glyph offsets, or {@code null} if the font has no 'loca' table.
+     * @throws IOException the font is invalid.
+     * @throws java.io.IOException  the font file could not be read.
+     */
+    protected int[] readLocaTable() throws java.io.IOException {
         int tableLocation[];
         tableLocation = tables.get("head");
         if (tableLocation == null) {
@@ -603,8 +663,16 @@ class OpenTypeParser implements Serializable, Closeable {
                 locaTable[k] = raf.readInt();
             }
         }
+        return locaTable;
+    }
 
-        tableLocation = tables.get("glyf");
+    /**
+     * Gets the offset of 'glyf' table.
+     *
+     * @throws IOException the font has no 'glyf' table.
+     */
+    protected int getGlyfTableOffset() {
+        int[] tableLocation = tables.get("glyf");
         if (tableLocation == null) {
             if (fileName != null) {
                 throw new IOException(IOException.TableDoesNotExistsIn).setMessageParams("glyf", fileName);
@@ -612,21 +680,34 @@ class OpenTypeParser implements Serializable, Closeable {
                 throw new IOException(IOException.TableDoesNotExist).setMessageParams("glyf");
             }
         }
-        int tableGlyphOffset = tableLocation[0];
-        int[][] bboxes = new int[locaTable.length - 1][];
-        for (int glyph = 0; glyph < locaTable.length - 1; ++glyph) {
-            int start = locaTable[glyph];
-            if (start != locaTable[glyph + 1]) {
-                raf.seek(tableGlyphOffset + start + 2);
-                bboxes[glyph] = new int[]{
-                        raf.readShort() * TrueTypeFont.UNITS_NORMALIZATION / unitsPerEm,
-                        raf.readShort() * TrueTypeFont.UNITS_NORMALIZATION / unitsPerEm,
-                        raf.readShort() * TrueTypeFont.UNITS_NORMALIZATION / unitsPerEm,
-                        raf.readShort() * TrueTypeFont.UNITS_NORMALIZATION / unitsPerEm
-                };
-            }
+        return tableLocation[0];
+    }
+
+    /**
+     * Reads the bbox of a single glyph from 'glyf' table.
+     *
+     * @param locaTable        the glyph offsets, {@see #readLocaTable()}.
+     * @param tableGlyphOffset the offset of 'glyf' table, {@see #getGlyfTableOffset()}.
+     * @param glyph            the glyph index.
+     * @param unitsPerEm       {@code head.unitsPerEm} property, {@see HeaderTable}.
+     * @return the bbox in normalized 1000 units, or {@code null} if the glyph has no outline.
+     * @throws java.io.IOException the font file could not be read.
+     */
+    protected int[] readGlyphBbox(int[] locaTable, int tableGlyphOffset, int glyph, int unitsPerEm) throws java.io.IOException {
+        if (glyph < 0 || glyph + 1 >= locaTable.length) {
+            return null;
         }
-        return bboxes;
+        int start = locaTable[glyph];
+        if (start == locaTable[glyph + 1]) {
+            return null;
+        }
+        raf.seek(tableGlyphOffset + start + 2);
+        return new int[]{
+                raf.readShort() * TrueTypeFont.UNITS_NORMALIZATION / unitsPerEm,
+                raf.readShort() * TrueTypeFont.UNITS_NORMALIZATION / unitsPerEm,
+                raf.readShort() * TrueTypeFont.UNITS_NORMALIZATION / unitsPerEm,
+                raf.readShort() * TrueTypeFont.UNITS_NORMALIZATION / unitsPerEm
+        };
     }
 
     protected int readMaxGlyphId() throws java.io.IOException {
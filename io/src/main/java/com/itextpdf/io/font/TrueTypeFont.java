@@ -49,11 +49,16 @@ import com.itextpdf.io.font.otf.Glyph;
 import com.itextpdf.io.font.otf.GlyphPositioningTableReader;
 import com.itextpdf.io.font.otf.GlyphSubstitutionTableReader;
 import com.itextpdf.io.font.otf.OpenTypeGdefTableReader;
+import com.itextpdf.io.font.otf.ShapedGlyphLineCache;
 import com.itextpdf.io.util.IntHashtable;
+import com.itextpdf.io.util.IntObjectMap;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.text.MessageFormat;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Set;
@@ -83,38 +88,130 @@ public class TrueTypeFont extends FontProgram {
 
     private byte[] fontStreamBytes;
 
+    /**
+     * In lazy mode glyphs, glyph bboxes, kerning and OpenType layout tables are loaded on first access.
+     * The active cmap is kept in the compact arrays below, sorted by char code.
+     */
+    private boolean lazy;
+    private volatile boolean kerningLoaded = true;
+    private volatile boolean layoutTablesLoaded = true;
+    private boolean allGlyphsLoaded = true;
+    private int[] cmapCodes;
+    private int[] cmapGlyphs;
+    private int[] cmapWidths;
+    // The unicode of the glyph stored in codeToGlyph, -1 if the glyph is not mapped.
+    private int[] glyphUnicodes;
+    private int[] locaTable;
+    private int glyfTableOffset;
+
     protected TrueTypeFont() {
         fontNames = new FontNames();
     }
 
     public TrueTypeFont(String path) throws java.io.IOException {
+        this(path, false);
+    }
+
+    public TrueTypeFont(byte[] ttf) throws java.io.IOException {
+        this(ttf, false);
+    }
+
+    TrueTypeFont(String path, boolean lazy) throws java.io.IOException {
         checkFilePath(path);
         fontParser = new OpenTypeParser(path);
         fontParser.loadTables(true);
-        initializeFontProperties();
+        initializeFontProperties(lazy);
     }
 
-    public TrueTypeFont(byte[] ttf) throws java.io.IOException {
+    TrueTypeFont(byte[] ttf, boolean lazy) throws java.io.IOException {
         fontParser = new OpenTypeParser(ttf);
         fontParser.loadTables(true);
-        initializeFontProperties();
+        initializeFontProperties(lazy);
     }
 
     TrueTypeFont(String ttcPath, int ttcIndex) throws java.io.IOException {
+        this(ttcPath, ttcIndex, false);
+    }
+
+    TrueTypeFont(byte[] ttc, int ttcIndex) throws java.io.IOException {
+        this(ttc, ttcIndex, false);
+    }
+
+    TrueTypeFont(String ttcPath, int ttcIndex, boolean lazy) throws java.io.IOException {
         checkFilePath(ttcPath);
         fontParser = new OpenTypeParser(ttcPath, ttcIndex);
         fontParser.loadTables(true);
-        initializeFontProperties();
+        initializeFontProperties(lazy);
     }
 
-    TrueTypeFont(byte[] ttc, int ttcIndex) throws java.io.IOException {
+    TrueTypeFont(byte[] ttc, int ttcIndex, boolean lazy) throws java.io.IOException {
         fontParser = new OpenTypeParser(ttc, ttcIndex);
         fontParser.loadTables(true);
-        initializeFontProperties();
+        initializeFontProperties(lazy);
+    }
+
+    /**
+     * Checks whether glyphs and auxiliary tables of this font are loaded on first access.
+     *
+     * @return {@code true} if the font was created in lazy mode
+     * @see FontProgramFactory#setLazyTrueTypeFontLoading(boolean)
+     */
+    public boolean isLazy() {
+        return lazy;
+    }
+
+    @Override
+    public int countOfGlyphs() {
+        if (lazy) {
+            return Math.max(fontMetrics.getGlyphWidths().length, cmapCodes.length);
+        }
+        return super.countOfGlyphs();
+    }
+
+    @Override
+    public Glyph getGlyph(int unicode) {
+        if (!lazy) {
+            return super.getGlyph(unicode);
+        }
+        synchronized (this) {
+            Glyph glyph = getGlyph(unicodeToGlyph, unicode);
+            if (glyph == null && !allGlyphsLoaded) {
+                int pos = Arrays.binarySearch(cmapCodes, unicode);
+                if (pos >= 0 && cmapGlyphs[pos] < fontMetrics.getMaxGlyphId()) {
+                    int index = cmapGlyphs[pos];
+                    glyph = glyphUnicodes[index] == unicode ? getGlyphByCode(index) : createGlyph(index, unicode);
+                    unicodeToGlyph.put(unicode, glyph);
+                }
+            }
+            return glyph;
+        }
+    }
+
+    @Override
+    public Glyph getGlyphByCode(int charCode) {
+        if (!lazy) {
+            return super.getGlyphByCode(charCode);
+        }
+        synchronized (this) {
+            Glyph glyph = getGlyph(codeToGlyph, charCode);
+            if (glyph == null && !allGlyphsLoaded && charCode >= 0 && charCode < glyphUnicodes.length) {
+                int unicode = glyphUnicodes[charCode];
+                if (unicode >= 0) {
+                    glyph = createGlyph(charCode, unicode);
+                } else {
+                    glyph = new Glyph(charCode, fontMetrics.getGlyphWidths()[charCode], -1);
+                }
+                codeToGlyph.put(charCode, glyph);
+            }
+            return glyph;
+        }
     }
 
     @Override
     public boolean hasKernPairs() {
+        if (!kerningLoaded) {
+            loadKerning();
+        }
         return kerning.size() > 0;
     }
 
@@ -130,6 +227,9 @@ public class TrueTypeFont extends FontProgram {
         if (first == null || second == null) {
             return 0;
         }
+        if (!kerningLoaded) {
+            loadKerning();
+        }
         return kerning.get((first.getCode() << 16) + second.getCode());
     }
 
@@ -138,21 +238,46 @@ public class TrueTypeFont extends FontProgram {
     }
 
     public Map<Integer, int[]> getActiveCmap() {
+        if (lazy) {
+            Map<Integer, int[]> cmap = new LinkedHashMap<>(cmapCodes.length);
+            for (int k = 0; k < cmapCodes.length; k++) {
+                cmap.put(cmapCodes[k], new int[]{cmapGlyphs[k], cmapWidths[k]});
+            }
+            return cmap;
+        }
         OpenTypeParser.CmapTable cmaps = fontParser.getCmapTable();
         if (cmaps.cmapExt != null) {
-            return cmaps.cmapExt;
+            return Collections.unmodifiableMap(cmaps.cmapExt);
         } else if (!cmaps.fontSpecific && cmaps.cmap31 != null) {
-            return cmaps.cmap31;
+            return Collections.unmodifiableMap(cmaps.cmap31);
         } else if (cmaps.fontSpecific && cmaps.cmap10 != null) {
-            return cmaps.cmap10;
+            return Collections.unmodifiableMap(cmaps.cmap10);
         } else if (cmaps.cmap31 != null) {
-            return cmaps.cmap31;
+            return Collections.unmodifiableMap(cmaps.cmap31);
         } else {
-            return cmaps.cmap10;
+            return cmaps.cmap10 != null ? Collections.unmodifiableMap(cmaps.cmap10) : null;
         }
     }
 
-    public byte[] getFontStreamBytes() {
+    @Override
+    protected long getApproximateSize() {
+        long size = super.getApproximateSize() + 12L * kerning.size();
+        if (fontParser != null) {
+            size += fontParser.getFontDataLength();
+            // the weight is fixed once the font is cached, so a font which can be shaped is charged the whole cache limit
+            if (fontParser.tables.containsKey("GSUB") || fontParser.tables.containsKey("GPOS")
+                    || fontParser.tables.containsKey("kern")) {
+                size += ShapedGlyphLineCache.getMaxSize();
+            }
+        }
+        byte[] streamBytes = fontStreamBytes;
+        if (streamBytes != null) {
+            size += streamBytes.length;
+        }
+        return size;
+    }
+
+    public synchronized byte[] getFontStreamBytes() {
         if (fontStreamBytes != null)
             return fontStreamBytes;
         try {
@@ -193,14 +318,23 @@ public class TrueTypeFont extends FontProgram {
     }
 
     public GlyphSubstitutionTableReader getGsubTable() {
+        if (!layoutTablesLoaded) {
+            loadLayoutTables();
+        }
         return gsubTable;
     }
 
     public GlyphPositioningTableReader getGposTable() {
+        if (!layoutTablesLoaded) {
+            loadLayoutTables();
+        }
         return gposTable;
     }
 
     public OpenTypeGdefTableReader getGdefTable() {
+        if (!layoutTablesLoaded) {
+            loadLayoutTables();
+        }
         return gdefTable;
     }
 
@@ -236,15 +370,17 @@ public class TrueTypeFont extends FontProgram {
         }
     }
 
-    private void initializeFontProperties() throws java.io.IOException {
+    private void initializeFontProperties(boolean lazy) throws java.io.IOException {
         // initialize sfnt tables
         OpenTypeParser.HeaderTable head = fontParser.getHeadTable();
         OpenTypeParser.HorizontalHeader hhea = fontParser.getHheaTable();
         OpenTypeParser.WindowsMetrics os_2 = fontParser.getOs_2Table();
         OpenTypeParser.PostTable post = fontParser.getPostTable();
         isFontSpecific = fontParser.getCmapTable().fontSpecific;
-        kerning = fontParser.readKerning(head.unitsPerEm);
-        bBoxes = fontParser.readBbox(head.unitsPerEm);
+        if (!lazy) {
+            kerning = fontParser.readKerning(head.unitsPerEm);
+            bBoxes = fontParser.readBbox(head.unitsPerEm);
+        }
 
         // font names group
         fontNames = fontParser.getFontNames();
@@ -286,11 +422,16 @@ public class TrueTypeFont extends FontProgram {
         }
         fontIdentification.setPanose(os_2.panose);
 
+        if (lazy) {
+            initializeLazyGlyphs();
+            return;
+        }
+
         Map<Integer, int[]> cmap = getActiveCmap();
         int[] glyphWidths = fontParser.getGlyphWidthsByIndex();
         int maxGlyphId = fontMetrics.getMaxGlyphId();
-        unicodeToGlyph = new LinkedHashMap<>(cmap.size());
-        codeToGlyph = new LinkedHashMap<>(maxGlyphId);
+        unicodeToGlyph = new IntObjectMap<>();
+        codeToGlyph = new IntObjectMap<>();
         avgWidth = 0;
         for (int charCode : cmap.keySet()) {
             int index = cmap.get(charCode)[0];
@@ -329,6 +470,134 @@ public class TrueTypeFont extends FontProgram {
         isVertical = false;
     }
 
+    /**
+     * Prepares the compact cmap arrays used to create glyphs on demand instead of creating all of them at once.
+     */
+    private void initializeLazyGlyphs() throws java.io.IOException {
+        Map<Integer, int[]> cmap = getActiveCmap();
+        int[] glyphWidths = fontParser.getGlyphWidthsByIndex();
+        int maxGlyphId = fontMetrics.getMaxGlyphId();
+        int[][] entries = new int[cmap.size()][];
+        glyphUnicodes = new int[glyphWidths.length];
+        Arrays.fill(glyphUnicodes, -1);
+        long widthSum = 0;
+        int k = 0;
+        for (Map.Entry<Integer, int[]> entry : cmap.entrySet()) {
+            int charCode = (int) entry.getKey();
+            int index = entry.getValue()[0];
+            entries[k++] = new int[]{charCode, index, entry.getValue()[1]};
+            if (index >= maxGlyphId) {
+                Logger LOGGER = LoggerFactory.getLogger(TrueTypeFont.class);
+                LOGGER.warn(MessageFormat.format(LogMessageConstant.FONT_HAS_INVALID_GLYPH, getFontNames().getFontName(), index));
+                continue;
+            }
+            // Keep the mapping to glyphs with smaller unicode values, see the eager initialization.
+            if (glyphUnicodes[index] < 0) {
+                glyphUnicodes[index] = charCode;
+            }
+            widthSum += glyphWidths[index];
+        }
+        int[] space = cmap.get(32);
+        if (space != null && space[0] < maxGlyphId) {
+            glyphUnicodes[space[0]] = 32;
+        }
+        for (int index = 0; index < glyphWidths.length; index++) {
+            if (glyphUnicodes[index] < 0) {
+                widthSum += glyphWidths[index];
+            }
+        }
+        avgWidth = glyphWidths.length != 0 ? (int) (widthSum / glyphWidths.length) : 0;
+
+        Arrays.sort(entries, new CmapEntryComparator());
+        cmapCodes = new int[entries.length];
+        cmapGlyphs = new int[entries.length];
+        cmapWidths = new int[entries.length];
+        for (k = 0; k < entries.length; k++) {
+            cmapCodes[k] = entries[k][0];
+            cmapGlyphs[k] = entries[k][1];
+            cmapWidths[k] = entries[k][2];
+        }
+        // The compact arrays replace the parsed cmap maps.
+        OpenTypeParser.CmapTable cmaps = fontParser.getCmapTable();
+        cmaps.cmap10 = null;
+        cmaps.cmap31 = null;
+        cmaps.cmapExt = null;
+
+        locaTable = fontParser.readLocaTable();
+        if (locaTable != null) {
+            glyfTableOffset = fontParser.getGlyfTableOffset();
+        }
+        unicodeToGlyph = new IntObjectMap<>();
+        codeToGlyph = new IntObjectMap<>();
+        kerningLoaded = false;
+        layoutTablesLoaded = false;
+        allGlyphsLoaded = false;
+        isVertical = false;
+        this.lazy = true;
+    }
+
+    private Glyph createGlyph(int index, int unicode) {
+        int[] bbox = null;
+        if (locaTable != null) {
+            try {
+                bbox = fontParser.readGlyphBbox(locaTable, glyfTableOffset, index, fontMetrics.getUnitsPerEm());
+            } catch (java.io.IOException e) {
+                throw new IOException(IOException.IoException, e);
+            }
+        }
+        return new Glyph(index, fontMetrics.getGlyphWidths()[index], unicode, bbox);
+    }
+
+    /**
+     * Creates all glyphs of a lazy font, as required by the OpenType layout table readers.
+     */
+    private synchronized void loadAllGlyphs() {
+        if (allGlyphsLoaded) {
+            return;
+        }
+        for (int k = 0; k < cmapCodes.length; k++) {
+            getGlyph(cmapCodes[k]);
+        }
+        for (int index = 0; index < glyphUnicodes.length; index++) {
+            getGlyphByCode(index);
+        }
+        allGlyphsLoaded = true;
+    }
+
+    private synchronized void loadKerning() {
+        if (kerningLoaded) {
+            return;
+        }
+        try {
+            kerning = fontParser.readKerning(fontMetrics.getUnitsPerEm());
+        } catch (java.io.IOException e) {
+            throw new IOException(IOException.IoException, e);
+        }
+        kerningLoaded = true;
+    }
+
+    private synchronized void loadLayoutTables() {
+        if (layoutTablesLoaded) {
+            return;
+        }
+        loadAllGlyphs();
+        try {
+            readGdefTable();
+            readGsubTable();
+            readGposTable();
+        } catch (java.io.IOException e) {
+            throw new IOException(IOException.IoException, e);
+        }
+        layoutTablesLoaded = true;
+    }
+
+    private static class CmapEntryComparator implements Comparator<int[]> {
+        @Override
+        public int compare(int[] o1, int[] o2) {
+            return Integer.compare(o1[0], o2[0]);
+        }
+    }
+
     /**
      * Gets the code pages supported by the font.
      *
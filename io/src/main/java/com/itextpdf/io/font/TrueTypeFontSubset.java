@@ -75,6 +75,8 @@ class TrueTypeFontSubset {
     static final int WE_HAVE_AN_X_AND_Y_SCALE = 64;
     static final int WE_HAVE_A_TWO_BY_TWO = 128;
 
+    private static final int[] NO_COMPONENTS = new int[0];
+
 
     /**
      * Contains the location of the several tables. The key is the name of
@@ -107,13 +109,17 @@ class TrueTypeFontSubset {
     protected int fontPtr;
     protected int directoryOffset;
 
+    private FontData fontData;
+
     /**
      * Creates a new TrueTypeFontSubSet
      *
-     * @param directoryOffset The offset from the start of the file to the table directory
      * @param fileName        the file name of the font
+     * @param rf              the font file, which is closed after the subsetting
      * @param glyphsUsed      the glyphs used
+     * @param directoryOffset The offset from the start of the file to the table directory
      * @param includeCmap     {@code true} if the table cmap is to be included in the generated font
+     * @param includeExtras   {@code true} if the tables name and post are to be included in the generated font
      */
     TrueTypeFontSubset(String fileName, RandomAccessFileOrArray rf, Set<Integer> glyphsUsed, int directoryOffset, boolean includeCmap, boolean includeExtras) {
         this.fileName = fileName;
@@ -125,6 +131,46 @@ class TrueTypeFontSubset {
         glyphsInList = new ArrayList<>(glyphsUsed);
     }
 
+    /**
+     * Creates a new TrueTypeFontSubSet which takes the table directory, the glyph locations and the composite glyphs
+     * from the font data shared by all subsets of the font.
+     *
+     * @param fileName        the file name of the font
+     * @param rf              the font file, which is closed after the subsetting
+     * @param glyphsUsed      the glyphs used
+     * @param directoryOffset The offset from the start of the file to the table directory
+     * @param includeCmap     {@code true} if the table cmap is to be included in the generated font
+     * @param includeExtras   {@code true} if the tables name and post are to be included in the generated font
+     * @param fontData        the font data read by {@link #readFontData(String, RandomAccessFileOrArray, int)}
+     */
+    TrueTypeFontSubset(String fileName, RandomAccessFileOrArray rf, Set<Integer> glyphsUsed, int directoryOffset, boolean includeCmap, boolean includeExtras, FontData fontData) {
+        this(fileName, rf, glyphsUsed, directoryOffset, includeCmap, includeExtras);
+        this.fontData = fontData;
+    }
+
+    /**
+     * Reads the data of the font which doesn't depend on the subset glyphs.
+     *
+     * @param fileName        the file name of the font
+     * @param rf              the font file, which is closed afterwards
+     * @param directoryOffset The offset from the start of the file to the table directory
+     * @return the font data to be shared by the subsets of the font
+     * @throws java.io.IOException on error
+     */
+    static FontData readFontData(String fileName, RandomAccessFileOrArray rf, int directoryOffset) throws java.io.IOException {
+        TrueTypeFontSubset reader = new TrueTypeFontSubset(fileName, rf, Collections.<Integer>emptySet(), directoryOffset, false, false);
+        try {
+            reader.createTableDirectory();
+            reader.readLoca();
+            return new FontData(reader.tableDirectory, reader.locaShortTable, reader.locaTable);
+        } finally {
+            try {
+                rf.close();
+            } catch (Exception ignore) {
+            }
+        }
+    }
+
     /**
      * Does the actual work of subsetting the font.
      *
@@ -134,8 +180,14 @@ class TrueTypeFontSubset {
      */
     byte[] process() throws java.io.IOException {
         try {
-            createTableDirectory();
-            readLoca();
+            if (fontData != null) {
+                tableDirectory = fontData.tableDirectory;
+                locaShortTable = fontData.locaShortTable;
+                locaTable = fontData.locaTable;
+            } else {
+                createTableDirectory();
+                readLoca();
+            }
             flatGlyphs();
             createNewGlyphTables();
             locaToBytes();
@@ -346,25 +398,43 @@ class TrueTypeFontSubset {
     }
 
     protected void checkGlyphComposite(int glyph) throws java.io.IOException {
+        int[] components = fontData != null ? fontData.getGlyphComponents(glyph, this) : readGlyphComponents(glyph);
+        for (int cGlyph : components) {
+            if (!glyphsUsed.contains(cGlyph)) {
+                glyphsUsed.add(cGlyph);
+                glyphsInList.add(cGlyph);
+            }
+        }
+    }
+
+    /**
+     * Reads the glyphs which the composite glyph refers to.
+     *
+     * @param glyph the glyph index
+     * @return the component glyphs, or an empty array if the glyph is not composite
+     * @throws java.io.IOException on error
+     */
+    private int[] readGlyphComponents(int glyph) throws java.io.IOException {
         int start = locaTable[glyph];
         if (start == locaTable[glyph + 1]) {// no contour
-            return;
+            return NO_COMPONENTS;
         }
         rf.seek(tableGlyphOffset + start);
         int numContours = rf.readShort();
         if (numContours >= 0) {
-            return;
+            return NO_COMPONENTS;
         }
         rf.skipBytes(8);
+        List<Integer> components = new ArrayList<>();
         for (; ; ) {
             int flags = rf.readUnsignedShort();
-            int cGlyph = rf.readUnsignedShort();
-            if (!glyphsUsed.contains(cGlyph)) {
-                glyphsUsed.add(cGlyph);
-                glyphsInList.add(cGlyph);
-            }
+            components.add(rf.readUnsignedShort());
             if ((flags & MORE_COMPONENTS) == 0) {
-                return;
+                int[] result = new int[components.size()];
+                for (int k = 0; k < result.length; ++k) {
+                    result[k] = (int) components.get(k);
+                }
+                return result;
             }
             int skip;
             if ((flags & ARG_1_AND_2_ARE_WORDS) != 0) {
@@ -434,4 +504,33 @@ class TrueTypeFontSubset {
         }
         return v0 + (v1 << 8) + (v2 << 16) + (v3 << 24);
     }
+
+    /**
+     * The data of the original font which doesn't depend on the glyphs to be subset. It is kept by the font program
+     * and shared by all its subsets, so that each subset reads from the font file only the glyphs it uses.
+     * The components of composite glyphs are read on demand. The tables which are copied as is are read from
+     * the font file by each subset, so the data doesn't grow beyond the size of the glyph locations.
+     */
+    static class FontData {
+        final Map<String, int[]> tableDirectory;
+        final boolean locaShortTable;
+        final int[] locaTable;
+        private final int[][] glyphComponents;
+
+        FontData(Map<String, int[]> tableDirectory, boolean locaShortTable, int[] locaTable) {
+            this.tableDirectory = tableDirectory;
+            this.locaShortTable = locaShortTable;
+            this.locaTable = locaTable;
+            this.glyphComponents = new int[Math.max(0, locaTable.length - 1)][];
+        }
+
+        synchronized int[] getGlyphComponents(int glyph, TrueTypeFontSubset reader) throws java.io.IOException {
+            int[] components = glyphComponents[glyph];
+            if (components == null) {
+                components = reader.readGlyphComponents(glyph);
+                glyphComponents[glyph] = components;
+            }
+            return components;
+        }
+    }
 }
@@ -180,7 +180,13 @@ public class Type1Font extends FontProgram {
         }
     }
 
-    public byte[] getFontStreamBytes() {
+    @Override
+    protected long getApproximateSize() {
+        byte[] streamBytes = fontStreamBytes;
+        return super.getApproximateSize() + (streamBytes != null ? streamBytes.length : 0);
+    }
+
+    public synchronized byte[] getFontStreamBytes() {
         if (fontParser.isBuiltInFont())
             return null;
         if (fontStreamBytes != null)
@@ -234,7 +240,7 @@ public class Type1Font extends FontProgram {
         }
     }
 
-    public int[] getFontStreamLengths() {
+    public synchronized int[] getFontStreamLengths() {
         return fontStreamLengths;
     }
 
@@ -94,6 +94,12 @@ public abstract class AbstractCMap implements Serializable {
     }
 
     abstract void addChar(String mark, CMapObject code);
+
+    /**
+     * Called when the CMap has been completely parsed. CMaps may convert the parsed mappings to a compact form.
+     */
+    void compact() {
+    }
     
     void addRange(String from, String to, CMapObject code) {
         byte[] a1 = decodeStringToByte(from);
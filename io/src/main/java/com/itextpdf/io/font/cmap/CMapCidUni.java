@@ -53,6 +53,7 @@ public class CMapCidUni extends AbstractCMap {
 
     private static final long serialVersionUID = 6879167385978230141L;
     private IntHashtable map = new IntHashtable(65537);
+    private IntRangeMap ranges;
 
     @Override
     void addChar(String mark, CMapObject code) {
@@ -64,15 +65,41 @@ public class CMapCidUni extends AbstractCMap {
             } else {
                 codePoint = (int) s.charAt(0);
             }
-            map.put((int)code.getValue(), codePoint);
+            getMutableMap().put((int)code.getValue(), codePoint);
         }
     }
 
     public int lookup(int character) {
-        return map.get(character);
+        return ranges != null ? ranges.get(character) : map.get(character);
     }
 
     public int[] getCids(){
-        return map.getKeys();
+        return ranges != null ? ranges.getKeys() : map.getKeys();
+    }
+
+    @Override
+    void compact() {
+        if (map != null) {
+            ranges = IntRangeMap.create(map);
+            map = null;
+        }
+    }
+
+    IntRangeMap getRanges() {
+        compact();
+        return ranges;
+    }
+
+    void setRanges(IntRangeMap ranges) {
+        this.ranges = ranges;
+        this.map = null;
+    }
+
+    private IntHashtable getMutableMap() {
+        if (map == null) {
+            map = ranges.toTable();
+            ranges = null;
+        }
+        return map;
     }
 }
@@ -0,0 +1,156 @@
+/*
+
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2017 iText Group NV
+    Authors: Bruno Lowagie, Paulo Soares, et al.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.io.font.cmap;
+
+import com.itextpdf.io.source.PdfTokenizer;
+import com.itextpdf.io.source.RandomAccessFileOrArray;
+import com.itextpdf.io.source.RandomAccessSourceFactory;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.OutputStream;
+
+/**
+ * Compiles the Unicode CMap resources with UTF-16 codes (UCS2 and UTF16 ones) to the binary form,
+ * which is loaded instead of parsing the text resources. It is run during the build of the module
+ * that contains the CMap resources:
+ * <pre>
+ * java com.itextpdf.io.font.cmap.CMapCompiler &lt;CMap resources directory&gt; &lt;output directory&gt;
+ * </pre>
+ * CMaps without a compiled form are parsed as before.
+ */
+public final class CMapCompiler {
+
+    private static final String UNICODE_CMAP_PREFIX = "Uni";
+    private static final String[] UTF16_ENCODINGS = {"-UCS2-", "-UTF16-"};
+
+    private CMapCompiler() {
+    }
+
+    public static void main(String[] args) throws java.io.IOException {
+        if (args.length != 2) {
+            System.err.println("Usage: CMapCompiler <CMap resources directory> <output directory>");
+            System.exit(1);
+        }
+        int count = compileDirectory(args[0], args[1]);
+        System.out.println("Compiled " + count + " CMaps to " + args[1]);
+    }
+
+    /**
+     * Compiles all Unicode CMaps with UTF-16 codes of the directory.
+     *
+     * @param sourceDir the directory with the text CMap resources
+     * @param targetDir the directory to write the compiled CMaps to
+     * @return the number of compiled CMaps
+     * @throws java.io.IOException on error
+     */
+    public static int compileDirectory(String sourceDir, String targetDir) throws java.io.IOException {
+        File[] files = new File(sourceDir).listFiles();
+        if (files == null) {
+            throw new FileNotFoundException(sourceDir);
+        }
+        File target = new File(targetDir);
+        if (!target.isDirectory() && !target.mkdirs()) {
+            throw new java.io.IOException("Cannot create directory " + targetDir);
+        }
+        ICMapLocation location = new DirectoryLocation(sourceDir);
+        int count = 0;
+        for (File file : files) {
+            String name = file.getName();
+            if (file.isFile() && isCompilable(name)) {
+                OutputStream out = new BufferedOutputStream(new FileOutputStream(new File(target, name + CompiledCMap.SUFFIX)));
+                try {
+                    compile(name, location, out);
+                } finally {
+                    out.close();
+                }
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Compiles a Unicode CMap.
+     *
+     * @param cmapName the name of the CMap
+     * @param location the location of the text CMap and of the CMaps it uses
+     * @param out      the stream to write the compiled CMap to, it isn't closed
+     * @throws java.io.IOException on error
+     */
+    public static void compile(String cmapName, ICMapLocation location, OutputStream out) throws java.io.IOException {
+        CMapUniCid uniCid = new CMapUniCid();
+        CMapParser.parseCid(cmapName, uniCid, location);
+        CMapCidUni cidUni = new CMapCidUni();
+        CMapParser.parseCid(cmapName, cidUni, location);
+        CompiledCMap.write(uniCid, cidUni, out);
+    }
+
+    private static boolean isCompilable(String name) {
+        if (!name.startsWith(UNICODE_CMAP_PREFIX) || name.indexOf('.') >= 0) {
+            return false;
+        }
+        for (String encoding : UTF16_ENCODINGS) {
+            if (name.contains(encoding)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static class DirectoryLocation implements ICMapLocation {
+        private final String directory;
+
+        DirectoryLocation(String directory) {
+            this.directory = directory;
+        }
+
+        @Override
+        public PdfTokenizer getLocation(String location) throws java.io.IOException {
+            return new PdfTokenizer(new RandomAccessFileOrArray(new RandomAccessSourceFactory().createBestSource(new File(directory, location).getPath())));
+        }
+    }
+}
@@ -69,7 +69,12 @@ public class CMapParser {
     private static final int MAX_LEVEL = 10;
 
     public static void parseCid(String cmapName, AbstractCMap cmap, ICMapLocation location) throws java.io.IOException {
+        // bundled CMaps are loaded from the compiled form, if it has been built, see CMapCompiler
+        if (location instanceof CMapLocationResource && CompiledCMap.load(cmapName, cmap)) {
+            return;
+        }
         parseCid(cmapName, cmap, location, 0);
+        cmap.compact();
     }
 
     private static void parseCid(String cmapName, AbstractCMap cmap, ICMapLocation location, int level) throws java.io.IOException {
@@ -53,6 +53,7 @@ public class CMapUniCid extends AbstractCMap {
 
     private static final long serialVersionUID = -6111821751136011584L;
     private IntHashtable map = new IntHashtable(65537);
+    private IntRangeMap ranges;
 
     @Override
     void addChar(String mark, CMapObject code) {
@@ -64,19 +65,19 @@ public class CMapUniCid extends AbstractCMap {
             } else {
                 codePoint = (int) s.charAt(0);
             }
-            map.put(codePoint, (int)code.getValue());
+            getMutableMap().put(codePoint, (int)code.getValue());
         }
     }
 
     public int lookup(int character) {
-        return map.get(character);
+        return ranges != null ? ranges.get(character) : map.get(character);
     }
 
     public CMapToUnicode exportToUnicode() {
         CMapToUnicode uni = new CMapToUnicode();
-        int[] keys = map.toOrderedKeys();
+        int[] keys = ranges != null ? ranges.getKeys() : map.toOrderedKeys();
         for (int key : keys) {
-            uni.addChar(map.get(key), TextUtil.convertFromUtf32(key));
+            uni.addChar(lookup(key), TextUtil.convertFromUtf32(key));
         }
         int spaceCid = lookup(32);
         if (spaceCid != 0) {
@@ -84,4 +85,30 @@ public class CMapUniCid extends AbstractCMap {
         }
         return uni;
     }
+
+    @Override
+    void compact() {
+        if (map != null) {
+            ranges = IntRangeMap.create(map);
+            map = null;
+        }
+    }
+
+    IntRangeMap getRanges() {
+        compact();
+        return ranges;
+    }
+
+    void setRanges(IntRangeMap ranges) {
+        this.ranges = ranges;
+        this.map = null;
+    }
+
+    private IntHashtable getMutableMap() {
+        if (map == null) {
+            map = ranges.toTable();
+            ranges = null;
+        }
+        return map;
+    }
 }
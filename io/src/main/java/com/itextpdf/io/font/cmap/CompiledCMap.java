@@ -0,0 +1,149 @@
+/*
+
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2017 iText Group NV
+    Authors: Bruno Lowagie, Paulo Soares, et al.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.io.font.cmap;
+
+import com.itextpdf.io.font.FontConstants;
+import com.itextpdf.io.util.ResourceUtil;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * Binary form of a Unicode CMap, produced at build time by {@link CMapCompiler}. It contains the already
+ * parsed mappings in both directions as {@link IntRangeMap}s, so that loading it requires neither
+ * PostScript parsing nor filling hash tables.
+ */
+final class CompiledCMap {
+
+    /**
+     * The suffix of a compiled CMap resource, which is placed next to the text resource of the CMap.
+     */
+    static final String SUFFIX = ".bin";
+
+    private static final int MAGIC = 0x434D4150;
+    private static final int VERSION = 1;
+
+    private CompiledCMap() {
+    }
+
+    /**
+     * Checks if the CMap can be loaded from its compiled form.
+     */
+    static boolean isSupported(AbstractCMap cmap) {
+        return cmap instanceof CMapUniCid || cmap instanceof CMapCidUni;
+    }
+
+    /**
+     * Loads the CMap from the compiled resource, if there is one.
+     *
+     * @param cmapName the name of the CMap resource
+     * @param cmap     the CMap to be filled
+     * @return {@code false} if there is no compiled resource of the CMap or it has an unknown version
+     * @throws java.io.IOException on error
+     */
+    static boolean load(String cmapName, AbstractCMap cmap) throws java.io.IOException {
+        if (!isSupported(cmap)) {
+            return false;
+        }
+        InputStream resource = ResourceUtil.getResourceStream(FontConstants.CMAP_RESOURCE_PATH + cmapName + SUFFIX);
+        if (resource == null) {
+            return false;
+        }
+        DataInputStream in = new DataInputStream(new BufferedInputStream(resource));
+        try {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                return false;
+            }
+            cmap.setName(readString(in));
+            cmap.setRegistry(readString(in));
+            cmap.setOrdering(readString(in));
+            cmap.setSupplement(in.readInt());
+            IntRangeMap uniToCid = IntRangeMap.read(in);
+            IntRangeMap cidToUni = IntRangeMap.read(in);
+            if (cmap instanceof CMapUniCid) {
+                ((CMapUniCid) cmap).setRanges(uniToCid);
+            } else {
+                ((CMapCidUni) cmap).setRanges(cidToUni);
+            }
+            return true;
+        } finally {
+            in.close();
+        }
+    }
+
+    /**
+     * Writes the compiled form of a Unicode CMap.
+     *
+     * @param uniCid the parsed CMap as Unicode to CID mapping
+     * @param cidUni the parsed CMap as CID to Unicode mapping
+     * @param out    the stream to write to, it isn't closed
+     * @throws java.io.IOException on error
+     */
+    static void write(CMapUniCid uniCid, CMapCidUni cidUni, OutputStream out) throws java.io.IOException {
+        DataOutputStream data = new DataOutputStream(out);
+        data.writeInt(MAGIC);
+        data.writeInt(VERSION);
+        writeString(data, uniCid.getName());
+        writeString(data, uniCid.getRegistry());
+        writeString(data, uniCid.getOrdering());
+        data.writeInt(uniCid.getSupplement());
+        uniCid.getRanges().write(data);
+        cidUni.getRanges().write(data);
+        data.flush();
+    }
+
+    private static String readString(DataInputStream in) throws java.io.IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws java.io.IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+}
@@ -0,0 +1,199 @@
+/*
+
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2017 iText Group NV
+    Authors: Bruno Lowagie, Paulo Soares, et al.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.io.font.cmap;
+
+import com.itextpdf.io.util.IntHashtable;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.Serializable;
+import java.util.Arrays;
+
+/**
+ * Immutable int to int map stored as sorted ranges of consecutive keys mapped to consecutive values.
+ * CMaps mostly consist of such ranges, so the map is far smaller than a hash table of the same entries.
+ * Lookups use binary search over the ranges. Missing keys are mapped to 0, like in {@link IntHashtable}.
+ */
+final class IntRangeMap implements Serializable {
+
+    private static final long serialVersionUID = 3392734542542617713L;
+
+    /**
+     * The first key of each range.
+     */
+    private final int[] starts;
+    /**
+     * The last key of each range, inclusive.
+     */
+    private final int[] ends;
+    /**
+     * The value of the first key of each range.
+     */
+    private final int[] values;
+
+    private IntRangeMap(int[] starts, int[] ends, int[] values) {
+        this.starts = starts;
+        this.ends = ends;
+        this.values = values;
+    }
+
+    static IntRangeMap create(IntHashtable table) {
+        int[] keys = table.toOrderedKeys();
+        int[] starts = new int[keys.length];
+        int[] ends = new int[keys.length];
+        int[] values = new int[keys.length];
+        int count = 0;
+        for (int key : keys) {
+            int value = table.get(key);
+            if (count > 0 && ends[count - 1] == key - 1 && values[count - 1] + key - starts[count - 1] == value) {
+                ends[count - 1] = key;
+            } else {
+                starts[count] = key;
+                ends[count] = key;
+                values[count] = value;
+                count++;
+            }
+        }
+        return new IntRangeMap(Arrays.copyOf(starts, count), Arrays.copyOf(ends, count), Arrays.copyOf(values, count));
+    }
+
+    /**
+     * Reads the ranges written by {@link #write(DataOutputStream)}.
+     */
+    static IntRangeMap read(DataInputStream in) throws java.io.IOException {
+        int count = in.readInt();
+        int[] starts = new int[count];
+        int[] ends = new int[count];
+        int[] values = new int[count];
+        int previousEnd = -1;
+        int previousValue = 0;
+        for (int i = 0; i < count; i++) {
+            starts[i] = previousEnd + 1 + readVarInt(in);
+            ends[i] = starts[i] + readVarInt(in);
+            int delta = readVarInt(in);
+            values[i] = previousValue + ((delta >>> 1) ^ -(delta & 1));
+            previousEnd = ends[i];
+            previousValue = values[i];
+        }
+        return new IntRangeMap(starts, ends, values);
+    }
+
+    /**
+     * Writes the ranges. Each range is written as three variable-length numbers: the gap after the previous range,
+     * the length of the range and the zigzag-encoded difference with the value of the previous range.
+     * Keys are expected to be non-negative, which is the case for codes and CIDs.
+     */
+    void write(DataOutputStream out) throws java.io.IOException {
+        out.writeInt(starts.length);
+        int previousEnd = -1;
+        int previousValue = 0;
+        for (int i = 0; i < starts.length; i++) {
+            writeVarInt(out, starts[i] - previousEnd - 1);
+            writeVarInt(out, ends[i] - starts[i]);
+            int delta = values[i] - previousValue;
+            writeVarInt(out, (delta << 1) ^ (delta >> 31));
+            previousEnd = ends[i];
+            previousValue = values[i];
+        }
+    }
+
+    int get(int key) {
+        int range = Arrays.binarySearch(starts, key);
+        if (range < 0) {
+            range = -range - 2;
+            if (range < 0 || key > ends[range]) {
+                return 0;
+            }
+        }
+        return values[range] + key - starts[range];
+    }
+
+    int[] getKeys() {
+        int[] keys = new int[size()];
+        int k = 0;
+        for (int i = 0; i < starts.length; i++) {
+            for (int key = starts[i]; key <= ends[i]; key++) {
+                keys[k++] = key;
+            }
+        }
+        return keys;
+    }
+
+    int size() {
+        int size = 0;
+        for (int i = 0; i < starts.length; i++) {
+            size += ends[i] - starts[i] + 1;
+        }
+        return size;
+    }
+
+    IntHashtable toTable() {
+        IntHashtable table = new IntHashtable(size());
+        for (int i = 0; i < starts.length; i++) {
+            for (int key = starts[i]; key <= ends[i]; key++) {
+                table.put(key, values[i] + key - starts[i]);
+            }
+        }
+        return table;
+    }
+
+    private static int readVarInt(DataInputStream in) throws java.io.IOException {
+        int value = 0;
+        for (int shift = 0; ; shift += 7) {
+            int b = in.readUnsignedByte();
+            value |= (b & 0x7f) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+    }
+
+    private static void writeVarInt(DataOutputStream out, int value) throws java.io.IOException {
+        while ((value & ~0x7f) != 0) {
+            out.writeByte((value & 0x7f) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte(value);
+    }
+}
@@ -0,0 +1,242 @@
+/*
+
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2017 iText Group NV
+    Authors: Bruno Lowagie, Paulo Soares, et al.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.io.font.otf;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Keeps the results of OpenType shaping and kerning of text runs in a font, so that the same words and numbers,
+ * repeated in a document or in different documents, are shaped once. Each {@link com.itextpdf.io.font.FontProgram}
+ * has its own cache, see {@link com.itextpdf.io.font.FontProgram#getShapedGlyphLineCache()}, which is dropped
+ * together with the font program, e.g. when it is evicted from {@link com.itextpdf.io.font.FontCache}.
+ * <p>
+ * Only short runs are cached. The cache of each font is bounded by the approximate memory footprint of the cached
+ * runs, see {@link #setMaxSize(long)}, and evicts least recently used runs. Shaped glyphs are copied both when
+ * a run is cached and when it is taken from the cache, since glyphs may be modified by later processing.
+ */
+public final class ShapedGlyphLineCache {
+
+    /**
+     * The maximum number of glyphs in a cached run.
+     */
+    public static final int MAX_RUN_LENGTH = 256;
+
+    /**
+     * The default maximum size of the cache of a font, approximately in bytes.
+     */
+    public static final long DEFAULT_MAX_SIZE = 256 * 1024;
+
+    // the approximate footprint of a cached run, of its glyphs and of their codes in the key
+    private static final int RUN_SIZE = 128;
+    private static final int GLYPH_SIZE = 104;
+
+    private static volatile long maxSize = DEFAULT_MAX_SIZE;
+
+    private final Map<Key, GlyphLine> cache = new LinkedHashMap<>(16, 0.75f, true);
+    private long size;
+
+    /**
+     * Sets the maximum size of the cache of each font, approximately in bytes. The caches which are bigger
+     * are reduced on the next shaping result cached in them.
+     *
+     * @param maxSize the maximum size in bytes, or 0 to disable caching of shaping results
+     */
+    public static void setMaxSize(long maxSize) {
+        if (maxSize < 0) {
+            throw new IllegalArgumentException("maxSize");
+        }
+        ShapedGlyphLineCache.maxSize = maxSize;
+    }
+
+    /**
+     * Gets the maximum size of the cache of each font, approximately in bytes.
+     *
+     * @return the maximum size in bytes, 0 if caching of shaping results is disabled
+     */
+    public static long getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * Creates the cache key of a text run to be shaped.
+     *
+     * @param script  the script the run is shaped with, or {@code null} if only kerning is applied
+     * @param kerning whether kerning is applied
+     * @param text    the text run before shaping
+     * @return the key, or {@code null} if the run shall not be cached
+     */
+    public Key createKey(Character.UnicodeScript script, boolean kerning, GlyphLine text) {
+        int length = text.end - text.start;
+        // only whole lines are cached, since a slice shares its glyphs with the rest of the line
+        if (maxSize == 0 || length == 0 || length > MAX_RUN_LENGTH || text.start != 0 || text.end != text.size()) {
+            return null;
+        }
+        int[] glyphs = new int[length * 2];
+        for (int i = 0; i < length; i++) {
+            Glyph glyph = text.get(i);
+            if (glyph.hasPlacement() || glyph.hasAdvance()) {
+                return null;
+            }
+            glyphs[2 * i] = glyph.getCode();
+            glyphs[2 * i + 1] = glyph.getUnicode();
+        }
+        return new Key(script, kerning, glyphs);
+    }
+
+    /**
+     * Replaces the content of the text run with the cached shaping result.
+     *
+     * @param key  the key of the run
+     * @param text the text run to be shaped
+     * @return {@code true} if the result was cached, otherwise the run is not modified
+     */
+    public boolean applyCachedResult(Key key, GlyphLine text) {
+        GlyphLine shaped;
+        synchronized (cache) {
+            shaped = cache.get(key);
+        }
+        if (shaped == null) {
+            return false;
+        }
+        GlyphLine copy = copyOf(shaped);
+        text.replaceContent(copy);
+        if (copy.actualText == null) {
+            // the shaped run has no actual text, unlike the run before shaping
+            text.actualText = null;
+        }
+        return true;
+    }
+
+    /**
+     * Caches the result of shaping.
+     *
+     * @param key    the key of the run, created before shaping
+     * @param shaped the shaped text run
+     */
+    public void cacheResult(Key key, GlyphLine shaped) {
+        long maxSize = ShapedGlyphLineCache.maxSize;
+        if (shaped.start != 0 || shaped.end != shaped.size() || shaped.size() > MAX_RUN_LENGTH || maxSize == 0) {
+            return;
+        }
+        GlyphLine copy = copyOf(shaped);
+        synchronized (cache) {
+            GlyphLine previous = cache.put(key, copy);
+            size += sizeOf(copy) - (previous != null ? sizeOf(previous) : 0);
+            Iterator<GlyphLine> iterator = cache.values().iterator();
+            while (size > maxSize && iterator.hasNext()) {
+                size -= sizeOf(iterator.next());
+                iterator.remove();
+            }
+        }
+    }
+
+    /**
+     * Gets the approximate memory footprint of the cached runs.
+     *
+     * @return the size of the cache in bytes
+     */
+    public long getSize() {
+        synchronized (cache) {
+            return size;
+        }
+    }
+
+    /**
+     * Drops all the cached shaping results.
+     */
+    public void clear() {
+        synchronized (cache) {
+            cache.clear();
+            size = 0;
+        }
+    }
+
+    private static long sizeOf(GlyphLine line) {
+        return RUN_SIZE + (long) GLYPH_SIZE * line.size();
+    }
+
+    private static GlyphLine copyOf(GlyphLine line) {
+        GlyphLine copy = line.copy(line.start, line.end);
+        for (int i = 0; i < copy.size(); i++) {
+            copy.set(i, new Glyph(copy.get(i)));
+        }
+        return copy;
+    }
+
+    /**
+     * The key of a text run: the glyphs of the run before shaping and the applied shaping features.
+     */
+    public static final class Key {
+        private final Character.UnicodeScript script;
+        private final boolean kerning;
+        private final int[] glyphs;
+        private final int hashCode;
+
+        private Key(Character.UnicodeScript script, boolean kerning, int[] glyphs) {
+            this.script = script;
+            this.kerning = kerning;
+            this.glyphs = glyphs;
+            int result = script != null ? script.hashCode() : 0;
+            result = 31 * result + (kerning ? 1 : 0);
+            this.hashCode = 31 * result + Arrays.hashCode(glyphs);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+
+            Key that = (Key) o;
+            return script == that.script && kerning == that.kerning && Arrays.equals(glyphs, that.glyphs);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+}
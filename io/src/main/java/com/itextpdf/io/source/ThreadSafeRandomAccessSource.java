@@ -43,10 +43,15 @@
 package com.itextpdf.io.source;
 
 import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.Serializable;
+
+public class ThreadSafeRandomAccessSource implements IRandomAccessSource, Serializable {
+
+    private static final long serialVersionUID = -4528826402713408446L;
 
-public class ThreadSafeRandomAccessSource implements IRandomAccessSource {
     private final IRandomAccessSource source;
-    private final Object lockObj = new Object();
+    private transient Object lockObj = new Object();
     
     public ThreadSafeRandomAccessSource(IRandomAccessSource source) {
         this.source = source;
@@ -79,4 +84,9 @@ public class ThreadSafeRandomAccessSource implements IRandomAccessSource {
             source.close();
         }
     }
+
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        lockObj = new Object();
+    }
 }
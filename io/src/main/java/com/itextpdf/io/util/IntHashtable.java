@@ -43,6 +43,10 @@
  */
 package com.itextpdf.io.util;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamField;
 import java.io.Serializable;
 import java.text.MessageFormat;
 import java.util.Arrays;
@@ -65,9 +69,30 @@ public class IntHashtable implements Cloneable, Serializable {
     private static final long serialVersionUID = 7354463962269093965L;
 
     /***
-     * The hash table data.
+     * The serialized form is the one of the chained hash table the class used to be, so that
+     * the tables serialized by the previous versions can still be read and vice versa.
      */
-    private Entry[] table;
+    private static final ObjectStreamField[] serialPersistentFields = {
+            new ObjectStreamField("table", Entry[].class),
+            new ObjectStreamField("count", Integer.TYPE),
+            new ObjectStreamField("threshold", Integer.TYPE),
+            new ObjectStreamField("loadFactor", Float.TYPE)
+    };
+
+    /***
+     * The keys of the open-addressing hash table.
+     */
+    private transient int[] keys;
+
+    /***
+     * The values of the open-addressing hash table.
+     */
+    private transient int[] values;
+
+    /***
+     * The flags of the occupied slots of the hash table.
+     */
+    private transient boolean[] used;
 
     /***
      * The total number of entries in the hash table.
@@ -125,16 +150,12 @@ public class IntHashtable implements Cloneable, Serializable {
         if (loadFactor <= 0) {
             throw new IllegalArgumentException(MessageFormat.format("Illegal Load: {0}", loadFactor));
         }
-        if (initialCapacity == 0) {
-            initialCapacity = 1;
-        }
         this.loadFactor = loadFactor;
-        table = new Entry[initialCapacity];
-        threshold = (int) (initialCapacity * loadFactor);
+        allocate(tableSizeFor(initialCapacity));
     }
 
     public IntHashtable(IntHashtable o) {
-        this(o.table.length, o.loadFactor);
+        this(o.keys.length, o.loadFactor);
     }
 
     /***
@@ -175,13 +196,9 @@ public class IntHashtable implements Cloneable, Serializable {
      * @see        java.util.Map
      */
     public boolean contains(int value) {
-
-        Entry[] tab = table;
-        for (int i = tab.length; i-- > 0;) {
-            for (Entry e = tab[i]; e != null; e = e.next) {
-                if (e.value == value) {
-                    return true;
-                }
+        for (int i = keys.length; i-- > 0;) {
+            if (used[i] && values[i] == value) {
+                return true;
             }
         }
         return false;
@@ -212,14 +229,7 @@ public class IntHashtable implements Cloneable, Serializable {
      * @see #contains(int)
      */
     public boolean containsKey(int key) {
-        Entry[] tab = table;
-        int index = (key & 0x7FFFFFFF) % tab.length;
-        for (Entry e = tab[index]; e != null; e = e.next) {
-            if (e.key == key) {
-                return true;
-            }
-        }
-        return false;
+        return findSlot(key) >= 0;
     }
 
     /***
@@ -232,36 +242,17 @@ public class IntHashtable implements Cloneable, Serializable {
      * @see     #put(int, int)
      */
     public int get(int key) {
-        Entry[] tab = table;
-        int index = (key & 0x7FFFFFFF) % tab.length;
-        for (Entry e = tab[index]; e != null; e = e.next) {
-            if (e.key == key) {
-                return e.value;
+        int mask = keys.length - 1;
+        int slot = mix(key) & mask;
+        while (used[slot]) {
+            if (keys[slot] == key) {
+                return values[slot];
             }
+            slot = (slot + 1) & mask;
         }
         return 0;
     }
 
-    /***
-     * <p>Returns thes value to which the specified key is mapped in this map.</p>
-     *
-     * @param   key   a key in the hashtable.
-     * @return  the values to which the key is mapped in this hashtable;
-     *          <code>null</code> if the key is not mapped to any value in
-     *          this hashtable.
-     * @see     #put(int, int)
-    public ArrayList<Integer> getValues(int key) {
-    Entry[] tab = table;
-    int index = (key & 0x7FFFFFFF) % tab.length;
-    for (Entry e = tab[index]; e != null; e = e.next) {
-    if (e.key == key) {
-    return e.values;
-    }
-    }
-    return null;
-    }
-     */
-
     /***
      * <p>Increases the capacity of and internally reorganizes this
      * hashtable, in order to accommodate and access its entries more
@@ -272,23 +263,21 @@ public class IntHashtable implements Cloneable, Serializable {
      * factor.</p>
      */
     protected void rehash() {
-        int oldCapacity = table.length;
-        Entry[] oldMap = table;
-
-        int newCapacity = oldCapacity * 2 + 1;
-        Entry[] newMap = new Entry[newCapacity];
-
-        threshold = (int) (newCapacity * loadFactor);
-        table = newMap;
-
-        for (int i = oldCapacity; i-- > 0;) {
-            for (Entry old = oldMap[i]; old != null;) {
-                Entry e = old;
-                old = old.next;
-
-                int index = (e.key & 0x7FFFFFFF) % newCapacity;
-                e.next = newMap[index];
-                newMap[index] = e;
+        int[] oldKeys = keys;
+        int[] oldValues = values;
+        boolean[] oldUsed = used;
+
+        allocate(oldKeys.length * 2);
+        int mask = keys.length - 1;
+        for (int i = oldKeys.length; i-- > 0;) {
+            if (oldUsed[i]) {
+                int slot = mix(oldKeys[i]) & mask;
+                while (used[slot]) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+                used[slot] = true;
             }
         }
     }
@@ -310,28 +299,31 @@ public class IntHashtable implements Cloneable, Serializable {
      */
     public int put(int key, int value) {
         // Makes sure the key is not already in the hashtable.
-        Entry[] tab = table;
-        int index = (key & 0x7FFFFFFF) % tab.length;
-        for (Entry e = tab[index]; e != null; e = e.next) {
-            if (e.key == key) {
-                int old = e.value;
-                //e.addValue(old);
-                e.value = value;
+        int mask = keys.length - 1;
+        int slot = mix(key) & mask;
+        while (used[slot]) {
+            if (keys[slot] == key) {
+                int old = values[slot];
+                values[slot] = value;
                 return old;
             }
+            slot = (slot + 1) & mask;
         }
 
         if (count >= threshold) {
             // Rehash the table if the threshold is exceeded
             rehash();
 
-            tab = table;
-            index = (key & 0x7FFFFFFF) % tab.length;
+            mask = keys.length - 1;
+            slot = mix(key) & mask;
+            while (used[slot]) {
+                slot = (slot + 1) & mask;
+            }
         }
 
-        // Creates the new entry.
-        Entry e = new Entry(key, value, tab[index]);
-        tab[index] = e;
+        keys[slot] = key;
+        values[slot] = value;
+        used[slot] = true;
         count++;
         return 0;
     }
@@ -348,33 +340,37 @@ public class IntHashtable implements Cloneable, Serializable {
      *          or <code>null</code> if the key did not have a mapping.
      */
     public int remove(int key) {
-        Entry[] tab = table;
-        int index = (key & 0x7FFFFFFF) % tab.length;
-        Entry e;
-        Entry prev;
-        for (e = tab[index], prev = null; e != null; prev = e, e = e.next) {
-            if (e.key == key) {
-                if (prev != null) {
-                    prev.next = e.next;
-                } else {
-                    tab[index] = e.next;
-                }
-                count--;
-                int oldValue = e.value;
-                e.value = 0;
-                return oldValue;
+        int slot = findSlot(key);
+        if (slot < 0) {
+            return 0;
+        }
+        int oldValue = values[slot];
+        count--;
+        // Backward shift deletion keeps the probe sequences of the following keys intact.
+        int mask = keys.length - 1;
+        int free = slot;
+        int next = (slot + 1) & mask;
+        while (used[next]) {
+            int home = mix(keys[next]) & mask;
+            if (((next - home) & mask) >= ((next - free) & mask)) {
+                keys[free] = keys[next];
+                values[free] = values[next];
+                free = next;
             }
+            next = (next + 1) & mask;
         }
-        return 0;
+        used[free] = false;
+        values[free] = 0;
+        return oldValue;
     }
 
     /***
      * <p>Clears this hashtable so that it contains no keys.</p>
      */
     public void clear() {
-        Entry[] tab = table;
-        for (int index = tab.length; --index >= 0;) {
-            tab[index] = null;
+        for (int index = used.length; --index >= 0;) {
+            used[index] = false;
+            values[index] = 0;
         }
         count = 0;
     }
@@ -382,12 +378,15 @@ public class IntHashtable implements Cloneable, Serializable {
     /***
      * <p>Innerclass that acts as a datastructure to create a new entry in the
      * table.</p>
+     *
+     * @deprecated The table stores keys and values in primitive arrays and uses entries only in its
+     * serialized form. Will be removed from the public API in 7.1.
      */
+    @Deprecated
     public static class Entry implements Serializable {
         private static final long serialVersionUID = 8057670534065316193L;
         int key;
         int value;
-        //ArrayList<Integer> values = new ArrayList<Integer>();
         Entry next;
 
         /**
@@ -401,7 +400,6 @@ public class IntHashtable implements Cloneable, Serializable {
             this.key = key;
             this.value = value;
             this.next = next;
-            //values.add(value);
         }
 
         // extra methods for inner class Entry by Paulo
@@ -433,16 +431,10 @@ public class IntHashtable implements Cloneable, Serializable {
     public int[] getKeys() {
         int[] res = new int[count];
         int ptr = 0;
-        int index = table.length;
-        Entry entry = null;
-        while (true) {
-            if (entry == null)
-                while (index-- > 0 && (entry = table[index]) == null);
-            if (entry == null)
-                break;
-            Entry e = entry;
-            entry = e.next;
-            res[ptr++] = e.key;
+        for (int index = keys.length; index-- > 0;) {
+            if (used[index]) {
+                res[ptr++] = keys[index];
+            }
         }
         return res;
     }
@@ -450,28 +442,85 @@ public class IntHashtable implements Cloneable, Serializable {
     public int getOneKey() {
         if (count == 0)
             return 0;
-        int index = table.length;
-        Entry entry = null;
-        while (index-- > 0 && (entry = table[index]) == null);
-        if (entry == null)
-            return 0;
-        return entry.key;
+        for (int index = keys.length; index-- > 0;) {
+            if (used[index]) {
+                return keys[index];
+            }
+        }
+        return 0;
     }
 
     @Override
     public Object clone() throws CloneNotSupportedException {
-        try {
-            IntHashtable t = new IntHashtable(this);
-            t.table = new Entry[table.length];
-            for (int i = table.length ; i-- > 0 ; ) {
-                t.table[i] = table[i] != null
-                        ? (Entry)table[i].clone() : null;
+        IntHashtable t = (IntHashtable) super.clone();
+        t.keys = keys.clone();
+        t.values = values.clone();
+        t.used = used.clone();
+        return t;
+    }
+
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        Entry[] table = new Entry[keys.length];
+        for (int i = keys.length; i-- > 0;) {
+            if (used[i]) {
+                int index = (keys[i] & 0x7FFFFFFF) % table.length;
+                table[index] = new Entry(keys[i], values[i], table[index]);
             }
-            return t;
-        } catch (CloneNotSupportedException e) {
-            // this shouldn't happen, since we are Cloneable
-            throw new InternalError();
         }
+        ObjectOutputStream.PutField fields = out.putFields();
+        fields.put("table", table);
+        fields.put("count", count);
+        fields.put("threshold", threshold);
+        fields.put("loadFactor", loadFactor);
+        out.writeFields();
     }
-}
 
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        ObjectInputStream.GetField fields = in.readFields();
+        Entry[] table = (Entry[]) fields.get("table", null);
+        loadFactor = fields.get("loadFactor", 0.75f);
+        int size = fields.get("count", 0);
+        allocate(tableSizeFor((int) (size / loadFactor) + 1));
+        count = 0;
+        if (table != null) {
+            for (Entry entry : table) {
+                for (; entry != null; entry = entry.next) {
+                    put(entry.key, entry.value);
+                }
+            }
+        }
+    }
+
+    private int findSlot(int key) {
+        int mask = keys.length - 1;
+        int slot = mix(key) & mask;
+        while (used[slot]) {
+            if (keys[slot] == key) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    private void allocate(int capacity) {
+        keys = new int[capacity];
+        values = new int[capacity];
+        used = new boolean[capacity];
+        // At least one slot must stay free to terminate the probe sequences.
+        threshold = Math.min((int) (capacity * loadFactor), capacity - 1);
+    }
+
+    private static int tableSizeFor(int capacity) {
+        int size = 2;
+        while (size < capacity && size < (1 << 30)) {
+            size <<= 1;
+        }
+        return size;
+    }
+
+    private static int mix(int key) {
+        int h = key * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
@@ -0,0 +1,391 @@
+/*
+
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2017 iText Group NV
+    Authors: Bruno Lowagie, Paulo Soares, et al.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.io.util;
+
+import java.io.Serializable;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A map with primitive {@code int} keys, intended for glyph lookups by glyph index or unicode.
+ * <p>
+ * Keys in the range of the Basic Multilingual Plane are stored in a paged array, which is indexed directly
+ * and only allocates the pages which are actually used. Other keys are stored in an open-addressing hash table.
+ * The {@code int} overloads of {@link #get(int)}, {@link #put(int, Object)}, {@link #containsKey(int)} and
+ * {@link #remove(int)} do not box the key. The class also implements {@link Map} for compatibility,
+ * the iteration order is ascending for the BMP keys followed by the other keys in no particular order.
+ * <p>
+ * {@code null} values are not stored, putting a {@code null} value removes the key.
+ * The class is not thread-safe.
+ *
+ * @param <V> the type of the mapped values
+ */
+public class IntObjectMap<V> extends AbstractMap<Integer, V> implements Serializable {
+
+    private static final long serialVersionUID = -4563924893626658373L;
+
+    private static final int PAGE_BITS = 8;
+    private static final int PAGE_SIZE = 1 << PAGE_BITS;
+    private static final int PAGE_MASK = PAGE_SIZE - 1;
+    private static final int DENSE_LIMIT = 0x10000;
+    private static final int MIN_SPARSE_CAPACITY = 8;
+
+    private Object[][] pages = new Object[DENSE_LIMIT >> PAGE_BITS][];
+    private int denseSize;
+
+    private int[] sparseKeys;
+    private Object[] sparseValues;
+    private int sparseSize;
+
+    /**
+     * Creates a new empty map.
+     */
+    public IntObjectMap() {
+    }
+
+    /**
+     * Creates a new map with the mappings of the specified map.
+     *
+     * @param map the map whose mappings are to be placed in this map
+     */
+    public IntObjectMap(Map<Integer, ? extends V> map) {
+        for (Map.Entry<Integer, ? extends V> entry : map.entrySet()) {
+            put((int) entry.getKey(), entry.getValue());
+        }
+    }
+
+    @Override
+    public int size() {
+        return denseSize + sparseSize;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * Gets the value mapped to the key.
+     *
+     * @param key the key
+     * @return the value, or {@code null} if the key is not mapped
+     */
+    @SuppressWarnings("unchecked")
+    public V get(int key) {
+        if (key >= 0 && key < DENSE_LIMIT) {
+            Object[] page = pages[key >> PAGE_BITS];
+            return page != null ? (V) page[key & PAGE_MASK] : null;
+        }
+        if (sparseSize == 0) {
+            return null;
+        }
+        int slot = findSlot(key);
+        return slot >= 0 ? (V) sparseValues[slot] : null;
+    }
+
+    /**
+     * Checks whether the key is mapped.
+     *
+     * @param key the key
+     * @return {@code true} if the key is mapped to a value
+     */
+    public boolean containsKey(int key) {
+        return get(key) != null;
+    }
+
+    /**
+     * Maps the key to the value.
+     *
+     * @param key   the key
+     * @param value the value, {@code null} removes the key
+     * @return the previous value mapped to the key, or {@code null} if the key was not mapped
+     */
+    @SuppressWarnings("unchecked")
+    public V put(int key, V value) {
+        if (value == null) {
+            return remove(key);
+        }
+        if (key >= 0 && key < DENSE_LIMIT) {
+            int pageIndex = key >> PAGE_BITS;
+            Object[] page = pages[pageIndex];
+            if (page == null) {
+                page = pages[pageIndex] = new Object[PAGE_SIZE];
+            }
+            Object old = page[key & PAGE_MASK];
+            page[key & PAGE_MASK] = value;
+            if (old == null) {
+                denseSize++;
+            }
+            return (V) old;
+        }
+        if (sparseKeys == null) {
+            sparseKeys = new int[MIN_SPARSE_CAPACITY];
+            sparseValues = new Object[MIN_SPARSE_CAPACITY];
+        }
+        int mask = sparseKeys.length - 1;
+        int slot = mix(key) & mask;
+        while (sparseValues[slot] != null) {
+            if (sparseKeys[slot] == key) {
+                Object old = sparseValues[slot];
+                sparseValues[slot] = value;
+                return (V) old;
+            }
+            slot = (slot + 1) & mask;
+        }
+        sparseKeys[slot] = key;
+        sparseValues[slot] = value;
+        if (++sparseSize * 4 > sparseKeys.length * 3) {
+            resizeSparse(sparseKeys.length * 2);
+        }
+        return null;
+    }
+
+    /**
+     * Removes the key from the map.
+     *
+     * @param key the key
+     * @return the value which was mapped to the key, or {@code null} if the key was not mapped
+     */
+    @SuppressWarnings("unchecked")
+    public V remove(int key) {
+        if (key >= 0 && key < DENSE_LIMIT) {
+            Object[] page = pages[key >> PAGE_BITS];
+            if (page == null) {
+                return null;
+            }
+            Object old = page[key & PAGE_MASK];
+            if (old != null) {
+                page[key & PAGE_MASK] = null;
+                denseSize--;
+            }
+            return (V) old;
+        }
+        if (sparseSize == 0) {
+            return null;
+        }
+        int slot = findSlot(key);
+        if (slot < 0) {
+            return null;
+        }
+        Object old = sparseValues[slot];
+        sparseSize--;
+        // Backward shift deletion keeps the probe sequences of the following keys intact.
+        int mask = sparseKeys.length - 1;
+        int free = slot;
+        int next = (slot + 1) & mask;
+        while (sparseValues[next] != null) {
+            int home = mix(sparseKeys[next]) & mask;
+            if (((next - home) & mask) >= ((next - free) & mask)) {
+                sparseKeys[free] = sparseKeys[next];
+                sparseValues[free] = sparseValues[next];
+                free = next;
+            }
+            next = (next + 1) & mask;
+        }
+        sparseValues[free] = null;
+        return (V) old;
+    }
+
+    @Override
+    public V get(Object key) {
+        return key instanceof Integer ? get((int) (Integer) key) : null;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return key instanceof Integer && containsKey((int) (Integer) key);
+    }
+
+    @Override
+    public V put(Integer key, V value) {
+        return put((int) key, value);
+    }
+
+    @Override
+    public V remove(Object key) {
+        return key instanceof Integer ? remove((int) (Integer) key) : null;
+    }
+
+    @Override
+    public void clear() {
+        pages = new Object[DENSE_LIMIT >> PAGE_BITS][];
+        denseSize = 0;
+        sparseKeys = null;
+        sparseValues = null;
+        sparseSize = 0;
+    }
+
+    /**
+     * Gets the keys of the map in the iteration order.
+     *
+     * @return the keys of the map
+     */
+    public int[] getKeys() {
+        int[] keys = new int[size()];
+        int ptr = 0;
+        for (int pageIndex = 0; pageIndex < pages.length; pageIndex++) {
+            Object[] page = pages[pageIndex];
+            if (page != null) {
+                for (int i = 0; i < PAGE_SIZE; i++) {
+                    if (page[i] != null) {
+                        keys[ptr++] = (pageIndex << PAGE_BITS) | i;
+                    }
+                }
+            }
+        }
+        if (sparseSize > 0) {
+            for (int slot = 0; slot < sparseKeys.length; slot++) {
+                if (sparseValues[slot] != null) {
+                    keys[ptr++] = sparseKeys[slot];
+                }
+            }
+        }
+        return keys;
+    }
+
+    @Override
+    public Set<Map.Entry<Integer, V>> entrySet() {
+        return new EntrySet();
+    }
+
+    private int findSlot(int key) {
+        int mask = sparseKeys.length - 1;
+        int slot = mix(key) & mask;
+        while (sparseValues[slot] != null) {
+            if (sparseKeys[slot] == key) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    private void resizeSparse(int capacity) {
+        int[] oldKeys = sparseKeys;
+        Object[] oldValues = sparseValues;
+        sparseKeys = new int[capacity];
+        sparseValues = new Object[capacity];
+        int mask = capacity - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldValues[i] != null) {
+                int slot = mix(oldKeys[i]) & mask;
+                while (sparseValues[slot] != null) {
+                    slot = (slot + 1) & mask;
+                }
+                sparseKeys[slot] = oldKeys[i];
+                sparseValues[slot] = oldValues[i];
+            }
+        }
+    }
+
+    private static int mix(int key) {
+        int h = key * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    private class EntrySet extends AbstractSet<Map.Entry<Integer, V>> {
+        @Override
+        public Iterator<Map.Entry<Integer, V>> iterator() {
+            int[] keys = getKeys();
+            List<Map.Entry<Integer, V>> entries = new ArrayList<>(keys.length);
+            for (int key : keys) {
+                entries.add(new MapEntry(key, get(key)));
+            }
+            return new EntryIterator(entries.iterator());
+        }
+
+        @Override
+        public int size() {
+            return IntObjectMap.this.size();
+        }
+    }
+
+    private class EntryIterator implements Iterator<Map.Entry<Integer, V>> {
+        private final Iterator<Map.Entry<Integer, V>> snapshot;
+        private Map.Entry<Integer, V> current;
+
+        EntryIterator(Iterator<Map.Entry<Integer, V>> snapshot) {
+            this.snapshot = snapshot;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return snapshot.hasNext();
+        }
+
+        @Override
+        public Map.Entry<Integer, V> next() {
+            current = snapshot.next();
+            return current;
+        }
+
+        @Override
+        public void remove() {
+            if (current == null) {
+                throw new IllegalStateException();
+            }
+            IntObjectMap.this.remove((int) current.getKey());
+            current = null;
+        }
+    }
+
+    private class MapEntry extends SimpleEntry<Integer, V> {
+        private static final long serialVersionUID = 2591519725396924962L;
+
+        MapEntry(int key, V value) {
+            super(key, value);
+        }
+
+        @Override
+        public V setValue(V value) {
+            IntObjectMap.this.put((int) getKey(), value);
+            return super.setValue(value);
+        }
+    }
+}
@@ -42,6 +42,7 @@
  */
 package com.itextpdf.io.font;
 
+import com.itextpdf.io.font.otf.ShapedGlyphLineCache;
 import com.itextpdf.test.annotations.type.UnitTest;
 import org.junit.Assert;
 import org.junit.Test;
@@ -71,4 +72,50 @@ public class FontProgramTest {
         fp.setBold(false);
         Assert.assertTrue("Not Bold expected", (fp.getPdfFontFlags() & (1 << 18)) == 0);
     }
+
+    @Test
+    public void fontCachePolicyTest() throws IOException {
+        FontCachePolicy countingPolicy = new FontCachePolicy(2, FontCachePolicy.EvictionOrder.LEAST_RECENTLY_USED) {
+            @Override
+            public long weigh(FontCacheKey key, FontProgram fontProgram) {
+                return 1;
+            }
+        };
+        FontCachePolicy initialPolicy = FontCache.getCachePolicy();
+        FontCache.invalidateAll();
+        FontCache.setCachePolicy(countingPolicy);
+        try {
+            FontCache.resetStatistics();
+            FontProgram helvetica = FontProgramFactory.createFont(FontConstants.HELVETICA);
+            FontProgramFactory.createFont(FontConstants.COURIER);
+            Assert.assertSame(helvetica, FontProgramFactory.createFont(FontConstants.HELVETICA));
+            FontProgramFactory.createFont(FontConstants.TIMES_ROMAN);
+
+            Assert.assertEquals(2, FontCache.getCachedFontCount());
+            Assert.assertEquals(2, FontCache.getCachedWeight());
+            Assert.assertEquals(1, FontCache.getEvictionCount());
+            Assert.assertEquals(1, FontCache.getHitCount());
+            Assert.assertEquals(3, FontCache.getMissCount());
+            Assert.assertNull(FontCache.getFont(FontConstants.COURIER));
+            Assert.assertSame(helvetica, FontCache.getFont(FontConstants.HELVETICA));
+
+            Assert.assertTrue(FontCache.invalidate(FontConstants.HELVETICA));
+            Assert.assertFalse(FontCache.invalidate(FontConstants.HELVETICA));
+            Assert.assertEquals(1, FontCache.getCachedFontCount());
+            Assert.assertNotSame(helvetica, FontProgramFactory.createFont(FontConstants.HELVETICA));
+        } finally {
+            FontCache.setCachePolicy(initialPolicy);
+            FontCache.invalidateAll();
+        }
+    }
+
+    @Test
+    public void approximateSizeTest() throws IOException {
+        FontProgram helvetica = FontProgramFactory.createFont(FontConstants.HELVETICA);
+        Assert.assertTrue(helvetica.getApproximateSize() < ShapedGlyphLineCache.getMaxSize());
+
+        // Aller has GSUB, GPOS and kern tables, so it is charged the whole shaping cache limit
+        FontProgram aller = FontProgramFactory.createFont("./src/test/resources/com/itextpdf/io/font/TrueTypeFontSubsetTest/Aller_Rg.ttf");
+        Assert.assertTrue(aller.getApproximateSize() > ShapedGlyphLineCache.getMaxSize());
+    }
 }
@@ -0,0 +1,110 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2017 iText Group NV
+    Authors: iText Software.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.io.font;
+
+import com.itextpdf.io.source.RandomAccessFileOrArray;
+import com.itextpdf.io.source.RandomAccessSourceFactory;
+import com.itextpdf.test.annotations.type.UnitTest;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.Set;
+
+@Category(UnitTest.class)
+public class TrueTypeFontSubsetTest {
+
+    private static final String sourceFolder = "./src/test/resources/com/itextpdf/io/font/TrueTypeFontSubsetTest/";
+    private static final String fontFile = sourceFolder + "Aller_Rg.ttf";
+
+    @Test
+    public void sharedFontDataTest() throws IOException {
+        TrueTypeFontSubset.FontData fontData = TrueTypeFontSubset.readFontData(fontFile, openFontFile(), 0);
+        // the font data is shared by all subsets, including the ones with composite glyphs
+        checkSharedFontData(fontData, getGlyphs("Hello, world!"));
+        checkSharedFontData(fontData, getGlyphs("\u00C4\u00E9\u00F1\u00F6\u00DC\u0160"));
+        checkSharedFontData(fontData, getGlyphs("Hello, world!"));
+    }
+
+    @Test
+    public void compositeGlyphsTest() throws IOException {
+        TrueTypeFontSubset.FontData fontData = TrueTypeFontSubset.readFontData(fontFile, openFontFile(), 0);
+        Set<Integer> glyphs = getGlyphs("\u00C4");
+        Set<Integer> glyphsUsed = new HashSet<>(glyphs);
+        new TrueTypeFontSubset(fontFile, openFontFile(), glyphsUsed, 0, true, false, fontData).process();
+
+        // the components of the composite glyph, i.e. the letter and the diaeresis, are added to the subset
+        Assert.assertTrue(glyphsUsed.containsAll(glyphs));
+        Assert.assertTrue(glyphsUsed.size() > glyphs.size());
+        Assert.assertTrue(glyphsUsed.contains(getGlyphs("A").iterator().next()));
+    }
+
+    private static void checkSharedFontData(TrueTypeFontSubset.FontData fontData, Set<Integer> glyphs) throws IOException {
+        for (boolean includeExtras : new boolean[] {false, true}) {
+            Set<Integer> glyphsUsed = new HashSet<>(glyphs);
+            byte[] subset = new TrueTypeFontSubset(fontFile, openFontFile(), glyphsUsed, 0, true, includeExtras).process();
+            Set<Integer> sharedGlyphsUsed = new HashSet<>(glyphs);
+            byte[] sharedSubset = new TrueTypeFontSubset(fontFile, openFontFile(), sharedGlyphsUsed, 0, true, includeExtras, fontData).process();
+
+            Assert.assertArrayEquals(subset, sharedSubset);
+            Assert.assertEquals(glyphsUsed, sharedGlyphsUsed);
+        }
+    }
+
+    private static Set<Integer> getGlyphs(String text) throws IOException {
+        FontProgram fontProgram = FontProgramFactory.createFont(fontFile);
+        Set<Integer> glyphs = new HashSet<>();
+        // the subsets always contain the .notdef glyph
+        glyphs.add(0);
+        for (int i = 0; i < text.length(); i++) {
+            glyphs.add(fontProgram.getGlyph(text.charAt(i)).getCode());
+        }
+        return glyphs;
+    }
+
+    private static RandomAccessFileOrArray openFontFile() throws IOException {
+        return new RandomAccessFileOrArray(new RandomAccessSourceFactory().createBestSource(fontFile));
+    }
+}
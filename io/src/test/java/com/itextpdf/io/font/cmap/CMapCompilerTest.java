@@ -0,0 +1,142 @@
+/*
+
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2017 iText Group NV
+    Authors: Bruno Lowagie, Paulo Soares, et al.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.io.font.cmap;
+
+import com.itextpdf.io.source.PdfTokenizer;
+import com.itextpdf.io.util.TextUtil;
+import com.itextpdf.test.annotations.type.UnitTest;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.util.Map;
+import java.util.TreeMap;
+
+@Category(UnitTest.class)
+public class CMapCompilerTest {
+
+    @Test
+    public void compiledUcs2CMapLookupsTest() throws IOException {
+        checkCompiledCMap("UniJIS-UCS2-H", "Adobe", "Japan1");
+    }
+
+    @Test
+    public void compiledUtf16CMapLookupsTest() throws IOException {
+        checkCompiledCMap("UniJIS-UTF16-H", "Adobe", "Japan1");
+    }
+
+    private static void checkCompiledCMap(String cmapName, String registry, String ordering) throws IOException {
+        // not a CMapLocationResource, so that the text resources are parsed
+        ICMapLocation textLocation = new ICMapLocation() {
+            @Override
+            public PdfTokenizer getLocation(String location) throws IOException {
+                return new CMapLocationResource().getLocation(location);
+            }
+        };
+        // the expected mappings are taken from the parsed text as is, without any compaction
+        RecordingCMap expected = new RecordingCMap();
+        CMapParser.parseCid(cmapName, expected, textLocation);
+        Assert.assertFalse(expected.uniToCid.isEmpty());
+        CMapUniCid uniCid = new CMapUniCid();
+        CMapParser.parseCid(cmapName, uniCid, textLocation);
+        CMapCidUni cidUni = new CMapCidUni();
+        CMapParser.parseCid(cmapName, cidUni, textLocation);
+
+        ByteArrayOutputStream compiled = new ByteArrayOutputStream();
+        CMapCompiler.compile(cmapName, textLocation, compiled);
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(compiled.toByteArray()));
+        in.skipBytes(8);
+        Assert.assertEquals(cmapName, in.readBoolean() ? in.readUTF() : null);
+        Assert.assertEquals(registry, in.readBoolean() ? in.readUTF() : null);
+        Assert.assertEquals(ordering, in.readBoolean() ? in.readUTF() : null);
+        in.readInt();
+        IntRangeMap uniToCid = IntRangeMap.read(in);
+        IntRangeMap cidToUni = IntRangeMap.read(in);
+        Assert.assertEquals(-1, in.read());
+
+        // every code point and every CID, including the ones outside of all ranges, which are mapped to 0
+        for (int unicode = 0; unicode <= 0x10ffff; unicode++) {
+            Integer cid = expected.uniToCid.get(unicode);
+            int expectedCid = cid != null ? (int) cid : 0;
+            Assert.assertEquals(expectedCid, uniToCid.get(unicode));
+            Assert.assertEquals(expectedCid, uniCid.lookup(unicode));
+        }
+        for (int cid = 0; cid <= 0xffff; cid++) {
+            Integer unicode = expected.cidToUni.get(cid);
+            int expectedUnicode = unicode != null ? (int) unicode : 0;
+            Assert.assertEquals(expectedUnicode, cidToUni.get(cid));
+            Assert.assertEquals(expectedUnicode, cidUni.lookup(cid));
+        }
+        int[] cids = new int[expected.cidToUni.size()];
+        int k = 0;
+        for (int cid : expected.cidToUni.keySet()) {
+            cids[k++] = cid;
+        }
+        Assert.assertArrayEquals(cids, cidToUni.getKeys());
+        Assert.assertArrayEquals(cids, cidUni.getCids());
+    }
+
+    /**
+     * Keeps the mappings of a parsed Unicode CMap in both directions, later mappings replace earlier ones.
+     */
+    private static class RecordingCMap extends AbstractCMap {
+
+        private final Map<Integer, Integer> uniToCid = new TreeMap<>();
+        private final Map<Integer, Integer> cidToUni = new TreeMap<>();
+
+        @Override
+        void addChar(String mark, CMapObject code) {
+            if (code.isNumber()) {
+                String s = toUnicodeString(mark, true);
+                int codePoint = TextUtil.isSurrogatePair(s, 0) ? TextUtil.convertToUtf32(s, 0) : (int) s.charAt(0);
+                uniToCid.put(codePoint, (int) code.getValue());
+                cidToUni.put((int) code.getValue(), codePoint);
+            }
+        }
+    }
+}
@@ -0,0 +1,147 @@
+/*
+
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2017 iText Group NV
+    Authors: Bruno Lowagie, Paulo Soares, et al.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.io.font.otf;
+
+import com.itextpdf.io.font.FontConstants;
+import com.itextpdf.io.font.FontProgram;
+import com.itextpdf.io.font.FontProgramFactory;
+import com.itextpdf.test.annotations.type.UnitTest;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+@Category(UnitTest.class)
+public class ShapedGlyphLineCacheTest {
+
+    @Test
+    public void cachedShapingResultIsCopied() throws IOException {
+        FontProgram fontProgram = FontProgramFactory.createFont(FontConstants.HELVETICA);
+        ShapedGlyphLineCache cache = fontProgram.getShapedGlyphLineCache();
+        Assert.assertSame(cache, fontProgram.getShapedGlyphLineCache());
+        cache.clear();
+
+        GlyphLine text = createGlyphLine(fontProgram, "AVA");
+        ShapedGlyphLineCache.Key key = cache.createKey(null, true, text);
+        Assert.assertNotNull(key);
+        Assert.assertFalse(cache.applyCachedResult(key, text));
+        // imitate kerning
+        text.set(1, new Glyph(text.get(1), 0, 0, -80, 0, 0));
+        text.setActualText(0, 3, "AVA");
+        cache.cacheResult(key, text);
+        text.get(1).setXAdvance((short) 0);
+
+        GlyphLine sameText = createGlyphLine(fontProgram, "AVA");
+        ShapedGlyphLineCache.Key sameKey = cache.createKey(null, true, sameText);
+        Assert.assertTrue(cache.applyCachedResult(sameKey, sameText));
+        Assert.assertEquals(3, sameText.end);
+        Assert.assertEquals(-80, sameText.get(1).getXAdvance());
+        Assert.assertEquals("AVA", sameText.toString());
+
+        GlyphLine withoutKerning = createGlyphLine(fontProgram, "AVA");
+        Assert.assertFalse(cache.applyCachedResult(cache.createKey(null, false, withoutKerning), withoutKerning));
+        GlyphLine slice = createGlyphLine(fontProgram, "AVA");
+        slice.start = 1;
+        Assert.assertNull(cache.createKey(null, true, slice));
+        cache.clear();
+    }
+
+    @Test
+    public void actualTextIsReplacedTest() throws IOException {
+        FontProgram fontProgram = FontProgramFactory.createFont(FontConstants.HELVETICA);
+        ShapedGlyphLineCache cache = fontProgram.getShapedGlyphLineCache();
+        cache.clear();
+
+        GlyphLine text = createGlyphLine(fontProgram, "AV");
+        ShapedGlyphLineCache.Key key = cache.createKey(null, true, text);
+        cache.cacheResult(key, text);
+
+        GlyphLine textWithActualText = createGlyphLine(fontProgram, "AV");
+        textWithActualText.setActualText(0, 2, "AV");
+        Assert.assertTrue(cache.applyCachedResult(cache.createKey(null, true, textWithActualText), textWithActualText));
+        Assert.assertNull(textWithActualText.actualText);
+        cache.clear();
+    }
+
+    @Test
+    public void sizeIsBoundedTest() throws IOException {
+        FontProgram fontProgram = FontProgramFactory.createFont(FontConstants.HELVETICA);
+        ShapedGlyphLineCache cache = fontProgram.getShapedGlyphLineCache();
+        cache.clear();
+        long maxSize = ShapedGlyphLineCache.getMaxSize();
+        try {
+            ShapedGlyphLineCache.setMaxSize(2048);
+            for (int i = 0; i < 100; i++) {
+                GlyphLine text = createGlyphLine(fontProgram, "Word " + i);
+                cache.cacheResult(cache.createKey(null, true, text), text);
+                Assert.assertTrue(cache.getSize() <= 2048);
+            }
+            Assert.assertTrue(cache.getSize() > 0);
+            // the least recently used runs are evicted
+            GlyphLine first = createGlyphLine(fontProgram, "Word 0");
+            Assert.assertFalse(cache.applyCachedResult(cache.createKey(null, true, first), first));
+            GlyphLine last = createGlyphLine(fontProgram, "Word 99");
+            Assert.assertTrue(cache.applyCachedResult(cache.createKey(null, true, last), last));
+
+            cache.clear();
+            Assert.assertEquals(0, cache.getSize());
+
+            ShapedGlyphLineCache.setMaxSize(0);
+            Assert.assertNull(cache.createKey(null, true, last));
+        } finally {
+            ShapedGlyphLineCache.setMaxSize(maxSize);
+        }
+    }
+
+    private static GlyphLine createGlyphLine(FontProgram fontProgram, String text) {
+        List<Glyph> glyphs = new ArrayList<>();
+        for (int i = 0; i < text.length(); i++) {
+            glyphs.add(fontProgram.getGlyph(text.charAt(i)));
+        }
+        return new GlyphLine(glyphs);
+    }
+}
@@ -0,0 +1,127 @@
+/*
+
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2017 iText Group NV
+    Authors: Bruno Lowagie, Paulo Soares, et al.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.io.util;
+
+import com.itextpdf.test.annotations.type.UnitTest;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+@Category(UnitTest.class)
+public class IntHashtableTest {
+
+    private static final String sourceFolder = "./src/test/resources/com/itextpdf/io/util/IntHashtableTest/";
+
+    @Test
+    public void randomOperationsTest() {
+        IntHashtable table = new IntHashtable();
+        Map<Integer, Integer> expected = new HashMap<>();
+        Random random = new Random(7);
+        for (int i = 0; i < 20000; i++) {
+            int key = random.nextInt(5000) - 100;
+            if (random.nextInt(3) == 0) {
+                Integer old = expected.remove(key);
+                Assert.assertEquals(old != null ? (int) old : 0, table.remove(key));
+            } else {
+                Integer old = expected.put(key, i);
+                Assert.assertEquals(old != null ? (int) old : 0, table.put(key, i));
+            }
+        }
+        Assert.assertEquals(expected.size(), table.size());
+        for (Map.Entry<Integer, Integer> entry : expected.entrySet()) {
+            Assert.assertTrue(table.containsKey(entry.getKey()));
+            Assert.assertEquals((int) entry.getValue(), table.get(entry.getKey()));
+        }
+        Assert.assertEquals(expected.size(), table.toOrderedKeys().length);
+    }
+
+    @Test
+    public void serializationTest() throws IOException, ClassNotFoundException {
+        IntHashtable table = new IntHashtable();
+        for (int i = -300; i < 300; i++) {
+            table.put(i * 7, i);
+        }
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        ObjectOutputStream out = new ObjectOutputStream(bytes);
+        out.writeObject(table);
+        out.close();
+        ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()));
+        IntHashtable copy = (IntHashtable) in.readObject();
+        in.close();
+
+        Assert.assertEquals(table.size(), copy.size());
+        for (int i = -300; i < 300; i++) {
+            Assert.assertEquals(i, copy.get(i * 7));
+        }
+        Assert.assertFalse(copy.containsKey(1));
+        copy.put(1, 1);
+        Assert.assertEquals(1, copy.get(1));
+    }
+
+    @Test
+    public void legacySerializedFormTest() throws IOException, ClassNotFoundException {
+        // serialized by the chained hash table implementation of the class
+        ObjectInputStream in = new ObjectInputStream(new FileInputStream(sourceFolder + "legacyIntHashtable.ser"));
+        IntHashtable table = (IntHashtable) in.readObject();
+        in.close();
+
+        Assert.assertEquals(5, table.size());
+        Assert.assertEquals(10, table.get(1));
+        Assert.assertEquals(20, table.get(1000));
+        Assert.assertEquals(30, table.get(-5));
+        Assert.assertEquals(40, table.get(70000));
+        Assert.assertEquals(50, table.get(151));
+        Assert.assertFalse(table.containsKey(2));
+    }
+}
@@ -0,0 +1,104 @@
+/*
+
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2017 iText Group NV
+    Authors: Bruno Lowagie, Paulo Soares, et al.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.io.util;
+
+import com.itextpdf.test.annotations.type.UnitTest;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+@Category(UnitTest.class)
+public class IntObjectMapTest {
+
+    @Test
+    public void denseAndSparseKeysTest() {
+        IntObjectMap<String> map = new IntObjectMap<>();
+        map.put(0, "zero");
+        map.put(0x41, "A");
+        map.put(0xFFFF, "last BMP");
+        map.put(0x1F600, "emoji");
+        map.put(-1, "negative");
+        Assert.assertEquals(5, map.size());
+        Assert.assertEquals("A", map.get(0x41));
+        Assert.assertEquals("last BMP", map.get((Object) 0xFFFF));
+        Assert.assertEquals("emoji", map.get(0x1F600));
+        Assert.assertEquals("negative", map.get(-1));
+        Assert.assertNull(map.get(0x42));
+        Assert.assertNull(map.get(0x1F601));
+
+        Assert.assertEquals("A", map.put(0x41, "a"));
+        Assert.assertEquals("emoji", map.remove(0x1F600));
+        Assert.assertFalse(map.containsKey(0x1F600));
+        Assert.assertEquals(4, map.size());
+        Assert.assertEquals("a", map.get(0x41));
+
+        map.clear();
+        Assert.assertTrue(map.isEmpty());
+        Assert.assertNull(map.get(0));
+    }
+
+    @Test
+    public void randomOperationsTest() {
+        IntObjectMap<Integer> map = new IntObjectMap<>();
+        Map<Integer, Integer> expected = new HashMap<>();
+        Random random = new Random(42);
+        for (int i = 0; i < 20000; i++) {
+            int key = random.nextBoolean() ? random.nextInt(0x20000) : random.nextInt();
+            if (random.nextInt(4) == 0) {
+                Assert.assertEquals(expected.remove(key), map.remove(key));
+            } else {
+                Assert.assertEquals(expected.put(key, i), map.put(key, (Integer) i));
+            }
+        }
+        Assert.assertEquals(expected.size(), map.size());
+        Assert.assertEquals(expected, map);
+        for (Map.Entry<Integer, Integer> entry : expected.entrySet()) {
+            Assert.assertEquals(entry.getValue(), map.get((int) entry.getKey()));
+        }
+    }
+}
@@ -47,8 +47,10 @@ import com.itextpdf.io.font.FontConstants;
 import com.itextpdf.io.font.FontProgram;
 import com.itextpdf.io.font.otf.Glyph;
 import com.itextpdf.io.font.otf.GlyphLine;
+import com.itextpdf.io.util.IntObjectMap;
 import com.itextpdf.io.util.TextUtil;
 import com.itextpdf.kernel.PdfException;
+import com.itextpdf.kernel.pdf.PdfArray;
 import com.itextpdf.kernel.pdf.PdfDictionary;
 import com.itextpdf.kernel.pdf.PdfDocument;
 import com.itextpdf.kernel.pdf.PdfName;
@@ -60,7 +62,7 @@ import com.itextpdf.kernel.pdf.PdfStream;
 import com.itextpdf.kernel.pdf.PdfString;
 
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -73,7 +75,7 @@ public abstract class PdfFont extends PdfObjectWrapper<PdfDictionary> {
 
     protected static final byte[] emptyBytes = new byte[0];
 
-    protected Map<Integer, Glyph> notdefGlyphs = new HashMap<>();
+    protected Map<Integer, Glyph> notdefGlyphs = new IntObjectMap<>();
 
     /**
      * false, if the font comes from PdfDocument.
@@ -90,6 +92,23 @@ public abstract class PdfFont extends PdfObjectWrapper<PdfDictionary> {
     protected boolean subset = true;
     protected List<int[]> subsetRanges;
 
+    /**
+     * The default maximum number of entries in the decode cache, see {@link #setDecodeCacheSize(int)}.
+     */
+    public static final int DEFAULT_DECODE_CACHE_SIZE = 1024;
+
+    /**
+     * Strings longer than this are unlikely to repeat, so they are not put into the decode cache.
+     */
+    private static final int MAX_CACHED_STRING_LENGTH = 256;
+
+    private int decodeCacheSize = DEFAULT_DECODE_CACHE_SIZE;
+
+    /**
+     * The results of decoding of the byte sequences, keyed by the raw content of the strings.
+     */
+    private transient Map<String, DecodedString> decodeCache;
+
     protected PdfFont(PdfDictionary fontDictionary) {
         super(fontDictionary);
         getPdfObject().put(PdfName.Type, PdfName.Font);
@@ -192,6 +211,75 @@ public abstract class PdfFont extends PdfObjectWrapper<PdfDictionary> {
 
     public abstract float getContentWidth(PdfString content);
 
+    /**
+     * Decodes a given {@link PdfString} into a {@link GlyphLine}, like {@link #decodeIntoGlyphLine(PdfString)} does,
+     * but reuses the results for the byte sequences which were already decoded by this font.
+     * The results are cached only for the fonts which come from a {@link PdfDocument}, whose encoding doesn't change.
+     *
+     * @param content the encoded string
+     * @return a new {@link GlyphLine} containing the glyphs encoded by the passed string
+     */
+    public GlyphLine getDecodedGlyphLine(PdfString content) {
+        DecodedString decodedString = getDecodedString(content);
+        return new GlyphLine(new ArrayList<>(decodedString.glyphs));
+    }
+
+    /**
+     * Decodes a given {@link PdfString} into the unicode text, i.e. the unicode representation of the {@link GlyphLine}
+     * returned by {@link #decodeIntoGlyphLine(PdfString)}. The results are cached like those of
+     * {@link #getDecodedGlyphLine(PdfString)}, so decoding of each distinct string happens only once.
+     *
+     * @param content the encoded string
+     * @return the unicode text encoded by the passed string
+     */
+    public String getDecodedText(PdfString content) {
+        DecodedString decodedString = getDecodedString(content);
+        if (decodedString.text == null) {
+            GlyphLine glyphLine = new GlyphLine(decodedString.glyphs);
+            decodedString.text = glyphLine.toUnicodeString(glyphLine.start, glyphLine.end);
+        }
+        return decodedString.text;
+    }
+
+    /**
+     * Decodes all the strings of a text array, e.g. the operand of the TJ operator, in one pass
+     * with {@link #getDecodedText(PdfString)}.
+     *
+     * @param textArray the array of strings and positioning adjustments
+     * @return the array of the same length as the passed one, containing the decoded texts of
+     * the {@link PdfString} entries and null for all the other entries
+     */
+    public String[] getDecodedTexts(PdfArray textArray) {
+        String[] texts = new String[textArray.size()];
+        for (int i = 0; i < texts.length; i++) {
+            PdfObject entry = textArray.get(i);
+            if (entry instanceof PdfString) {
+                texts[i] = getDecodedText((PdfString) entry);
+            }
+        }
+        return texts;
+    }
+
+    /**
+     * Sets the maximum number of entries in the decode cache used by {@link #getDecodedGlyphLine(PdfString)}
+     * and {@link #getDecodedText(PdfString)}. The least recently used entries are evicted first.
+     *
+     * @param decodeCacheSize the maximum number of cached strings, 0 to disable caching
+     */
+    public void setDecodeCacheSize(int decodeCacheSize) {
+        this.decodeCacheSize = decodeCacheSize;
+        decodeCache = null;
+    }
+
+    /**
+     * Gets the maximum number of entries in the decode cache, see {@link #setDecodeCacheSize(int)}.
+     *
+     * @return the maximum number of cached strings
+     */
+    public int getDecodeCacheSize() {
+        return decodeCacheSize;
+    }
+
     public abstract byte[] convertToBytes(Glyph glyph);
 
     public abstract void writeText(GlyphLine text, int from, int to, PdfOutputStream stream);
@@ -365,6 +453,33 @@ public abstract class PdfFont extends PdfObjectWrapper<PdfDictionary> {
         return fontProgram;
     }
 
+    private DecodedString getDecodedString(PdfString content) {
+        // strings with an encoding are created by the user, not parsed, so their raw value is not a byte sequence
+        boolean cacheable = !newFont && decodeCacheSize > 0 && content.getEncoding() == null
+                && content.getValue().length() <= MAX_CACHED_STRING_LENGTH;
+        if (!cacheable) {
+            return new DecodedString(decodeIntoGlyphLine(content));
+        }
+        if (decodeCache == null) {
+            final int maxSize = decodeCacheSize;
+            decodeCache = new LinkedHashMap<String, DecodedString>(16, 0.75f, true) {
+                private static final long serialVersionUID = 2893719637129463219L;
+
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, DecodedString> eldest) {
+                    return size() > maxSize;
+                }
+            };
+        }
+        String key = content.getValue();
+        DecodedString decodedString = decodeCache.get(key);
+        if (decodedString == null) {
+            decodedString = new DecodedString(decodeIntoGlyphLine(content));
+            decodeCache.put(key, decodedString);
+        }
+        return decodedString;
+    }
+
     public boolean isEmbedded() {
         return embedded;
     }
@@ -576,4 +691,19 @@ public abstract class PdfFont extends PdfObjectWrapper<PdfDictionary> {
                 "fontProgram=" + fontProgram +
                 '}';
     }
+
+    /**
+     * The result of decoding of a string: its glyphs and, once requested, its unicode text.
+     */
+    private static class DecodedString {
+        final List<Glyph> glyphs;
+        String text;
+
+        DecodedString(GlyphLine glyphLine) {
+            this.glyphs = new ArrayList<>(glyphLine.end - glyphLine.start);
+            for (int i = glyphLine.start; i < glyphLine.end; i++) {
+                glyphs.add(glyphLine.get(i));
+            }
+        }
+    }
 }
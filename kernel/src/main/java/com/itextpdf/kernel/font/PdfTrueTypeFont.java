@@ -103,11 +103,15 @@ public class PdfTrueTypeFont extends PdfSimpleFont<TrueTypeFont> {
         if (fontEncoding.canEncode(unicode)) {
             Glyph glyph = getFontProgram().getGlyph(fontEncoding.getUnicodeDifference(unicode));
             //TODO TrueType what if font is specific?
-            if (glyph == null && (glyph = notdefGlyphs.get(unicode)) == null) {
-                Glyph notdef = getFontProgram().getGlyphByCode(0);
-                if (notdef != null) {
-                    glyph = new Glyph(getFontProgram().getGlyphByCode(0), unicode);
-                    notdefGlyphs.put(unicode, glyph);
+            if (glyph == null) {
+                synchronized (notdefGlyphs) {
+                    if ((glyph = notdefGlyphs.get(unicode)) == null) {
+                        Glyph notdef = getFontProgram().getGlyphByCode(0);
+                        if (notdef != null) {
+                            glyph = new Glyph(getFontProgram().getGlyphByCode(0), unicode);
+                            notdefGlyphs.put(unicode, glyph);
+                        }
+                    }
                 }
             }
             return glyph;
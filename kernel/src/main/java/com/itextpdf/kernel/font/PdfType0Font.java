@@ -56,6 +56,8 @@ import com.itextpdf.io.font.cmap.CMapContentParser;
 import com.itextpdf.io.font.cmap.CMapToUnicode;
 import com.itextpdf.io.font.otf.Glyph;
 import com.itextpdf.io.font.otf.GlyphLine;
+import com.itextpdf.io.source.ByteBuffer;
+import com.itextpdf.io.source.ByteUtils;
 import com.itextpdf.io.util.StreamUtil;
 import com.itextpdf.io.util.TextUtil;
 import com.itextpdf.kernel.PdfException;
@@ -88,6 +90,25 @@ public class PdfType0Font extends PdfFont {
 
     private static final byte[] rotbits = {(byte) 0x80, (byte) 0x40, (byte) 0x20, (byte) 0x10, (byte) 0x08, (byte) 0x04, (byte) 0x02, (byte) 0x01};
 
+    private static final byte[] TO_UNICODE_HEADER = ByteUtils.getIsoBytes("/CIDInit /ProcSet findresource begin\n" +
+            "12 dict begin\n" +
+            "begincmap\n" +
+            "/CIDSystemInfo\n" +
+            "<< /Registry (Adobe)\n" +
+            "/Ordering (UCS)\n" +
+            "/Supplement 0\n" +
+            ">> def\n" +
+            "/CMapName /Adobe-Identity-UCS def\n" +
+            "/CMapType 2 def\n" +
+            "1 begincodespacerange\n" +
+            "<0000><FFFF>\n" +
+            "endcodespacerange\n");
+    private static final byte[] TO_UNICODE_FOOTER = ByteUtils.getIsoBytes("endcmap\n" +
+            "CMapName currentdict /CMap defineresource pop\n" +
+            "end end\n");
+    private static final byte[] BEGIN_BF_RANGE = ByteUtils.getIsoBytes(" beginbfrange\n");
+    private static final byte[] END_BF_RANGE = ByteUtils.getIsoBytes("endbfrange\n");
+
     protected static final int CID_FONT_TYPE_0 = 0;
     protected static final int CID_FONT_TYPE_2 = 2;
 
@@ -215,16 +236,20 @@ public class PdfType0Font extends PdfFont {
     public Glyph getGlyph(int unicode) {
         // TODO handle unicode value with cmap and use only glyphByCode
         Glyph glyph = getFontProgram().getGlyph(unicode);
-        if (glyph == null && (glyph = notdefGlyphs.get(unicode)) == null) {
-            // Handle special layout characters like sfthyphen (00AD).
-            // This glyphs will be skipped while converting to bytes
-            Glyph notdef = getFontProgram().getGlyphByCode(0);
-            if (notdef != null) {
-                glyph = new Glyph(notdef, unicode);
-            } else {
-                glyph = new Glyph(-1, 0, unicode);
+        if (glyph == null) {
+            synchronized (notdefGlyphs) {
+                if ((glyph = notdefGlyphs.get(unicode)) == null) {
+                    // Handle special layout characters like sfthyphen (00AD).
+                    // This glyphs will be skipped while converting to bytes
+                    Glyph notdef = getFontProgram().getGlyphByCode(0);
+                    if (notdef != null) {
+                        glyph = new Glyph(notdef, unicode);
+                    } else {
+                        glyph = new Glyph(-1, 0, unicode);
+                    }
+                    notdefGlyphs.put(unicode, glyph);
+                }
             }
-            notdefGlyphs.put(unicode, glyph);
         }
         return glyph;
     }
@@ -601,54 +626,59 @@ public class PdfType0Font extends PdfFont {
      * @return the stream representing this CMap or <CODE>null</CODE>
      */
     public PdfStream getToUnicode(Object[] metrics) {
-        ArrayList<Integer> unicodeGlyphs = new ArrayList<>(metrics.length);
+        int[] unicodeGlyphs = new int[metrics.length];
+        int count = 0;
         for (int i = 0; i < metrics.length; i++) {
             int[] metric = (int[]) metrics[i];
             if (fontProgram.getGlyphByCode(metric[0]).getChars() != null) {
-                unicodeGlyphs.add(metric[0]);
+                unicodeGlyphs[count++] = metric[0];
             }
         }
-        if (unicodeGlyphs.size() == 0)
+        if (count == 0)
             return null;
-        StringBuilder buf = new StringBuilder(
-                "/CIDInit /ProcSet findresource begin\n" +
-                        "12 dict begin\n" +
-                        "begincmap\n" +
-                        "/CIDSystemInfo\n" +
-                        "<< /Registry (Adobe)\n" +
-                        "/Ordering (UCS)\n" +
-                        "/Supplement 0\n" +
-                        ">> def\n" +
-                        "/CMapName /Adobe-Identity-UCS def\n" +
-                        "/CMapType 2 def\n" +
-                        "1 begincodespacerange\n" +
-                        "<0000><FFFF>\n" +
-                        "endcodespacerange\n");
+        // runs of consecutive codes mapped to consecutive single characters share one bfrange entry,
+        // a range never crosses a boundary of the low byte, neither in codes nor in characters
+        int[] rangeStart = new int[count];
+        int[] rangeEnd = new int[count];
+        int ranges = 0;
+        int lastChar = -1;
+        for (int k = 0; k < count; ++k) {
+            int code = unicodeGlyphs[k];
+            char[] chars = fontProgram.getGlyphByCode(code).getChars();
+            int ch = chars.length == 1 ? chars[0] : -1;
+            if (ranges > 0 && lastChar != -1 && ch == lastChar + 1 && code == rangeEnd[ranges - 1] + 1
+                    && (code & 0xff) != 0 && (ch & 0xff) != 0 && code < 0x10000) {
+                rangeEnd[ranges - 1] = code;
+            } else {
+                rangeStart[ranges] = code;
+                rangeEnd[ranges] = code;
+                ++ranges;
+            }
+            lastChar = ch;
+        }
+        // every bfrange entry takes at least 16 bytes, glyphs outside of BMP and ligatures take more
+        ByteBuffer buf = new ByteBuffer(TO_UNICODE_HEADER.length + TO_UNICODE_FOOTER.length + ranges * 20 + (ranges / 100 + 1) * 32);
+        buf.append(TO_UNICODE_HEADER);
         int size = 0;
-        for (int k = 0; k < unicodeGlyphs.size(); ++k) {
+        for (int k = 0; k < ranges; ++k) {
             if (size == 0) {
                 if (k != 0) {
-                    buf.append("endbfrange\n");
+                    buf.append(END_BF_RANGE);
                 }
-                size = Math.min(100, unicodeGlyphs.size() - k);
-                buf.append(size).append(" beginbfrange\n");
+                size = Math.min(100, ranges - k);
+                buf.append(ByteUtils.getIsoBytes(size)).append(BEGIN_BF_RANGE);
             }
             --size;
-            String fromTo = CMapContentParser.toHex((int) unicodeGlyphs.get(k));
-            Glyph glyph = fontProgram.getGlyphByCode((int) unicodeGlyphs.get(k));
-            if (glyph.getChars() != null) {
-                StringBuilder uni = new StringBuilder(glyph.getChars().length);
-                for (char ch : glyph.getChars()) {
-                    uni.append(toHex4(ch));
-                }
-                buf.append(fromTo).append(fromTo).append('<').append(uni.toString()).append('>').append('\n');
+            appendHexCode(buf, rangeStart[k]);
+            appendHexCode(buf, rangeEnd[k]);
+            buf.append('<');
+            for (char ch : fontProgram.getGlyphByCode(rangeStart[k]).getChars()) {
+                appendHex4(buf, ch);
             }
+            buf.append('>').append('\n');
         }
-        buf.append("endbfrange\n" +
-                "endcmap\n" +
-                "CMapName currentdict /CMap defineresource pop\n" +
-                "end end\n");
-        PdfStream toUnicode = new PdfStream(PdfEncodings.convertToBytes(buf.toString(), null));
+        buf.append(END_BF_RANGE).append(TO_UNICODE_FOOTER);
+        PdfStream toUnicode = new PdfStream(buf.toByteArray());
         makeObjectIndirect(toUnicode);
         return toUnicode;
     }
@@ -702,28 +732,9 @@ public class PdfType0Font extends PdfFont {
         cidFont.put(PdfName.CIDSystemInfo, cidInfo);
         if (!vertical) {
             cidFont.put(PdfName.DW, new PdfNumber(FontProgram.DEFAULT_WIDTH));
-            StringBuilder buf = new StringBuilder("[");
-            int lastNumber = -10;
-            boolean firstTime = true;
-            for (int[] metric : metrics) {
-                Glyph glyph = fontProgram.getGlyphByCode(metric[0]);
-                if (glyph.getWidth() == FontProgram.DEFAULT_WIDTH) {
-                    continue;
-                }
-                if (glyph.getCode() == lastNumber + 1) {
-                    buf.append(' ').append(glyph.getWidth());
-                } else {
-                    if (!firstTime) {
-                        buf.append(']');
-                    }
-                    firstTime = false;
-                    buf.append(glyph.getCode()).append('[').append(glyph.getWidth());
-                }
-                lastNumber = glyph.getCode();
-            }
-            if (buf.length() > 1) {
-                buf.append("]]");
-                cidFont.put(PdfName.W, new PdfLiteral(buf.toString()));
+            PdfLiteral widths = getWidthsArray(metrics);
+            if (widths != null) {
+                cidFont.put(PdfName.W, widths);
             }
         } else {
             throw new UnsupportedOperationException("Vertical writing has not implemented yet.");
@@ -765,10 +776,61 @@ public class PdfType0Font extends PdfFont {
         return cidinfo.containsKey(PdfName.Ordering) ? cidinfo.get(PdfName.Ordering).toString() : null;
     }
 
-    //TODO optimize memory usage
-    private static String toHex4(char ch) {
-        String s = "0000" + Integer.toHexString(ch);
-        return s.substring(s.length() - 4);
+    /**
+     * Writes the /W array of the CIDFont directly into bytes. Runs of consecutive CIDs
+     * share a single {@code c [w1 w2 ...]} entry; glyphs with the default width are omitted.
+     *
+     * @param metrics the horizontal width metrics sorted by glyph code
+     * @return the /W array or {@code null} if all glyphs have the default width
+     */
+    private PdfLiteral getWidthsArray(int[][] metrics) {
+        ByteBuffer buf = new ByteBuffer(metrics.length * 5 + 16);
+        buf.append('[');
+        int lastNumber = -10;
+        boolean firstTime = true;
+        for (int[] metric : metrics) {
+            Glyph glyph = fontProgram.getGlyphByCode(metric[0]);
+            if (glyph.getWidth() == FontProgram.DEFAULT_WIDTH) {
+                continue;
+            }
+            if (glyph.getCode() == lastNumber + 1) {
+                buf.append(' ').append(ByteUtils.getIsoBytes(glyph.getWidth()));
+            } else {
+                if (!firstTime) {
+                    buf.append(']');
+                }
+                firstTime = false;
+                buf.append(ByteUtils.getIsoBytes(glyph.getCode())).append('[').append(ByteUtils.getIsoBytes(glyph.getWidth()));
+            }
+            lastNumber = glyph.getCode();
+        }
+        if (buf.size() > 1) {
+            buf.append(']').append(']');
+            return new PdfLiteral(buf.toByteArray());
+        }
+        return null;
+    }
+
+    /**
+     * Writes a code in the "&lt;HHHH&gt;" form, codes outside of BMP are written as a surrogate pair,
+     * the same way as {@link CMapContentParser#toHex(int)} does.
+     */
+    private static void appendHexCode(ByteBuffer buf, int n) {
+        if (n < 0x10000) {
+            buf.append('<');
+            appendHex4(buf, n);
+            buf.append('>');
+        } else {
+            n -= 0x10000;
+            buf.append('[').append('<');
+            appendHex4(buf, n / 0x400 + 0xd800);
+            appendHex4(buf, n % 0x400 + 0xdc00);
+            buf.append('>').append(']');
+        }
+    }
+
+    private static void appendHex4(ByteBuffer buf, int n) {
+        buf.appendHex((byte) (n >> 8)).appendHex((byte) n);
     }
 
     private void flushFontData() {
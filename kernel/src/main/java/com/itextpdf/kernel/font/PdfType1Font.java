@@ -115,11 +115,15 @@ public class PdfType1Font extends PdfSimpleFont<Type1Font> {
                 glyph = getFontProgram().getGlyphByCode(unicode);
             } else {
                 glyph = getFontProgram().getGlyph(fontEncoding.getUnicodeDifference(unicode));
-                if (glyph == null && (glyph = notdefGlyphs.get(unicode)) == null) {
-                    // Handle special layout characters like sfthyphen (00AD).
-                    // This glyphs will be skipped while converting to bytes
-                    glyph = new Glyph(-1, 0, unicode);
-                    notdefGlyphs.put(unicode, glyph);
+                if (glyph == null) {
+                    synchronized (notdefGlyphs) {
+                        if ((glyph = notdefGlyphs.get(unicode)) == null) {
+                            // Handle special layout characters like sfthyphen (00AD).
+                            // This glyphs will be skipped while converting to bytes
+                            glyph = new Glyph(-1, 0, unicode);
+                            notdefGlyphs.put(unicode, glyph);
+                        }
+                    }
                 }
             }
             return glyph;
@@ -97,6 +97,17 @@ public class PdfLiteral extends PdfPrimitiveObject {
         return content.length;
     }
 
+    /**
+     * Gets a single byte of the literal content. Allows inspecting short literals,
+     * like content stream operators, without creating a {@link String}.
+     *
+     * @param index the index of the byte
+     * @return the byte at the specified index
+     */
+    public byte getByteAt(int index) {
+        return content[index];
+    }
+
     @Override
     protected void generateContent() {
 
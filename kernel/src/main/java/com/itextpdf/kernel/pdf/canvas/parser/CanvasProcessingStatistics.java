@@ -0,0 +1,342 @@
+/*
+
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2017 iText Group NV
+    Authors: Bruno Lowagie, Paulo Soares, et al.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.kernel.pdf.canvas.parser;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Collects statistics about the processing of content streams by a {@link PdfCanvasProcessor}:
+ * per-operator invocation counts and times, XObject invocations and nesting depth,
+ * font loading and inline image parsing.
+ * <br>
+ * Statistics collection is opt-in, see {@link PdfCanvasProcessor#setStatistics(CanvasProcessingStatistics)}.
+ * The same instance may be used for several pages, or the statistics of several pages
+ * can be combined with {@link #merge(CanvasProcessingStatistics)}.
+ * <br>
+ * All times are measured in nanoseconds. The time of an operator is its own time, i.e. the time spent
+ * in the operators of a nested form XObject is attributed to those operators and not to the <code>Do</code>
+ * operator which invoked them. The XObject time is the full time spent in the outermost XObjects.
+ */
+public class CanvasProcessingStatistics {
+
+    private Map<String, OperatorStatistics> operatorStatistics = new LinkedHashMap<>();
+
+    private long xObjectCount;
+    private long xObjectTime;
+    private int maxXObjectDepth;
+
+    private long fontLoadCount;
+    private long fontLoadTime;
+
+    private long inlineImageCount;
+    private long inlineImageTime;
+
+    /**
+     * Records a single invocation of a content stream operator.
+     *
+     * @param operator the operator string
+     * @param time     the time spent in the operator itself, in nanoseconds
+     */
+    public void recordOperator(String operator, long time) {
+        OperatorStatistics statistics = operatorStatistics.get(operator);
+        if (statistics == null) {
+            statistics = new OperatorStatistics(operator);
+            operatorStatistics.put(operator, statistics);
+        }
+        statistics.record(1, time);
+    }
+
+    /**
+     * Records a single XObject invocation.
+     *
+     * @param depth the nesting depth of the XObject, 1 for the XObjects invoked directly from the processed content stream
+     * @param time  the time spent processing the XObject, in nanoseconds
+     */
+    public void recordXObject(int depth, long time) {
+        xObjectCount++;
+        if (depth == 1) {
+            xObjectTime += time;
+        }
+        maxXObjectDepth = Math.max(maxXObjectDepth, depth);
+    }
+
+    /**
+     * Records a font load.
+     *
+     * @param time the time spent creating the font, in nanoseconds
+     */
+    public void recordFontLoad(long time) {
+        fontLoadCount++;
+        fontLoadTime += time;
+    }
+
+    /**
+     * Records parsing of an inline image.
+     *
+     * @param time the time spent parsing the inline image, in nanoseconds
+     */
+    public void recordInlineImage(long time) {
+        inlineImageCount++;
+        inlineImageTime += time;
+    }
+
+    /**
+     * Adds all the statistics collected by another instance to this one.
+     *
+     * @param other the statistics to add
+     * @return this instance
+     */
+    public CanvasProcessingStatistics merge(CanvasProcessingStatistics other) {
+        for (OperatorStatistics otherStatistics : other.operatorStatistics.values()) {
+            OperatorStatistics statistics = operatorStatistics.get(otherStatistics.getOperator());
+            if (statistics == null) {
+                statistics = new OperatorStatistics(otherStatistics.getOperator());
+                operatorStatistics.put(otherStatistics.getOperator(), statistics);
+            }
+            statistics.record(otherStatistics.getCount(), otherStatistics.getTime());
+        }
+        xObjectCount += other.xObjectCount;
+        xObjectTime += other.xObjectTime;
+        maxXObjectDepth = Math.max(maxXObjectDepth, other.maxXObjectDepth);
+        fontLoadCount += other.fontLoadCount;
+        fontLoadTime += other.fontLoadTime;
+        inlineImageCount += other.inlineImageCount;
+        inlineImageTime += other.inlineImageTime;
+        return this;
+    }
+
+    /**
+     * Gets the statistics of the specified operator.
+     *
+     * @param operator the operator string
+     * @return the statistics of the operator, or null if the operator was never invoked
+     */
+    public OperatorStatistics getOperatorStatistics(String operator) {
+        return operatorStatistics.get(operator);
+    }
+
+    /**
+     * Gets the statistics of all invoked operators, sorted by the time spent in them, descending.
+     *
+     * @return the list of operator statistics
+     */
+    public List<OperatorStatistics> getOperatorStatistics() {
+        List<OperatorStatistics> result = new ArrayList<>(operatorStatistics.values());
+        Collections.sort(result, new Comparator<OperatorStatistics>() {
+            @Override
+            public int compare(OperatorStatistics o1, OperatorStatistics o2) {
+                return Long.compare(o2.getTime(), o1.getTime());
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Gets the total number of operator invocations.
+     *
+     * @return the number of operator invocations
+     */
+    public long getOperatorCount() {
+        long count = 0;
+        for (OperatorStatistics statistics : operatorStatistics.values()) {
+            count += statistics.getCount();
+        }
+        return count;
+    }
+
+    /**
+     * Gets the total time spent in the operators, in nanoseconds.
+     *
+     * @return the operators time
+     */
+    public long getOperatorTime() {
+        long time = 0;
+        for (OperatorStatistics statistics : operatorStatistics.values()) {
+            time += statistics.getTime();
+        }
+        return time;
+    }
+
+    /**
+     * Gets the number of XObject invocations, including the nested ones.
+     *
+     * @return the number of XObject invocations
+     */
+    public long getXObjectCount() {
+        return xObjectCount;
+    }
+
+    /**
+     * Gets the time spent processing XObjects, in nanoseconds.
+     *
+     * @return the XObjects time
+     */
+    public long getXObjectTime() {
+        return xObjectTime;
+    }
+
+    /**
+     * Gets the maximum XObject nesting depth.
+     *
+     * @return the maximum XObject nesting depth, 0 if no XObject was invoked
+     */
+    public int getMaxXObjectDepth() {
+        return maxXObjectDepth;
+    }
+
+    /**
+     * Gets the number of loaded fonts.
+     *
+     * @return the number of loaded fonts
+     */
+    public long getFontLoadCount() {
+        return fontLoadCount;
+    }
+
+    /**
+     * Gets the time spent loading fonts, in nanoseconds.
+     *
+     * @return the font load time
+     */
+    public long getFontLoadTime() {
+        return fontLoadTime;
+    }
+
+    /**
+     * Gets the number of parsed inline images.
+     *
+     * @return the number of inline images
+     */
+    public long getInlineImageCount() {
+        return inlineImageCount;
+    }
+
+    /**
+     * Gets the time spent parsing inline images, in nanoseconds.
+     *
+     * @return the inline images time
+     */
+    public long getInlineImageTime() {
+        return inlineImageTime;
+    }
+
+    /**
+     * Creates a human readable report of the collected statistics.
+     *
+     * @return the report
+     */
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("Operators: ").append(getOperatorCount()).append(" invocations, ")
+                .append(toMillis(getOperatorTime())).append(" ms\n");
+        for (OperatorStatistics statistics : getOperatorStatistics()) {
+            sb.append("  ").append(statistics).append('\n');
+        }
+        sb.append("XObjects: ").append(xObjectCount).append(" invocations, max depth ").append(maxXObjectDepth)
+                .append(", ").append(toMillis(xObjectTime)).append(" ms\n");
+        sb.append("Fonts: ").append(fontLoadCount).append(" loaded, ").append(toMillis(fontLoadTime)).append(" ms\n");
+        sb.append("Inline images: ").append(inlineImageCount).append(" parsed, ").append(toMillis(inlineImageTime)).append(" ms\n");
+        return sb.toString();
+    }
+
+    static double toMillis(long nanos) {
+        return Math.round(nanos / 1000d) / 1000d;
+    }
+
+    /**
+     * Statistics of a single content stream operator.
+     */
+    public static class OperatorStatistics {
+        private final String operator;
+        private long count;
+        private long time;
+
+        OperatorStatistics(String operator) {
+            this.operator = operator;
+        }
+
+        /**
+         * Gets the operator string.
+         *
+         * @return the operator string
+         */
+        public String getOperator() {
+            return operator;
+        }
+
+        /**
+         * Gets the number of invocations of the operator.
+         *
+         * @return the number of invocations
+         */
+        public long getCount() {
+            return count;
+        }
+
+        /**
+         * Gets the time spent in the operator, in nanoseconds.
+         *
+         * @return the operator time
+         */
+        public long getTime() {
+            return time;
+        }
+
+        @Override
+        public String toString() {
+            return operator + ": " + count + " invocations, " + toMillis(time) + " ms";
+        }
+
+        void record(long count, long time) {
+            this.count += count;
+            this.time += time;
+        }
+    }
+}
@@ -0,0 +1,207 @@
+/*
+
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2017 iText Group NV
+    Authors: Bruno Lowagie, Paulo Soares, et al.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.kernel.pdf.canvas.parser;
+
+import com.itextpdf.kernel.pdf.PdfLiteral;
+
+import java.util.Map;
+
+/**
+ * A dense dispatch table which resolves content stream operators of up to three bytes,
+ * i.e. all operators defined by the PDF specification, directly from the bytes of the operator
+ * {@link PdfLiteral}, without creating an operator {@link String} and looking it up in a map.
+ * <br>
+ * The operator bytes are packed into an int key which is mapped to a table slot by a multiplicative hash.
+ * The multiplier and the table size are chosen when the table is built so that there are no collisions
+ * between the registered operators, i.e. the hash is perfect for the registered set of operators.
+ */
+final class ContentOperatorDispatchTable {
+
+    static final int MAX_KEYWORD_LENGTH = 3;
+
+    private static final int MIN_TABLE_BITS = 6;
+    private static final int MAX_TABLE_BITS = 14;
+    private static final int MULTIPLIER_ATTEMPTS = 256;
+
+    private int[] keys;
+    private IContentOperator[] operators;
+    private int multiplier;
+    private int shift;
+    // the registered operators, if no perfect hash has been found for them
+    private Map<String, IContentOperator> fallbackOperators;
+
+    /**
+     * Builds the table for the operators of the specified map which are short enough
+     * to be packed into a key. The other operators are not contained in the table.
+     *
+     * @param operatorsMap the registered operators
+     */
+    ContentOperatorDispatchTable(Map<String, IContentOperator> operatorsMap) {
+        int count = 0;
+        int[] packedKeys = new int[operatorsMap.size()];
+        IContentOperator[] packedOperators = new IContentOperator[operatorsMap.size()];
+        for (Map.Entry<String, IContentOperator> entry : operatorsMap.entrySet()) {
+            int key = packKeyword(entry.getKey());
+            if (key != 0) {
+                packedKeys[count] = key;
+                packedOperators[count] = entry.getValue();
+                count++;
+            }
+        }
+
+        int bits = MIN_TABLE_BITS;
+        while ((1 << bits) < count * 2) {
+            bits++;
+        }
+        for (; bits <= MAX_TABLE_BITS; bits++) {
+            int candidate = 0x9E3779B1;
+            for (int attempt = 0; attempt < MULTIPLIER_ATTEMPTS; attempt++) {
+                if (tryBuild(packedKeys, packedOperators, count, candidate, bits)) {
+                    return;
+                }
+                // next odd pseudo-random multiplier
+                candidate = (candidate * 0x2C1B3C6D + 0x297A2D39) | 1;
+            }
+        }
+        // Practically unreachable for keys of up to three bytes; the table stays empty and
+        // the operators are looked up in the map.
+        keys = new int[1];
+        operators = new IContentOperator[1];
+        multiplier = 0;
+        shift = 31;
+        fallbackOperators = operatorsMap;
+    }
+
+    /**
+     * Gets the operator registered for the specified operator literal.
+     *
+     * @param operator the operator literal
+     * @return the registered operator, or null if the operator is not in the table
+     */
+    IContentOperator get(PdfLiteral operator) {
+        int key = packKeyword(operator);
+        if (key == 0) {
+            return null;
+        }
+        if (fallbackOperators != null) {
+            return fallbackOperators.get(operator.toString());
+        }
+        int index = (key * multiplier) >>> shift;
+        return keys[index] == key ? operators[index] : null;
+    }
+
+    /**
+     * Checks whether the operator can be resolved by the table, i.e. whether it consists of
+     * one to {@link #MAX_KEYWORD_LENGTH} ASCII bytes. If it can and {@link #get(PdfLiteral)} returns null,
+     * the operator is not registered at all.
+     *
+     * @param operator the operator literal
+     * @return true if the operator can be contained in the table
+     */
+    static boolean isPackable(PdfLiteral operator) {
+        int length = operator.getBytesCount();
+        if (length == 0 || length > MAX_KEYWORD_LENGTH) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if ((operator.getByteAt(i) & 0x80) != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean tryBuild(int[] packedKeys, IContentOperator[] packedOperators, int count, int candidate, int bits) {
+        int size = 1 << bits;
+        int candidateShift = 32 - bits;
+        int[] candidateKeys = new int[size];
+        IContentOperator[] candidateOperators = new IContentOperator[size];
+        for (int i = 0; i < count; i++) {
+            int index = (packedKeys[i] * candidate) >>> candidateShift;
+            if (candidateKeys[index] != 0) {
+                return false;
+            }
+            candidateKeys[index] = packedKeys[i];
+            candidateOperators[index] = packedOperators[i];
+        }
+        keys = candidateKeys;
+        operators = candidateOperators;
+        multiplier = candidate;
+        shift = candidateShift;
+        return true;
+    }
+
+    /**
+     * Packs the bytes and the length of the operator into a non-zero int key.
+     *
+     * @return the key, or 0 if the operator is not {@link #isPackable(PdfLiteral) packable}
+     */
+    private static int packKeyword(PdfLiteral operator) {
+        if (!isPackable(operator)) {
+            return 0;
+        }
+        int length = operator.getBytesCount();
+        int key = length << 24;
+        for (int i = 0; i < length; i++) {
+            key |= (operator.getByteAt(i) & 0xff) << (i * 8);
+        }
+        return key;
+    }
+
+    private static int packKeyword(String operator) {
+        int length = operator.length();
+        if (length == 0 || length > MAX_KEYWORD_LENGTH) {
+            return 0;
+        }
+        int key = length << 24;
+        for (int i = 0; i < length; i++) {
+            char ch = operator.charAt(i);
+            if (ch >= 0x80) {
+                return 0;
+            }
+            key |= ch << (i * 8);
+        }
+        return key;
+    }
+}
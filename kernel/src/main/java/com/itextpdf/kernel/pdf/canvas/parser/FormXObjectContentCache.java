@@ -0,0 +1,208 @@
+/*
+
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2017 iText Group NV
+    Authors: Bruno Lowagie, Paulo Soares, et al.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.kernel.pdf.canvas.parser;
+
+import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfIndirectReference;
+import com.itextpdf.kernel.pdf.PdfObject;
+import com.itextpdf.kernel.pdf.PdfStream;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A cache of decoded and tokenized content of form XObjects.
+ * <br>
+ * When a {@link PdfCanvasProcessor} has a cache set (see {@link PdfCanvasProcessor#setFormXObjectContentCache(FormXObjectContentCache)}),
+ * the content of each indirect form XObject is decoded and parsed only once, and repeated invocations of the
+ * same form XObject, e.g. a logo or a letterhead which is drawn on every page, replay the cached operators
+ * under the current graphics state.
+ * <br>
+ * The cache is bounded by an approximate memory budget; the least recently used entries are evicted first.
+ * Content which alone exceeds the budget is never cached. A cache may be shared by the processors of several
+ * pages of the same document, but it is not thread-safe.
+ */
+public class FormXObjectContentCache {
+
+    /**
+     * The default memory budget of the cache, in bytes.
+     */
+    public static final long DEFAULT_MAX_SIZE = 16 * 1024 * 1024;
+
+    /**
+     * The approximate memory footprint of a parsed content stream object, in bytes.
+     */
+    private static final int PARSED_OBJECT_SIZE = 32;
+
+    private final long maxSize;
+    private long size;
+    private long hitCount;
+    private long missCount;
+
+    private final LinkedHashMap<PdfIndirectReference, CacheEntry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    /**
+     * Creates a cache with the {@link #DEFAULT_MAX_SIZE default} memory budget.
+     */
+    public FormXObjectContentCache() {
+        this(DEFAULT_MAX_SIZE);
+    }
+
+    /**
+     * Creates a cache with the specified memory budget.
+     *
+     * @param maxSize the approximate maximum memory footprint of the cached content, in bytes
+     */
+    public FormXObjectContentCache(long maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Gets the memory budget of the cache.
+     *
+     * @return the approximate maximum memory footprint of the cached content, in bytes
+     */
+    public long getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * Gets the approximate memory footprint of the currently cached content.
+     *
+     * @return the size of the cached content, in bytes
+     */
+    public long getSize() {
+        return size;
+    }
+
+    /**
+     * Gets the number of form XObject invocations which were served from the cache.
+     *
+     * @return the number of cache hits
+     */
+    public long getHitCount() {
+        return hitCount;
+    }
+
+    /**
+     * Gets the number of form XObject invocations which required parsing of the form XObject content.
+     *
+     * @return the number of cache misses
+     */
+    public long getMissCount() {
+        return missCount;
+    }
+
+    /**
+     * Removes all the cached content.
+     */
+    public void clear() {
+        entries.clear();
+        size = 0;
+    }
+
+    /**
+     * Gets the cached content of the form XObject.
+     *
+     * @param stream the form XObject stream
+     * @return the list of the parsed operations, each consisting of the operands followed by the operator,
+     * or null if the content is not cached
+     */
+    List<List<PdfObject>> get(PdfStream stream) {
+        PdfIndirectReference reference = stream.getIndirectReference();
+        CacheEntry entry = reference != null ? entries.get(reference) : null;
+        if (entry == null || entry.document != reference.getDocument()) {
+            missCount++;
+            return null;
+        }
+        hitCount++;
+        return entry.content;
+    }
+
+    /**
+     * Caches the parsed content of the form XObject, evicting the least recently used entries if needed.
+     *
+     * @param stream        the form XObject stream
+     * @param content       the list of the parsed operations
+     * @param contentLength the length of the decoded content stream
+     */
+    void put(PdfStream stream, List<List<PdfObject>> content, int contentLength) {
+        PdfIndirectReference reference = stream.getIndirectReference();
+        if (reference == null) {
+            return;
+        }
+        long entrySize = contentLength;
+        for (List<PdfObject> operation : content) {
+            entrySize += (long) operation.size() * PARSED_OBJECT_SIZE;
+        }
+        if (entrySize > maxSize) {
+            return;
+        }
+        CacheEntry previous = entries.put(reference, new CacheEntry(reference.getDocument(), content, entrySize));
+        if (previous != null) {
+            size -= previous.size;
+        }
+        size += entrySize;
+
+        Iterator<Map.Entry<PdfIndirectReference, CacheEntry>> iterator = entries.entrySet().iterator();
+        while (size > maxSize && iterator.hasNext()) {
+            size -= iterator.next().getValue().size;
+            iterator.remove();
+        }
+    }
+
+    private static class CacheEntry {
+        final PdfDocument document;
+        final List<List<PdfObject>> content;
+        final long size;
+
+        CacheEntry(PdfDocument document, List<List<PdfObject>> content, long size) {
+            this.document = document;
+            this.content = content;
+            this.size = size;
+        }
+    }
+}
@@ -51,6 +51,7 @@ import com.itextpdf.kernel.geom.NoninvertibleTransformException;
 import com.itextpdf.kernel.geom.Path;
 import com.itextpdf.kernel.geom.Point;
 import com.itextpdf.kernel.geom.IShape;
+import com.itextpdf.kernel.geom.Rectangle;
 import com.itextpdf.kernel.geom.Subpath;
 import com.itextpdf.kernel.pdf.canvas.parser.clipper.IClipper;
 import com.itextpdf.kernel.pdf.canvas.parser.clipper.ClipperBridge;
@@ -58,6 +59,9 @@ import com.itextpdf.kernel.pdf.canvas.parser.clipper.DefaultClipper;
 import com.itextpdf.kernel.pdf.canvas.parser.clipper.PolyTree;
 import com.itextpdf.kernel.pdf.canvas.CanvasGraphicsState;
 import com.itextpdf.kernel.pdf.canvas.PdfCanvasConstants;
+
+import java.io.Serializable;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 
@@ -70,6 +74,18 @@ public class ParserGraphicsState extends CanvasGraphicsState {
     // NOTE: From the spec default value of this field should be the boundary of the entire imageable portion of the output page.
     private Path clippingPath;
 
+    /**
+     * Indicates whether intersections of the clipping path with the clipping paths added by
+     * {@link #clip(Path, int)} are postponed until the clipping path is requested.
+     */
+    private boolean lazyClipping;
+
+    /**
+     * The clipping paths which are still to be intersected with {@link #clippingPath}, in lazy clipping mode.
+     * The paths are in the same user space as the clipping path. Null if there are no such paths.
+     */
+    private List<PendingClip> pendingClips;
+
     /**
      * Internal empty & default constructor.
      */
@@ -87,6 +103,34 @@ public class ParserGraphicsState extends CanvasGraphicsState {
         if (source.clippingPath != null) {
             clippingPath = new Path(source.clippingPath);
         }
+        lazyClipping = source.lazyClipping;
+        if (source.pendingClips != null) {
+            pendingClips = new ArrayList<>(source.pendingClips);
+        }
+    }
+
+    /**
+     * Enables or disables lazy clipping. In lazy clipping mode, {@link #clip(Path, int)} doesn't calculate
+     * the intersection of the clipping paths right away; it's calculated on the first {@link #getClippingPath()}
+     * call instead, so it's never calculated if nobody requests the clipping path.
+     * Intersections of axis-aligned rectangles are cheap and are always calculated right away.
+     *
+     * @param lazyClipping true to enable lazy clipping
+     */
+    public void setLazyClipping(boolean lazyClipping) {
+        this.lazyClipping = lazyClipping;
+        if (!lazyClipping) {
+            resolvePendingClips();
+        }
+    }
+
+    /**
+     * Checks whether lazy clipping is enabled, see {@link #setLazyClipping(boolean)}.
+     *
+     * @return true if lazy clipping is enabled
+     */
+    public boolean isLazyClipping() {
+        return lazyClipping;
     }
 
     /**
@@ -100,6 +144,7 @@ public class ParserGraphicsState extends CanvasGraphicsState {
         Path pathCopy = new Path(clippingPath);
         pathCopy.closeAllSubpaths();
         this.clippingPath = pathCopy;
+        this.pendingClips = null;
     }
 
     @Override
@@ -129,14 +174,22 @@ public class ParserGraphicsState extends CanvasGraphicsState {
         Path pathCopy = new Path(path);
         pathCopy.closeAllSubpaths();
 
-        IClipper clipper = new DefaultClipper();
-        ClipperBridge.addPath(clipper, clippingPath, IClipper.PolyType.SUBJECT);
-        ClipperBridge.addPath(clipper, pathCopy, IClipper.PolyType.CLIP);
-
-        PolyTree resultTree = new PolyTree();
-        clipper.execute(IClipper.ClipType.INTERSECTION, resultTree, IClipper.PolyFillType.NON_ZERO, ClipperBridge.getFillType(fillingRule));
+        if (pendingClips == null) {
+            Path intersection = intersectRectangles(clippingPath, pathCopy);
+            if (intersection != null) {
+                clippingPath = intersection;
+                return;
+            }
+        }
 
-        clippingPath = ClipperBridge.convertToPath(resultTree);
+        if (lazyClipping) {
+            if (pendingClips == null) {
+                pendingClips = new ArrayList<>();
+            }
+            pendingClips.add(new PendingClip(pathCopy, fillingRule));
+        } else {
+            clippingPath = intersect(clippingPath, pathCopy, fillingRule);
+        }
     }
 
     /**
@@ -147,28 +200,160 @@ public class ParserGraphicsState extends CanvasGraphicsState {
      * @return The current clipping path.
      */
     public Path getClippingPath() {
+        resolvePendingClips();
         return clippingPath;
     }
 
+    private void resolvePendingClips() {
+        if (pendingClips == null) {
+            return;
+        }
+        for (PendingClip pendingClip : pendingClips) {
+            if (clippingPath.isEmpty()) {
+                break;
+            }
+            Path intersection = intersectRectangles(clippingPath, pendingClip.path);
+            clippingPath = intersection != null ? intersection : intersect(clippingPath, pendingClip.path, pendingClip.fillingRule);
+        }
+        pendingClips = null;
+    }
+
+    private static Path intersect(Path subjectPath, Path clipPath, int fillingRule) {
+        IClipper clipper = new DefaultClipper();
+        ClipperBridge.addPath(clipper, subjectPath, IClipper.PolyType.SUBJECT);
+        ClipperBridge.addPath(clipper, clipPath, IClipper.PolyType.CLIP);
+
+        PolyTree resultTree = new PolyTree();
+        clipper.execute(IClipper.ClipType.INTERSECTION, resultTree, IClipper.PolyFillType.NON_ZERO, ClipperBridge.getFillType(fillingRule));
+
+        return ClipperBridge.convertToPath(resultTree);
+    }
+
+    /**
+     * Calculates the intersection of two paths if both of them are axis-aligned rectangles,
+     * which is much cheaper than the general polygon clipping.
+     *
+     * @return the intersection, or null if at least one of the paths is not an axis-aligned rectangle
+     */
+    private static Path intersectRectangles(Path path1, Path path2) {
+        Rectangle rect1 = getAxisAlignedRectangle(path1);
+        if (rect1 == null) {
+            return null;
+        }
+        Rectangle rect2 = getAxisAlignedRectangle(path2);
+        if (rect2 == null) {
+            return null;
+        }
+        Path intersection = new Path();
+        float left = Math.max(rect1.getLeft(), rect2.getLeft());
+        float right = Math.min(rect1.getRight(), rect2.getRight());
+        float bottom = Math.max(rect1.getBottom(), rect2.getBottom());
+        float top = Math.min(rect1.getTop(), rect2.getTop());
+        if (left < right && bottom < top) {
+            intersection.moveTo(left, bottom);
+            intersection.lineTo(right, bottom);
+            intersection.lineTo(right, top);
+            intersection.lineTo(left, top);
+            intersection.closeAllSubpaths();
+        }
+        return intersection;
+    }
+
+    /**
+     * Gets the rectangle which the path consists of, if the path consists of a single axis-aligned rectangle
+     * made of straight lines, not taking single point subpaths into account.
+     *
+     * @return the rectangle, or null if the path is not an axis-aligned rectangle
+     */
+    private static Rectangle getAxisAlignedRectangle(Path path) {
+        Subpath rectangleSubpath = null;
+        for (Subpath subpath : path.getSubpaths()) {
+            if (subpath.isSinglePointClosed() || subpath.isSinglePointOpen()) {
+                continue;
+            }
+            if (rectangleSubpath != null) {
+                return null;
+            }
+            rectangleSubpath = subpath;
+        }
+        if (rectangleSubpath == null) {
+            return null;
+        }
+
+        // collect the vertices, skipping zero length segments and the segment which returns to the start point
+        double[] x = new double[4];
+        double[] y = new double[4];
+        int count = 1;
+        x[0] = rectangleSubpath.getStartPoint().getX();
+        y[0] = rectangleSubpath.getStartPoint().getY();
+        List<IShape> segments = rectangleSubpath.getSegments();
+        for (int i = 0; i < segments.size(); i++) {
+            IShape segment = segments.get(i);
+            if (!(segment instanceof Line)) {
+                return null;
+            }
+            Point end = segment.getBasePoints().get(1);
+            if (end.getX() == x[count - 1] && end.getY() == y[count - 1]
+                    || i == segments.size() - 1 && end.getX() == x[0] && end.getY() == y[0]) {
+                continue;
+            }
+            if (count == 4) {
+                return null;
+            }
+            x[count] = end.getX();
+            y[count] = end.getY();
+            count++;
+        }
+        if (count != 4) {
+            return null;
+        }
+
+        // the edges must be alternately horizontal and vertical
+        boolean firstHorizontal = y[0] == y[1];
+        for (int i = 0; i < 4; i++) {
+            int next = (i + 1) % 4;
+            boolean horizontal = y[i] == y[next];
+            boolean vertical = x[i] == x[next];
+            if (horizontal == vertical || horizontal != (firstHorizontal == (i % 2 == 0))) {
+                return null;
+            }
+        }
+        float left = (float) Math.min(x[0], x[2]);
+        float bottom = (float) Math.min(y[0], y[2]);
+        return new Rectangle(left, bottom, (float) Math.max(x[0], x[2]) - left, (float) Math.max(y[0], y[2]) - bottom);
+    }
+
     private void transformClippingPath(Matrix newCtm) {
+        clippingPath = transformPath(clippingPath, newCtm);
+        if (pendingClips != null) {
+            List<PendingClip> transformedClips = new ArrayList<>(pendingClips.size());
+            for (PendingClip pendingClip : pendingClips) {
+                transformedClips.add(new PendingClip(transformPath(pendingClip.path, newCtm), pendingClip.fillingRule));
+            }
+            pendingClips = transformedClips;
+        }
+    }
+
+    private Path transformPath(Path source, Matrix newCtm) {
         Path path = new Path();
 
-        for (Subpath subpath : clippingPath.getSubpaths()) {
+        for (Subpath subpath : source.getSubpaths()) {
             Subpath transformedSubpath = transformSubpath(subpath, newCtm);
             path.addSubpath(transformedSubpath);
         }
 
-        clippingPath = path;
+        return path;
     }
 
     private Subpath transformSubpath(Subpath subpath, Matrix newCtm) {
         Subpath newSubpath = new Subpath();
-        newSubpath.setClosed(subpath.isClosed());
 
         for (IShape segment : subpath.getSegments()) {
             IShape transformedSegment = transformSegment(segment, newCtm);
             newSubpath.addSegment(transformedSegment);
         }
+        // segments are not added to closed subpaths, so the subpath is closed only after all of them are added
+        newSubpath.setClosed(subpath.isClosed());
 
         return newSubpath;
     }
@@ -205,4 +390,19 @@ public class ParserGraphicsState extends CanvasGraphicsState {
             throw new RuntimeException(e.getMessage(), e);
         }
     }
+
+    /**
+     * A clipping path which is still to be intersected with the current clipping path.
+     */
+    private static class PendingClip implements Serializable {
+        private static final long serialVersionUID = -2934012547283412683L;
+
+        final Path path;
+        final int fillingRule;
+
+        PendingClip(Path path, int fillingRule) {
+            this.path = path;
+            this.fillingRule = fillingRule;
+        }
+    }
 }
@@ -135,6 +135,12 @@ public class PdfCanvasProcessor {
      */
     private Map<String, IContentOperator> operators;
 
+    /**
+     * A dispatch table which resolves the registered operators directly from the operator bytes.
+     * It is built lazily and discarded whenever the registered operators change.
+     */
+    private ContentOperatorDispatchTable operatorDispatchTable;
+
     /**
      * Resources for the content stream.
      * Current resources are always at the top of the stack.
@@ -166,6 +172,32 @@ public class PdfCanvasProcessor {
      */
     private Stack<CanvasTag> markedContentStack = new Stack<>();
 
+    /**
+     * The statistics of the processing, or null if statistics are not collected.
+     */
+    private CanvasProcessingStatistics statistics;
+
+    /**
+     * The current XObject nesting depth.
+     */
+    private int xObjectDepth;
+
+    /**
+     * The time spent in the operators invoked by the currently executed operator, e.g. in the operators
+     * of a form XObject invoked by a Do operator. Used only if statistics are collected.
+     */
+    private long nestedOperatorsTime;
+
+    /**
+     * Indicates whether the graphics states calculate clipping paths lazily.
+     */
+    private boolean lazyClipping;
+
+    /**
+     * The cache of parsed form XObject content, or null if form XObject content is not cached.
+     */
+    private FormXObjectContentCache formXObjectContentCache;
+
     /**
      * Creates a new PDF Content Stream Processor that will send its output to the
      * designated render listener.
@@ -223,6 +255,7 @@ public class PdfCanvasProcessor {
      * @return the existing registered operator, if any
      */
     public IContentOperator registerContentOperator(String operatorString, IContentOperator operator) {
+        operatorDispatchTable = null;
         return operators.put(operatorString, operator);
     }
 
@@ -235,12 +268,74 @@ public class PdfCanvasProcessor {
         return new ArrayList<String>(operators.keySet());
     }
 
+    /**
+     * Sets the statistics object which will collect operator, XObject, font and inline image statistics
+     * of the subsequently processed content. Statistics are not collected by default.
+     *
+     * @param statistics the {@link CanvasProcessingStatistics} to fill, or null to stop collecting statistics
+     */
+    public void setStatistics(CanvasProcessingStatistics statistics) {
+        this.statistics = statistics;
+    }
+
+    /**
+     * Gets the statistics object set with {@link #setStatistics(CanvasProcessingStatistics)}.
+     *
+     * @return the {@link CanvasProcessingStatistics}, or null if statistics are not collected
+     */
+    public CanvasProcessingStatistics getStatistics() {
+        return statistics;
+    }
+
+    /**
+     * Enables or disables lazy clipping, see {@link ParserGraphicsState#setLazyClipping(boolean)}.
+     * If enabled, clipping path intersections are calculated only when the clipping path is requested,
+     * e.g. by a listener of {@link EventType#CLIP_PATH_CHANGED} events. Lazy clipping is disabled by default.
+     *
+     * @param lazyClipping true to enable lazy clipping
+     */
+    public void setLazyClipping(boolean lazyClipping) {
+        this.lazyClipping = lazyClipping;
+        getGraphicsState().setLazyClipping(lazyClipping);
+    }
+
+    /**
+     * Checks whether lazy clipping is enabled, see {@link #setLazyClipping(boolean)}.
+     *
+     * @return true if lazy clipping is enabled
+     */
+    public boolean isLazyClipping() {
+        return lazyClipping;
+    }
+
+    /**
+     * Sets the cache of parsed form XObject content. If a cache is set, the content of the indirect form XObjects
+     * is decoded and parsed only on the first invocation, the following invocations replay the cached operators.
+     * Form XObject content is not cached by default.
+     *
+     * @param formXObjectContentCache the {@link FormXObjectContentCache} to use, or null to disable caching
+     */
+    public void setFormXObjectContentCache(FormXObjectContentCache formXObjectContentCache) {
+        this.formXObjectContentCache = formXObjectContentCache;
+    }
+
+    /**
+     * Gets the cache of parsed form XObject content set with {@link #setFormXObjectContentCache(FormXObjectContentCache)}.
+     *
+     * @return the {@link FormXObjectContentCache}, or null if form XObject content is not cached
+     */
+    public FormXObjectContentCache getFormXObjectContentCache() {
+        return formXObjectContentCache;
+    }
+
     /**
      * Resets the graphics state stack, matrices and resources.
      */
     public void reset() {
         gsStack.removeAllElements();
-        gsStack.push(new ParserGraphicsState());
+        ParserGraphicsState gs = new ParserGraphicsState();
+        gs.setLazyClipping(lazyClipping);
+        gsStack.push(gs);
         textMatrix = null;
         textLineMatrix = null;
         resourcesStack = new Stack<>();
@@ -273,9 +368,18 @@ public class PdfCanvasProcessor {
         PdfCanvasParser ps = new PdfCanvasParser(tokeniser, resources);
         List<PdfObject> operands = new ArrayList<>();
         try {
+            long parseStart = statistics != null ? System.nanoTime() : 0;
             while (ps.parse(operands).size() > 0) {
                 PdfLiteral operator = (PdfLiteral) operands.get(operands.size() - 1);
+                if (statistics != null) {
+                    if (operands.size() == 2 && operands.get(0) instanceof PdfStream && "EI".equals(operator.toString())) {
+                        statistics.recordInlineImage(System.nanoTime() - parseStart);
+                    }
+                }
                 invokeOperator(operator, operands);
+                if (statistics != null) {
+                    parseStart = System.nanoTime();
+                }
             }
         } catch (IOException e) {
             throw new PdfException(PdfException.CannotParseContentStream, e);
@@ -285,6 +389,55 @@ public class PdfCanvasProcessor {
 
     }
 
+    /**
+     * Processes already parsed PDF syntax, e.g. cached content of a form XObject.
+     *
+     * @param operations the list of operations, each consisting of the operands followed by the operator
+     * @param resources  the resources of the content stream. Must not be null.
+     */
+    private void processParsedContent(List<List<PdfObject>> operations, PdfResources resources) {
+        if (resources == null) {
+            throw new PdfException(PdfException.ResourcesCannotBeNull);
+        }
+        this.resourcesStack.push(resources);
+        for (List<PdfObject> operands : operations) {
+            PdfLiteral operator = (PdfLiteral) operands.get(operands.size() - 1);
+            invokeOperator(operator, operands);
+        }
+        this.resourcesStack.pop();
+    }
+
+    /**
+     * Gets the parsed content of the form XObject from the {@link FormXObjectContentCache},
+     * parsing and caching it if it's not cached yet.
+     *
+     * @param stream    the form XObject stream
+     * @param resources the resources of the form XObject
+     * @return the list of operations, or null if form XObject content is not cached
+     */
+    private List<List<PdfObject>> getParsedFormXObjectContent(PdfStream stream, PdfResources resources) {
+        if (formXObjectContentCache == null || stream.getIndirectReference() == null) {
+            return null;
+        }
+        List<List<PdfObject>> operations = formXObjectContentCache.get(stream);
+        if (operations == null) {
+            byte[] contentBytes = stream.getBytes();
+            PdfTokenizer tokeniser = new PdfTokenizer(new RandomAccessFileOrArray(new RandomAccessSourceFactory().createSource(contentBytes)));
+            PdfCanvasParser ps = new PdfCanvasParser(tokeniser, resources);
+            operations = new ArrayList<>();
+            try {
+                List<PdfObject> operands;
+                while ((operands = ps.parse(null)).size() > 0) {
+                    operations.add(operands);
+                }
+            } catch (IOException e) {
+                throw new PdfException(PdfException.CannotParseContentStream, e);
+            }
+            formXObjectContentCache.put(stream, operations, contentBytes.length);
+        }
+        return operations;
+    }
+
     /**
      * Processes PDF syntax.
      * <br/>
@@ -294,8 +447,7 @@ public class PdfCanvasProcessor {
      */
     public void processPageContent(PdfPage page) {
         initClippingPath(page);
-        ParserGraphicsState gs = getGraphicsState();
-        eventOccurred(new ClippingPathInfo(gs.getClippingPath(), gs.getCtm()), EventType.CLIP_PATH_CHANGED);
+        clippingPathChanged();
         processContent(page.getContentBytes(), page.getResources());
     }
 
@@ -428,9 +580,8 @@ public class PdfCanvasProcessor {
 
         if (isClip) {
             isClip = false;
-            ParserGraphicsState gs = getGraphicsState();
-            gs.clip(currentPath, clippingRule);
-            eventOccurred(new ClippingPathInfo(gs.getClippingPath(), gs.getCtm()), EventType.CLIP_PATH_CHANGED);
+            getGraphicsState().clip(currentPath, clippingRule);
+            clippingPathChanged();
         }
 
         currentPath = new Path();
@@ -443,10 +594,47 @@ public class PdfCanvasProcessor {
      * @param operands a list with operands
      */
     protected void invokeOperator(PdfLiteral operator, List<PdfObject> operands) {
-        IContentOperator op = operators.get(operator.toString());
+        IContentOperator op = resolveOperator(operator);
+        if (statistics == null) {
+            op.invoke(this, operator, operands);
+        } else {
+            String operatorString = operator.toString();
+            long outerNestedOperatorsTime = nestedOperatorsTime;
+            nestedOperatorsTime = 0;
+            long start = System.nanoTime();
+            try {
+                op.invoke(this, operator, operands);
+            } finally {
+                long time = System.nanoTime() - start;
+                if (statistics != null) {
+                    statistics.recordOperator(operatorString, time - nestedOperatorsTime);
+                }
+                nestedOperatorsTime = outerNestedOperatorsTime + time;
+            }
+        }
+    }
+
+    /**
+     * Gets the operator registered for the specified operator literal, or the default operator
+     * if there is none. Operators defined by the PDF specification are resolved through the
+     * dispatch table, without creating an operator string.
+     *
+     * @param operator the PDF Syntax of the operator
+     * @return the registered {@link IContentOperator}
+     */
+    private IContentOperator resolveOperator(PdfLiteral operator) {
+        IContentOperator op;
+        if (ContentOperatorDispatchTable.isPackable(operator)) {
+            if (operatorDispatchTable == null) {
+                operatorDispatchTable = new ContentOperatorDispatchTable(operators);
+            }
+            op = operatorDispatchTable.get(operator);
+        } else {
+            op = operators.get(operator.toString());
+        }
         if (op == null)
             op = operators.get(DEFAULT_OPERATOR);
-        op.invoke(this, operator, operands);
+        return op;
     }
 
     protected PdfStream getXObjectStream(PdfName xobjectName) {
@@ -479,8 +667,12 @@ public class PdfCanvasProcessor {
         WeakReference<PdfFont> fontRef = cachedFonts.get(n);
         PdfFont font = (PdfFont)(fontRef == null ? null: fontRef.get());
         if (font == null) {
+            long start = statistics != null ? System.nanoTime() : 0;
             font = PdfFontFactory.createFont(fontDict);
             cachedFonts.put(n, new WeakReference<>(font));
+            if (statistics != null) {
+                statistics.recordFontLoad(System.nanoTime() - start);
+            }
         }
         return font;
     }
@@ -528,6 +720,18 @@ public class PdfCanvasProcessor {
         }
     }
 
+    /**
+     * Notifies the event listener about the change of the clipping path, if the listener supports such events.
+     * The clipping path is not requested from the graphics state otherwise, so that it's not calculated
+     * needlessly in {@link ParserGraphicsState#setLazyClipping(boolean) lazy clipping} mode.
+     */
+    private void clippingPathChanged() {
+        if (supportedEvents == null || supportedEvents.contains(EventType.CLIP_PATH_CHANGED)) {
+            ParserGraphicsState gs = getGraphicsState();
+            eventListener.eventOccurred(new ClippingPathInfo(gs.getClippingPath(), gs.getCtm()), EventType.CLIP_PATH_CHANGED);
+        }
+    }
+
     /**
      * Displays text.
      *
@@ -553,7 +757,16 @@ public class PdfCanvasProcessor {
             handler = xobjectDoHandlers.get(PdfName.Default);
         }
 
-        handler.handleXObject(this, xobjectStream);
+        xObjectDepth++;
+        long start = statistics != null ? System.nanoTime() : 0;
+        try {
+            handler.handleXObject(this, xobjectStream);
+        } finally {
+            if (statistics != null) {
+                statistics.recordXObject(xObjectDepth, System.nanoTime() - start);
+            }
+            xObjectDepth--;
+        }
     }
 
     private void displayImage(PdfStream imageStream, boolean isInline) {
@@ -1039,8 +1252,7 @@ public class PdfCanvasProcessor {
          */
         public void invoke(PdfCanvasProcessor processor, PdfLiteral operator, List<PdfObject> operands) {
             processor.gsStack.pop();
-            ParserGraphicsState gs = processor.getGraphicsState();
-            processor.eventOccurred(new ClippingPathInfo(gs.getClippingPath(), gs.getCtm()), EventType.CLIP_PATH_CHANGED);
+            processor.clippingPathChanged();
         }
     }
 
@@ -1375,8 +1587,8 @@ public class PdfCanvasProcessor {
             // we read the content bytes up here so if it fails we don't leave the graphics state stack corrupted
             // this is probably not necessary (if we fail on this, probably the entire content stream processing
             // operation should be rejected
-            byte[] contentBytes;
-            contentBytes = stream.getBytes();
+            List<List<PdfObject>> parsedContent = processor.getParsedFormXObjectContent(stream, resources);
+            byte[] contentBytes = parsedContent == null ? stream.getBytes() : null;
             final PdfArray matrix = stream.getAsArray(PdfName.Matrix);
 
             new PushGraphicsStateOperator().invoke(processor, null, null);
@@ -1392,7 +1604,11 @@ public class PdfCanvasProcessor {
                 processor.getGraphicsState().updateCtm(formMatrix);
             }
 
-            processor.processContent(contentBytes, resources);
+            if (parsedContent != null) {
+                processor.processParsedContent(parsedContent, resources);
+            } else {
+                processor.processContent(contentBytes, resources);
+            }
 
             new PopGraphicsStateOperator().invoke(processor, null, null);
 
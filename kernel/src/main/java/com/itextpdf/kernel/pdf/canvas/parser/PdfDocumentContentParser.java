@@ -48,6 +48,7 @@ import com.itextpdf.kernel.pdf.PdfDocument;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.TreeMap;
 
 /**
  * A utility class that makes it cleaner to process content from pages of a {@link PdfDocument}
@@ -57,10 +58,76 @@ public class PdfDocumentContentParser {
 
     private final PdfDocument pdfDocument;
 
+    /**
+     * Processing statistics of the processed pages, or null if statistics are not collected.
+     */
+    private Map<Integer, CanvasProcessingStatistics> pageStatistics;
+
+    /**
+     * The cache of parsed form XObject content shared by all processed pages, or null if it is not used.
+     */
+    private FormXObjectContentCache formXObjectContentCache;
+
     public PdfDocumentContentParser(PdfDocument pdfDocument) {
         this.pdfDocument = pdfDocument;
     }
 
+    /**
+     * Enables or disables collecting of {@link CanvasProcessingStatistics} for the processed pages.
+     * Statistics are not collected by default. Disabling statistics discards the already collected ones.
+     *
+     * @param collectStatistics true to collect statistics
+     * @return this instance
+     */
+    public PdfDocumentContentParser setCollectStatistics(boolean collectStatistics) {
+        if (!collectStatistics) {
+            pageStatistics = null;
+        } else if (pageStatistics == null) {
+            pageStatistics = new TreeMap<>();
+        }
+        return this;
+    }
+
+    /**
+     * Sets the cache of parsed form XObject content which will be shared by all processed pages, so that
+     * form XObjects which are used on many pages, like letterheads or logos, are parsed only once.
+     * Form XObject content is not cached by default.
+     *
+     * @param formXObjectContentCache the {@link FormXObjectContentCache} to use, or null to disable caching
+     * @return this instance
+     */
+    public PdfDocumentContentParser setFormXObjectContentCache(FormXObjectContentCache formXObjectContentCache) {
+        this.formXObjectContentCache = formXObjectContentCache;
+        return this;
+    }
+
+    /**
+     * Gets the processing statistics of the specified page.
+     * If the page was processed several times, the statistics of all runs are summed up.
+     *
+     * @param pageNumber the page number
+     * @return the statistics of the page, or null if statistics are not collected or the page was not processed
+     */
+    public CanvasProcessingStatistics getPageStatistics(int pageNumber) {
+        return pageStatistics != null ? pageStatistics.get(pageNumber) : null;
+    }
+
+    /**
+     * Gets the processing statistics of all processed pages combined.
+     *
+     * @return the statistics of the document, or null if statistics are not collected
+     */
+    public CanvasProcessingStatistics getDocumentStatistics() {
+        if (pageStatistics == null) {
+            return null;
+        }
+        CanvasProcessingStatistics documentStatistics = new CanvasProcessingStatistics();
+        for (CanvasProcessingStatistics statistics : pageStatistics.values()) {
+            documentStatistics.merge(statistics);
+        }
+        return documentStatistics;
+    }
+
     /**
      * Processes content from the specified page number using the specified listener.
      * Also allows registration of custom IContentOperators that can influence
@@ -74,6 +141,15 @@ public class PdfDocumentContentParser {
      */
     public <E extends IEventListener> E processContent(int pageNumber, E renderListener, Map<String, IContentOperator> additionalContentOperators) {
         PdfCanvasProcessor processor = new PdfCanvasProcessor(renderListener, additionalContentOperators);
+        if (pageStatistics != null) {
+            CanvasProcessingStatistics statistics = pageStatistics.get(pageNumber);
+            if (statistics == null) {
+                statistics = new CanvasProcessingStatistics();
+                pageStatistics.put(pageNumber, statistics);
+            }
+            processor.setStatistics(statistics);
+        }
+        processor.setFormXObjectContentCache(formXObjectContentCache);
         processor.processPageContent(pdfDocument.getPage(pageNumber));
         return renderListener;
     }
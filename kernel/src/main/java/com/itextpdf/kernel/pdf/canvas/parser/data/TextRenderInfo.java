@@ -118,10 +118,10 @@ public class TextRenderInfo implements IEventData {
      */
     public String getText() {
         if (text == null) {
-            GlyphLine gl = gs.getFont().decodeIntoGlyphLine(string);
             if (!isReversedChars()) {
-                text = gl.toUnicodeString(gl.start, gl.end);
+                text = gs.getFont().getDecodedText(string);
             } else {
+                GlyphLine gl = gs.getFont().getDecodedGlyphLine(string);
                 StringBuilder sb = new StringBuilder(gl.end - gl.start);
                 for (int i = gl.end - 1; i >= gl.start; i--) {
                     sb.append(gl.get(i).getUnicodeChars());
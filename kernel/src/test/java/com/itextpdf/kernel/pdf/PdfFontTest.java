@@ -46,6 +46,8 @@ import com.itextpdf.io.LogMessageConstant;
 import com.itextpdf.io.font.CidFont;
 import com.itextpdf.io.font.FontConstants;
 import com.itextpdf.io.font.FontEncoding;
+import com.itextpdf.io.font.FontMetadataIndex;
+import com.itextpdf.io.font.FontProgram;
 import com.itextpdf.io.font.FontProgramDescriptor;
 import com.itextpdf.io.font.FontProgramDescriptorFactory;
 import com.itextpdf.io.font.FontProgramFactory;
@@ -53,6 +55,7 @@ import com.itextpdf.io.font.PdfEncodings;
 import com.itextpdf.io.font.TrueTypeCollection;
 import com.itextpdf.io.font.TrueTypeFont;
 import com.itextpdf.io.font.Type1Font;
+import com.itextpdf.io.font.otf.Glyph;
 import com.itextpdf.io.source.ByteArrayOutputStream;
 import com.itextpdf.io.util.StreamUtil;
 import com.itextpdf.kernel.color.DeviceRgb;
@@ -75,10 +78,15 @@ import org.junit.Ignore;
 import org.junit.Test;
 import org.junit.experimental.categories.Category;
 
+import java.io.ByteArrayInputStream;
+import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 @Category(IntegrationTest.class)
 public class PdfFontTest extends ExtendedITextTest {
@@ -1473,4 +1481,178 @@ public class PdfFontTest extends ExtendedITextTest {
         Assert.assertEquals(descriptor.getStyle(), "Regular");
         Assert.assertEquals(descriptor.getFontWeight(), 400);
     }
+
+    @Test
+    public void fontMetadataIndexNames() throws Exception {
+        String indexPath = destinationFolder + "fontMetadataIndex.bin";
+        new File(indexPath).delete();
+
+        FontMetadataIndex index = new FontMetadataIndex(indexPath);
+        FontProgramDescriptor descriptor = index.fetchDescriptor(fontsFolder + "abserif4_5.ttf");
+        Assert.assertEquals("AboriginalSerif", descriptor.getFontName());
+        Assert.assertEquals("cmr10", index.fetchDescriptor(fontsFolder + "cmr10.afm").getFontNameLowerCase());
+        Assert.assertNull(index.fetchDescriptor(fontsFolder + "LICENSE_OFL.txt"));
+        Assert.assertTrue(index.isModified());
+        index.save();
+        Assert.assertFalse(index.isModified());
+
+        FontMetadataIndex reloaded = new FontMetadataIndex(indexPath);
+        Assert.assertEquals(index.size(), reloaded.size());
+        descriptor = reloaded.fetchDescriptor(fontsFolder + "abserif4_5.ttf");
+        Assert.assertFalse(reloaded.isModified());
+        Assert.assertEquals("AboriginalSerif", descriptor.getFontName());
+        Assert.assertEquals("aboriginal serif", descriptor.getFullNameLowerCase());
+        Assert.assertEquals("aboriginal serif", descriptor.getFamilyNameLowerCase());
+        Assert.assertEquals("Regular", descriptor.getStyle());
+        Assert.assertEquals(400, descriptor.getFontWeight());
+        Assert.assertEquals("AboriginalSerif", reloaded.getFontNames(fontsFolder + "abserif4_5.ttf").getFontName());
+    }
+
+    @Test
+    public void lazyTrueTypeFontGlyphs() throws Exception {
+        TrueTypeFont eager = (TrueTypeFont) FontProgramFactory.createFont(fontsFolder + "arial.ttf", false);
+        TrueTypeFont lazy;
+        FontProgramFactory.setLazyTrueTypeFontLoading(true);
+        try {
+            lazy = (TrueTypeFont) FontProgramFactory.createFont(fontsFolder + "arial.ttf", false);
+        } finally {
+            FontProgramFactory.setLazyTrueTypeFontLoading(false);
+        }
+        Assert.assertFalse(eager.isLazy());
+        Assert.assertTrue(lazy.isLazy());
+        Assert.assertEquals(eager.countOfGlyphs(), lazy.countOfGlyphs());
+        Assert.assertEquals(eager.getAvgWidth(), lazy.getAvgWidth());
+        Assert.assertEquals(eager.getActiveCmap().size(), lazy.getActiveCmap().size());
+        for (int unicode : new int[]{' ', 'A', 'V', 0x00E9, 0x0416, 0x20AC, 0x4E00}) {
+            Glyph expected = eager.getGlyph(unicode);
+            Glyph actual = lazy.getGlyph(unicode);
+            if (expected == null) {
+                Assert.assertNull(actual);
+            } else {
+                Assert.assertEquals(expected.getCode(), actual.getCode());
+                Assert.assertEquals(expected.getWidth(), actual.getWidth());
+                Assert.assertArrayEquals(expected.getBbox(), actual.getBbox());
+                Assert.assertEquals(eager.getGlyphByCode(expected.getCode()).getUnicode(), lazy.getGlyphByCode(actual.getCode()).getUnicode());
+            }
+        }
+        Assert.assertEquals(eager.getKerning('A', 'V'), lazy.getKerning('A', 'V'));
+        Assert.assertNotNull(lazy.getGsubTable());
+    }
+
+    @Test
+    public void sharedFontProgramInConcurrentDocuments() throws Exception {
+        final FontProgram fontProgram = FontProgramFactory.createFont(fontsFolder + "NotoSerif-Regular.ttf");
+        final List<Throwable> failures = new ArrayList<>();
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            threads.add(new Thread() {
+                @Override
+                public void run() {
+                    try {
+                        for (int j = 0; j < 5; j++) {
+                            PdfDocument pdfDoc = new PdfDocument(new PdfWriter(new ByteArrayOutputStream()));
+                            PdfFont font = PdfFontFactory.createFont(fontProgram, PdfEncodings.IDENTITY_H);
+                            PdfCanvas canvas = new PdfCanvas(pdfDoc.addNewPage());
+                            canvas.beginText().setFontAndSize(font, 12).moveText(36, 700)
+                                    .showText("Shared font program " + getName() + " " + j).endText();
+                            pdfDoc.close();
+                        }
+                    } catch (Throwable t) {
+                        synchronized (failures) {
+                            failures.add(t);
+                        }
+                    }
+                }
+            });
+        }
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        Assert.assertTrue(failures.toString(), failures.isEmpty());
+        Assert.assertSame(fontProgram, FontProgramFactory.createFont(fontsFolder + "NotoSerif-Regular.ttf"));
+    }
+
+    @Test
+    public void type0FontToUnicodeAndWidthsTest() throws IOException {
+        // DejaVu Sans has glyphs outside of BMP, one of the glyphs without Unicode value is turned into a ligature
+        FontProgram fontProgram = FontProgramFactory.createFont("./src/test/resources/com/itextpdf/kernel/pdf/EncodingTest/DejaVuSans.ttf", false);
+        Glyph ligature = null;
+        for (int code = 1; ligature == null; code++) {
+            Glyph glyph = fontProgram.getGlyphByCode(code);
+            if (glyph != null && glyph.getChars() == null) {
+                ligature = glyph;
+            }
+        }
+        ligature.setChars(new char[]{'f', 'f', 'i'});
+
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        PdfDocument pdfDoc = new PdfDocument(new PdfWriter(baos));
+        PdfFont font = PdfFontFactory.createFont(fontProgram, PdfEncodings.IDENTITY_H);
+        font.setSubset(false);
+        List<Glyph> glyphs = new ArrayList<>();
+        for (int code = 0; code < fontProgram.countOfGlyphs(); code++) {
+            Glyph glyph = fontProgram.getGlyphByCode(code);
+            if (glyph != null) {
+                glyphs.add(glyph);
+                font.convertToBytes(glyph);
+            }
+        }
+        new PdfCanvas(pdfDoc.addNewPage()).beginText().setFontAndSize(font, 12).endText();
+        pdfDoc.close();
+
+        PdfDocument readDoc = new PdfDocument(new PdfReader(new ByteArrayInputStream(baos.toByteArray())));
+        PdfDictionary fonts = readDoc.getPage(1).getResources().getResource(PdfName.Font);
+        PdfDictionary fontDict = fonts.getAsDictionary(fonts.keySet().iterator().next());
+
+        String toUnicode = new String(fontDict.getAsStream(PdfName.ToUnicode).getBytes(), "ISO-8859-1");
+        int chunks = 0;
+        int entries = 0;
+        for (String line : toUnicode.split("\n")) {
+            if (line.endsWith("beginbfrange")) {
+                chunks++;
+                Assert.assertTrue(Integer.parseInt(line.substring(0, line.indexOf(' '))) <= 100);
+            } else if (line.startsWith("<") && !line.equals("<0000><FFFF>")) {
+                entries++;
+            }
+        }
+        Assert.assertTrue(chunks > 1);
+        Assert.assertEquals(chunks, (entries + 99) / 100);
+        // consecutive glyphs mapped to consecutive characters share one entry
+        Assert.assertTrue(entries < glyphs.size() / 2);
+
+        PdfDictionary cidFont = fontDict.getAsArray(PdfName.DescendantFonts).getAsDictionary(0);
+        int defaultWidth = cidFont.getAsNumber(PdfName.DW).intValue();
+        Map<Integer, Integer> widths = new HashMap<>();
+        PdfArray w = cidFont.getAsArray(PdfName.W);
+        for (int k = 0; k < w.size(); k += 2) {
+            int cid = w.getAsNumber(k).intValue();
+            PdfArray run = w.getAsArray(k + 1);
+            for (int j = 0; j < run.size(); j++) {
+                widths.put(cid + j, run.getAsNumber(j).intValue());
+            }
+        }
+
+        FontProgram readProgram = PdfFontFactory.createFont(fontDict).getFontProgram();
+        boolean nonBmp = false;
+        for (Glyph glyph : glyphs) {
+            int code = glyph.getCode();
+            Integer width = widths.get(code);
+            Assert.assertEquals(glyph.getWidth(), width != null ? (int) width : defaultWidth);
+            Glyph readGlyph = readProgram.getGlyphByCode(code);
+            if (glyph.getChars() == null) {
+                Assert.assertTrue(code == 0 || readGlyph == null);
+            } else {
+                Assert.assertArrayEquals(glyph.getChars(), readGlyph.getChars());
+                Assert.assertEquals(glyph.getWidth(), readGlyph.getWidth());
+                nonBmp |= glyph.getUnicode() > 0xffff;
+            }
+        }
+        Assert.assertTrue(nonBmp);
+        Assert.assertArrayEquals(new char[]{'f', 'f', 'i'}, readProgram.getGlyphByCode(ligature.getCode()).getChars());
+        Assert.assertNull(readProgram.getGlyphByCode(fontProgram.countOfGlyphs()));
+        readDoc.close();
+    }
 }
@@ -0,0 +1,128 @@
+/*
+
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2017 iText Group NV
+    Authors: Bruno Lowagie, Paulo Soares, et al.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.kernel.pdf.canvas.parser;
+
+import com.itextpdf.kernel.geom.Matrix;
+import com.itextpdf.kernel.geom.Path;
+import com.itextpdf.kernel.geom.Point;
+import com.itextpdf.kernel.geom.Subpath;
+import com.itextpdf.kernel.pdf.canvas.PdfCanvasConstants;
+import com.itextpdf.test.ExtendedITextTest;
+import com.itextpdf.test.annotations.type.UnitTest;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+@Category(UnitTest.class)
+public class ParserGraphicsStateTest extends ExtendedITextTest {
+
+    @Test
+    public void rectangleClipTest() {
+        ParserGraphicsState gs = new ParserGraphicsState();
+        gs.setClippingPath(createRectangle(0, 0, 100, 100));
+        gs.clip(createRectangle(50, -10, 100, 80), PdfCanvasConstants.FillingRule.NONZERO_WINDING);
+        Assert.assertEquals(createPoints(50, 0, 100, 0, 100, 70, 50, 70), getSortedPoints(gs.getClippingPath()));
+
+        gs.clip(createRectangle(200, 200, 10, 10), PdfCanvasConstants.FillingRule.EVEN_ODD);
+        Assert.assertTrue(gs.getClippingPath().isEmpty());
+    }
+
+    @Test
+    public void lazyClipTest() {
+        ParserGraphicsState eager = new ParserGraphicsState();
+        ParserGraphicsState lazy = new ParserGraphicsState();
+        lazy.setLazyClipping(true);
+        for (ParserGraphicsState gs : new ParserGraphicsState[] {eager, lazy}) {
+            gs.setClippingPath(createRectangle(0, 0, 100, 100));
+            gs.clip(createTriangle(), PdfCanvasConstants.FillingRule.NONZERO_WINDING);
+            gs.updateCtm(new Matrix(1, 0, 0, 1, 10, 20));
+            gs.clip(createRectangle(0, 0, 30, 30), PdfCanvasConstants.FillingRule.NONZERO_WINDING);
+        }
+        Assert.assertEquals(getSortedPoints(eager.getClippingPath()), getSortedPoints(lazy.getClippingPath()));
+        Assert.assertFalse(lazy.getClippingPath().isEmpty());
+    }
+
+    private static Path createRectangle(float x, float y, float width, float height) {
+        Path path = new Path();
+        path.rectangle(x, y, width, height);
+        return path;
+    }
+
+    private static Path createTriangle() {
+        Path path = new Path();
+        path.moveTo(0, 0);
+        path.lineTo(100, 0);
+        path.lineTo(0, 100);
+        path.closeSubpath();
+        return path;
+    }
+
+    private static List<String> createPoints(float... coordinates) {
+        List<String> points = new ArrayList<>();
+        for (int i = 0; i < coordinates.length; i += 2) {
+            points.add(new Point(coordinates[i], coordinates[i + 1]).toString());
+        }
+        Collections.sort(points);
+        return points;
+    }
+
+    private static List<String> getSortedPoints(Path path) {
+        List<String> points = new ArrayList<>();
+        for (Subpath subpath : path.getSubpaths()) {
+            for (Point point : subpath.getPiecewiseLinearApproximation()) {
+                String pointString = point.toString();
+                if (!points.contains(pointString)) {
+                    points.add(pointString);
+                }
+            }
+        }
+        Collections.sort(points);
+        return points;
+    }
+}
@@ -43,25 +43,39 @@
 package com.itextpdf.kernel.pdf.canvas.parser;
 
 import com.itextpdf.io.LogMessageConstant;
+import com.itextpdf.io.font.FontConstants;
 import com.itextpdf.io.source.ByteArrayOutputStream;
+import com.itextpdf.kernel.font.PdfFontFactory;
+import com.itextpdf.kernel.geom.Rectangle;
+import com.itextpdf.kernel.pdf.canvas.PdfCanvas;
 import com.itextpdf.kernel.pdf.canvas.parser.data.ClippingPathInfo;
 import com.itextpdf.kernel.pdf.canvas.parser.data.IEventData;
 import com.itextpdf.kernel.pdf.canvas.parser.data.ImageRenderInfo;
 import com.itextpdf.kernel.pdf.canvas.parser.data.PathRenderInfo;
 import com.itextpdf.kernel.pdf.canvas.parser.data.TextRenderInfo;
 import com.itextpdf.kernel.pdf.canvas.parser.listener.IEventListener;
+import com.itextpdf.kernel.pdf.canvas.parser.listener.LocationTextExtractionStrategy;
 import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfLiteral;
+import com.itextpdf.kernel.pdf.PdfObject;
 import com.itextpdf.kernel.pdf.PdfPage;
 import com.itextpdf.kernel.pdf.PdfReader;
+import com.itextpdf.kernel.pdf.PdfResources;
 import com.itextpdf.kernel.pdf.PdfWriter;
+import com.itextpdf.kernel.pdf.xobject.PdfFormXObject;
 import com.itextpdf.test.annotations.LogMessage;
 import com.itextpdf.test.annotations.LogMessages;
 import com.itextpdf.test.annotations.type.IntegrationTest;
 import com.itextpdf.test.ExtendedITextTest;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Set;
 
+import org.junit.Assert;
 import org.junit.Test;
 import org.junit.experimental.categories.Category;
 
@@ -140,4 +154,71 @@ public class PdfCanvasProcessorTest extends ExtendedITextTest {
         }
     }
 
+    @Test
+    public void operatorDispatchTest() {
+        final List<String> invoked = new ArrayList<>();
+        IContentOperator recordingOperator = new IContentOperator() {
+            public void invoke(PdfCanvasProcessor processor, PdfLiteral operator, List<PdfObject> operands) {
+                invoked.add(operator.toString() + operands.size());
+            }
+        };
+        PdfCanvasProcessor processor = new PdfCanvasProcessor(new LocationTextExtractionStrategy());
+        processor.registerContentOperator("xyz", recordingOperator);
+        processor.registerContentOperator("longOperator", recordingOperator);
+        processor.registerContentOperator(PdfCanvasProcessor.DEFAULT_OPERATOR, recordingOperator);
+        processor.processContent("1 2 xyz 3 longOperator q 1 0 0 1 0 0 cm Q unknown ab".getBytes(), new PdfResources());
+
+        Assert.assertEquals(Arrays.asList("xyz3", "longOperator2", "unknown1", "ab1"), invoked);
+    }
+
+    @Test
+    public void formXObjectContentCacheTest() throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        PdfDocument pdfDocument = new PdfDocument(new PdfWriter(baos));
+        PdfFormXObject letterhead = new PdfFormXObject(new Rectangle(200, 50));
+        new PdfCanvas(letterhead, pdfDocument).beginText().setFontAndSize(PdfFontFactory.createFont(FontConstants.HELVETICA), 12)
+                .moveText(10, 10).showText("Letterhead").endText();
+        for (int i = 1; i <= 3; ++i) {
+            new PdfCanvas(pdfDocument.addNewPage()).addXObject(letterhead, 36, 36 * i);
+        }
+        pdfDocument.close();
+
+        PdfDocument document = new PdfDocument(new PdfReader(new ByteArrayInputStream(baos.toByteArray())));
+        FormXObjectContentCache cache = new FormXObjectContentCache();
+        PdfDocumentContentParser parser = new PdfDocumentContentParser(document).setFormXObjectContentCache(cache);
+        for (int i = 1; i <= document.getNumberOfPages(); ++i) {
+            LocationTextExtractionStrategy cachedStrategy = parser.processContent(i, new LocationTextExtractionStrategy());
+            Assert.assertEquals(PdfTextExtractor.getTextFromPage(document.getPage(i)), cachedStrategy.getResultantText());
+        }
+        Assert.assertEquals(1, cache.getMissCount());
+        Assert.assertEquals(2, cache.getHitCount());
+        Assert.assertTrue(cache.getSize() > 0);
+        document.close();
+    }
+
+    @Test
+    @LogMessages(messages = @LogMessage(messageTemplate = LogMessageConstant.XREF_ERROR, count = 1))
+    public void processingStatisticsTest() throws IOException {
+        PdfDocument document = new PdfDocument(new PdfReader(sourceFolder + "yaxiststar.pdf"));
+        PdfDocumentContentParser parser = new PdfDocumentContentParser(document).setCollectStatistics(true);
+        for (int i = 1; i <= document.getNumberOfPages(); ++i) {
+            parser.processContent(i, new LocationTextExtractionStrategy());
+        }
+
+        CanvasProcessingStatistics pageStatistics = parser.getPageStatistics(1);
+        Assert.assertNotNull(pageStatistics);
+        Assert.assertEquals(2, pageStatistics.getOperatorStatistics("BT").getCount());
+        Assert.assertEquals(2, pageStatistics.getOperatorStatistics("ET").getCount());
+        Assert.assertEquals(1, pageStatistics.getFontLoadCount());
+        Assert.assertEquals(1, pageStatistics.getXObjectCount());
+        Assert.assertEquals(1, pageStatistics.getMaxXObjectDepth());
+
+        long operatorCount = 0;
+        for (int i = 1; i <= document.getNumberOfPages(); ++i) {
+            operatorCount += parser.getPageStatistics(i).getOperatorCount();
+        }
+        Assert.assertEquals(operatorCount, parser.getDocumentStatistics().getOperatorCount());
+        document.close();
+    }
+
 }
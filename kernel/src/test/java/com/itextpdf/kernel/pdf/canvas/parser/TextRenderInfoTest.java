@@ -43,10 +43,16 @@
 package com.itextpdf.kernel.pdf.canvas.parser;
 
 import com.itextpdf.io.LogMessageConstant;
+import com.itextpdf.io.font.otf.GlyphLine;
+import com.itextpdf.kernel.font.PdfFont;
 import com.itextpdf.kernel.geom.LineSegment;
 import com.itextpdf.kernel.geom.Vector;
+import com.itextpdf.kernel.pdf.PdfArray;
 import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfNumber;
+import com.itextpdf.kernel.pdf.PdfObject;
 import com.itextpdf.kernel.pdf.PdfReader;
+import com.itextpdf.kernel.pdf.PdfString;
 import com.itextpdf.kernel.pdf.canvas.parser.data.IEventData;
 import com.itextpdf.kernel.pdf.canvas.parser.data.TextRenderInfo;
 import com.itextpdf.kernel.pdf.canvas.parser.listener.IEventListener;
@@ -61,6 +67,7 @@ import org.junit.Test;
 import org.junit.experimental.categories.Category;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.LinkedHashSet;
 import java.util.List;
@@ -122,6 +129,32 @@ public class TextRenderInfoTest extends ExtendedITextTest {
                 origLineSegment.getEndPoint().get(FIRST_ELEMENT_INDEX), 1 / 2f);
     }
 
+    @Test
+    public void testDecodeCache() throws Exception {
+        PdfDocument pdfDocument = new PdfDocument(new PdfReader(sourceFolder + "simple_text.pdf"));
+        final List<String> texts = new ArrayList<>();
+        new PdfCanvasProcessor(new IEventListener() {
+            public void eventOccurred(IEventData data, EventType type) {
+                TextRenderInfo renderInfo = (TextRenderInfo) data;
+                PdfFont font = renderInfo.getFont();
+                PdfString string = renderInfo.getPdfString();
+                GlyphLine glyphLine = font.decodeIntoGlyphLine(string);
+                String text = font.getDecodedText(string);
+                Assert.assertEquals(glyphLine.toUnicodeString(glyphLine.start, glyphLine.end), text);
+                Assert.assertSame(text, font.getDecodedText(new PdfString(string.getValueBytes())));
+                Assert.assertEquals(text, font.getDecodedGlyphLine(string).toString());
+                Assert.assertArrayEquals(new String[] {text, null},
+                        font.getDecodedTexts(new PdfArray(Arrays.<PdfObject>asList(string, new PdfNumber(-250)))));
+                texts.add(text);
+            }
+
+            public Set<EventType> getSupportedEvents() {
+                return new LinkedHashSet<>(Collections.singletonList(EventType.RENDER_TEXT));
+            }
+        }).processPageContent(pdfDocument.getPage(FIRST_PAGE));
+
+        Assert.assertFalse(texts.isEmpty());
+    }
 
     private static class TextPositionEventListener implements IEventListener {
         List<LineSegment> lineSegments = new ArrayList<>();
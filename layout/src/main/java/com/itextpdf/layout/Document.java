@@ -51,12 +51,22 @@ import com.itextpdf.layout.element.AreaBreak;
 import com.itextpdf.layout.element.IBlockElement;
 import com.itextpdf.layout.element.IElement;
 import com.itextpdf.layout.element.ILargeElement;
+import com.itextpdf.layout.element.Image;
 import com.itextpdf.layout.font.FontProvider;
+import com.itextpdf.layout.property.AreaBreakType;
 import com.itextpdf.layout.property.Property;
 import com.itextpdf.layout.renderer.DocumentRenderer;
 import com.itextpdf.layout.renderer.IRenderer;
+import com.itextpdf.layout.renderer.LayoutStatistics;
 import com.itextpdf.layout.renderer.RootRenderer;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
 /**
  * Document is the default root element when creating a self-sufficient PDF. It
  * mainly operates high-level operations e.g. setting page size and rotation,
@@ -146,6 +156,86 @@ public class Document extends RootElement<Document> {
         return this;
     }
 
+    /**
+     * Adds the elements to the document. The sections of the elements that start with an {@link AreaBreak},
+     * and thus on a new page, are laid out concurrently by the given executor and then placed into the document
+     * in their order. The result is the same as of adding the elements one by one, except that an element
+     * with {@link Property#KEEP_WITH_NEXT} at the end of a section is not kept with the next section.
+     * <p>
+     * Elements must not be shared between sections. Sections are laid out sequentially if they start with an
+     * {@link AreaBreak} of {@link com.itextpdf.layout.property.AreaBreakType#LAST_PAGE} type or
+     * contain incomplete {@link ILargeElement}s, if the document is tagged or its renderer is customized.
+     *
+     * @param elements        the elements to be added, i.e. {@link IBlockElement}s, {@link Image}s and {@link AreaBreak}s
+     * @param executorService the executor to lay out the sections with
+     * @return this element
+     */
+    public Document addAll(List<? extends IElement> elements, ExecutorService executorService) {
+        checkClosingStatus();
+        int sectionStart = 0;
+        while (sectionStart < elements.size() && !(elements.get(sectionStart) instanceof AreaBreak)) {
+            addElement(elements.get(sectionStart++));
+        }
+        if (sectionStart == elements.size()) {
+            return this;
+        }
+
+        // the renderer and the lazily created defaults are shared by the sections
+        DocumentRenderer documentRenderer = ensureRootRendererNotNull() instanceof DocumentRenderer ? (DocumentRenderer) rootRenderer : null;
+        getDefaultProperty(Property.FONT);
+        getDefaultProperty(Property.SPLIT_CHARACTERS);
+        boolean concurrentLayoutSupported = documentRenderer != null && documentRenderer.getClass() == DocumentRenderer.class
+                && !pdfDocument.isTagged();
+
+        List<List<? extends IElement>> sections = new ArrayList<>();
+        List<Future<RootRenderer>> laidOutSections = new ArrayList<>();
+        while (sectionStart < elements.size()) {
+            int sectionEnd = sectionStart + 1;
+            while (sectionEnd < elements.size() && !(elements.get(sectionEnd) instanceof AreaBreak)) {
+                sectionEnd++;
+            }
+            AreaBreak areaBreak = (AreaBreak) elements.get(sectionStart);
+            final List<? extends IElement> sectionElements = elements.subList(sectionStart + 1, sectionEnd);
+            sections.add(elements.subList(sectionStart, sectionEnd));
+            Future<RootRenderer> laidOutSection = null;
+            if (concurrentLayoutSupported && isSectionIndependent(areaBreak, sectionElements)) {
+                final RootRenderer sectionRenderer = documentRenderer.createSectionRenderer(areaBreak.getPageSize());
+                laidOutSection = executorService.submit(new Callable<RootRenderer>() {
+                    @Override
+                    public RootRenderer call() {
+                        for (IElement element : sectionElements) {
+                            sectionRenderer.addChild(element.createRendererSubTree());
+                        }
+                        sectionRenderer.close();
+                        return sectionRenderer;
+                    }
+                });
+            }
+            laidOutSections.add(laidOutSection);
+            sectionStart = sectionEnd;
+        }
+
+        for (int i = 0; i < sections.size(); i++) {
+            List<? extends IElement> section = sections.get(i);
+            add((AreaBreak) section.get(0));
+            List<? extends IElement> sectionElements = section.subList(1, section.size());
+            Future<RootRenderer> laidOutSection = laidOutSections.get(i);
+            if (laidOutSection != null && documentRenderer.addSection(getLaidOutSection(laidOutSection))) {
+                for (IElement element : sectionElements) {
+                    childElements.add(element);
+                    if (element instanceof ILargeElement) {
+                        ((ILargeElement) element).setDocument(this);
+                    }
+                }
+            } else {
+                for (IElement element : sectionElements) {
+                    addElement(element);
+                }
+            }
+        }
+        return this;
+    }
+
     /**
      * Gets PDF document.
      *
@@ -194,6 +284,81 @@ public class Document extends RootElement<Document> {
         }
     }
 
+    /**
+     * Recalculates the document flow starting from the page on which the given child element
+     * was placed, taking into account all its current child elements. The layout of the content
+     * of the preceding pages is kept, so only the given element and the elements following it
+     * should have been changed since they were added. If the layout state of that page is not
+     * known, e.g. when margins collapsing is enabled, the entire document is relaid out as with
+     * {@link #relayout()}.
+     * <p>
+     * Do not use when you have set {@link #immediateFlush} to <code>true</code>.
+     *
+     * @param firstChangedElement the first child element of the document which was changed
+     */
+    public void relayout(IElement firstChangedElement) {
+        if (immediateFlush) {
+            throw new IllegalStateException("Operation not supported with immediate flush");
+        }
+
+        int elementIndex = -1;
+        for (int i = 0; i < childElements.size(); i++) {
+            if (childElements.get(i) == firstChangedElement) {
+                elementIndex = i;
+                break;
+            }
+        }
+        if (elementIndex < 0) {
+            throw new IllegalArgumentException("The element is not a child of the document");
+        }
+        int resumeIndex = rootRenderer != null ? rootRenderer.restoreLayoutCheckpoint(elementIndex) : -1;
+        if (resumeIndex < 0) {
+            relayout();
+            return;
+        }
+        for (int i = resumeIndex; i < childElements.size(); i++) {
+            rootRenderer.addChild(childElements.get(i).createRendererSubTree());
+        }
+    }
+
+    private void addElement(IElement element) {
+        if (element instanceof AreaBreak) {
+            add((AreaBreak) element);
+        } else if (element instanceof Image) {
+            add((Image) element);
+        } else if (element instanceof IBlockElement) {
+            add((IBlockElement) element);
+        } else {
+            throw new IllegalArgumentException("Only block elements, images and area breaks can be added to the document");
+        }
+    }
+
+    private static boolean isSectionIndependent(AreaBreak areaBreak, List<? extends IElement> sectionElements) {
+        if (areaBreak.getType() == AreaBreakType.LAST_PAGE) {
+            return false;
+        }
+        for (IElement element : sectionElements) {
+            if (element instanceof ILargeElement && !((ILargeElement) element).isComplete()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static RootRenderer getLaidOutSection(Future<RootRenderer> laidOutSection) {
+        try {
+            return laidOutSection.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new PdfException(e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new PdfException(e.getCause());
+        }
+    }
+
     /**
      * Gets the left margin, measured in points
      *
@@ -315,6 +480,25 @@ public class Document extends RootElement<Document> {
         setProperty(Property.FONT_PROVIDER, fontProvider);
     }
 
+    /**
+     * Gets the {@link LayoutStatistics} which collect the statistics of the layout and drawing of the document's renderers.
+     *
+     * @return the {@link LayoutStatistics}, or null if statistics are not collected
+     */
+    public LayoutStatistics getLayoutStatistics() {
+        return this.<LayoutStatistics>getProperty(Property.LAYOUT_STATISTICS);
+    }
+
+    /**
+     * Sets the {@link LayoutStatistics} which will collect per renderer type layout and draw counts and times
+     * of the subsequently added content. Statistics are not collected by default.
+     *
+     * @param layoutStatistics the {@link LayoutStatistics} to fill, or null to stop collecting statistics
+     */
+    public void setLayoutStatistics(LayoutStatistics layoutStatistics) {
+        setProperty(Property.LAYOUT_STATISTICS, layoutStatistics);
+    }
+
     @Override
     protected RootRenderer ensureRootRendererNotNull() {
         if (rootRenderer == null)
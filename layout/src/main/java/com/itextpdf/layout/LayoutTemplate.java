@@ -0,0 +1,174 @@
+/*
+
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2017 iText Group NV
+    Authors: Bruno Lowagie, Paulo Soares, et al.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.layout;
+
+import com.itextpdf.kernel.geom.Rectangle;
+import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.canvas.PdfCanvas;
+import com.itextpdf.kernel.pdf.xobject.PdfFormXObject;
+import com.itextpdf.layout.element.IBlockElement;
+import com.itextpdf.layout.element.Image;
+import com.itextpdf.layout.layout.LayoutArea;
+import com.itextpdf.layout.layout.LayoutContext;
+import com.itextpdf.layout.layout.LayoutResult;
+import com.itextpdf.layout.property.Property;
+import com.itextpdf.layout.renderer.DrawContext;
+import com.itextpdf.layout.renderer.IRenderer;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A template of a {@link Document} whose static content is laid out only once, e.g. the boilerplate of
+ * a mail-merge document which is repeated for every record with only the field values differing.
+ * <p>
+ * Each static block is laid out with the properties of the document once, when it is added to the template,
+ * and is drawn into a {@link PdfFormXObject} whose bounding box is the area occupied by the block. Every instance
+ * of the block is an {@link Image} of that form, so adding it to the document neither lays out the content
+ * of the block again nor writes it to the PDF again. Only the variable elements added next to the blocks
+ * are laid out for each record.
+ * <p>
+ * A static block must fit into a single page and cannot be split between pages. It cannot contain links,
+ * actions or destinations, as these are bound to a page. The forms belong to the {@link PdfDocument} of the document,
+ * so a template cannot be shared between several documents.
+ * <p>
+ * The content of a static block is drawn without tags, even if the document is tagged, since the same form
+ * is shown by all the instances. In a tagged document each instance is tagged as a figure, like any other
+ * {@link Image}, so it should be given an alternate description, or the role
+ * {@link com.itextpdf.kernel.pdf.PdfName#Artifact} if the block is decorative, e.g. a letterhead.
+ */
+public class LayoutTemplate {
+
+    private Document document;
+    private Map<String, PdfFormXObject> staticBlocks = new HashMap<>();
+
+    /**
+     * Creates an empty template of a document.
+     *
+     * @param document the document to which the instances of the static blocks will be added
+     */
+    public LayoutTemplate(Document document) {
+        this.document = document;
+    }
+
+    /**
+     * Lays out a static block and adds it to the template. The block is laid out in the width of the effective area
+     * of the document's default page size.
+     *
+     * @param name    the name of the block which is used to create its instances
+     * @param element the content of the block
+     * @return this template
+     * @see #addStaticBlock(String, IBlockElement, float)
+     */
+    public LayoutTemplate addStaticBlock(String name, IBlockElement element) {
+        return addStaticBlock(name, element, getPageEffectiveArea().getWidth());
+    }
+
+    /**
+     * Lays out a static block in the given width and adds it to the template. The block must fit into the height
+     * of the effective area of the document's default page size.
+     *
+     * @param name    the name of the block which is used to create its instances
+     * @param element the content of the block
+     * @param width   the width in which the block is laid out
+     * @return this template
+     */
+    public LayoutTemplate addStaticBlock(String name, IBlockElement element, float width) {
+        IRenderer renderer = element.createRendererSubTree().setParent(document.ensureRootRendererNotNull());
+        LayoutArea area = new LayoutArea(1, new Rectangle(0, 0, width, getPageEffectiveArea().getHeight()));
+        LayoutResult result = renderer.layout(new LayoutContext(area));
+        if (result.getStatus() != LayoutResult.FULL) {
+            throw new IllegalArgumentException("The static block " + name + " does not fit into a page");
+        }
+        checkPageIndependence(renderer);
+
+        Rectangle occupiedBBox = result.getOccupiedArea().getBBox();
+        renderer.move(-occupiedBBox.getX(), -occupiedBBox.getY());
+        PdfDocument pdfDocument = document.getPdfDocument();
+        PdfFormXObject xObject = new PdfFormXObject(new Rectangle(0, 0, occupiedBBox.getWidth(), occupiedBBox.getHeight()));
+        renderer.draw(new DrawContext(pdfDocument, new PdfCanvas(xObject, pdfDocument), false));
+        staticBlocks.put(name, xObject);
+        return this;
+    }
+
+    /**
+     * Gets the form into which a static block has been drawn. Its bounding box is the area occupied by the block.
+     *
+     * @param name the name of the block
+     * @return the {@link PdfFormXObject} of the block
+     */
+    public PdfFormXObject getStaticBlock(String name) {
+        PdfFormXObject xObject = staticBlocks.get(name);
+        if (xObject == null) {
+            throw new IllegalArgumentException("The template has no static block " + name);
+        }
+        return xObject;
+    }
+
+    /**
+     * Creates an instance of a static block which can be added to the document the same way as the block itself,
+     * or put on a fixed position with {@link Image#setFixedPosition(int, float, float)}.
+     * In a tagged document the instance is tagged as a figure, see {@link LayoutTemplate}.
+     *
+     * @param name the name of the block
+     * @return a new {@link Image} of the form into which the block has been drawn
+     */
+    public Image createStaticBlock(String name) {
+        return new Image(getStaticBlock(name));
+    }
+
+    private Rectangle getPageEffectiveArea() {
+        return document.getPageEffectiveArea(document.getPdfDocument().getDefaultPageSize());
+    }
+
+    private static void checkPageIndependence(IRenderer renderer) {
+        if (renderer.hasProperty(Property.DESTINATION) || renderer.hasProperty(Property.LINK_ANNOTATION)
+                || renderer.hasProperty(Property.ACTION)) {
+            throw new IllegalArgumentException("A static block cannot contain links, actions or destinations");
+        }
+        for (IRenderer child : renderer.getChildRenderers()) {
+            checkPageIndependence(child);
+        }
+    }
+}
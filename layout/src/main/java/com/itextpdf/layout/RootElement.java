@@ -58,6 +58,7 @@ import com.itextpdf.layout.property.FontKerning;
 import com.itextpdf.layout.property.HorizontalAlignment;
 import com.itextpdf.layout.property.Leading;
 import com.itextpdf.layout.property.Property;
+import com.itextpdf.layout.property.PropertyMap;
 import com.itextpdf.layout.property.TextAlignment;
 import com.itextpdf.layout.property.VerticalAlignment;
 import com.itextpdf.layout.renderer.IRenderer;
@@ -68,7 +69,6 @@ import com.itextpdf.layout.splitting.ISplitCharacters;
 import java.io.Closeable;
 import java.io.IOException;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -88,7 +88,7 @@ public abstract class RootElement<T extends IPropertyContainer> extends ElementP
      * @deprecated This field just hides the same field from {@link ElementPropertyContainer}
      */
     @Deprecated
-    protected Map<Integer, Object> properties = new HashMap<>();
+    protected Map<Integer, Object> properties = new PropertyMap();
 
     protected PdfFont defaultFont;
     protected ISplitCharacters defaultSplitCharacters;
@@ -48,6 +48,7 @@ import com.itextpdf.kernel.pdf.tagutils.AccessibilityProperties;
 import com.itextpdf.layout.border.Border;
 import com.itextpdf.layout.border.SolidBorder;
 import com.itextpdf.layout.property.Property;
+import com.itextpdf.layout.property.PropertyMap;
 import com.itextpdf.layout.renderer.CellRenderer;
 import com.itextpdf.layout.renderer.IRenderer;
 import org.slf4j.Logger;
@@ -55,7 +56,6 @@ import org.slf4j.LoggerFactory;
 
 import java.text.MessageFormat;
 import java.util.ArrayList;
-import java.util.HashMap;
 
 /**
  * A {@link Cell} is one piece of data in an enclosing grid, the {@link Table}.
@@ -205,7 +205,7 @@ public class Cell extends BlockElement<Cell> {
         Cell newCell = new Cell(rowspan, colspan);
         newCell.row = row;
         newCell.col = col;
-        newCell.properties = new HashMap<>(properties);
+        newCell.properties = new PropertyMap(properties);
         if (includeContent) {
             newCell.childElements = new ArrayList<>(childElements);
         }
@@ -593,17 +593,17 @@ public class Table extends BlockElement<Table> implements ILargeElement {
         int firstRow = lastAddedRowGroups.get(0).startRow;
         int lastRow = lastAddedRowGroups.get(lastAddedRowGroups.size() - 1).finishRow;
 
-        List<IElement> toRemove = new ArrayList<>();
+        // removing the flushed cells and rows one by one would take quadratic time for a big flushed window
+        List<IElement> remainingCells = new ArrayList<>();
         for (IElement cell : childElements) {
-            if (((Cell)cell).getRow() >= firstRow && ((Cell)cell).getRow() <= lastRow) {
-                toRemove.add(cell);
+            if (((Cell)cell).getRow() < firstRow || ((Cell)cell).getRow() > lastRow) {
+                remainingCells.add(cell);
             }
         }
-        childElements.removeAll(toRemove);
+        childElements.clear();
+        childElements.addAll(remainingCells);
 
-        for (int i = 0; i <= lastRow - firstRow; i++) {
-            rows.remove(firstRow - rowWindowStart);
-        }
+        rows.subList(firstRow - rowWindowStart, lastRow - rowWindowStart + 1).clear();
         rowWindowStart = lastAddedRowGroups.get(lastAddedRowGroups.size() - 1).getFinishRow() + 1;
 
         lastAddedRowGroups = null;
@@ -60,6 +60,7 @@ public final class FontCharacteristics {
         this.isBold = other.isBold;
         this.fontWeight = other.fontWeight;
         this.undefined = other.undefined;
+        this.isMonospace = other.isMonospace;
     }
 
     public FontCharacteristics setFontWeight(FontWeight fw) {
@@ -43,6 +43,7 @@
 package com.itextpdf.layout.font;
 
 import com.itextpdf.io.font.FontCacheKey;
+import com.itextpdf.io.font.FontMetadataIndex;
 import com.itextpdf.io.font.FontProgram;
 import com.itextpdf.io.font.FontProgramDescriptor;
 import com.itextpdf.io.font.FontProgramDescriptorFactory;
@@ -83,10 +84,18 @@ public final class FontInfo {
     }
 
     static FontInfo create(String fontName, String encoding) {
+        return create(fontName, encoding, null);
+    }
+
+    static FontInfo create(String fontName, String encoding, FontMetadataIndex metadataIndex) {
         FontCacheKey cacheKey = FontCacheKey.create(fontName);
         FontProgramDescriptor descriptor = getFontNamesFromCache(cacheKey);
         if (descriptor == null) {
-            descriptor = FontProgramDescriptorFactory.fetchDescriptor(fontName);
+            if (metadataIndex != null && isIndexedFontFile(fontName)) {
+                descriptor = metadataIndex.fetchDescriptor(fontName);
+            } else {
+                descriptor = FontProgramDescriptorFactory.fetchDescriptor(fontName);
+            }
             putFontNamesToCache(cacheKey, descriptor);
         }
         return descriptor != null ? new FontInfo(fontName, null, encoding, descriptor) : null;
@@ -162,6 +171,12 @@ public final class FontInfo {
         return result;
     }
 
+    private static boolean isIndexedFontFile(String fontName) {
+        String lowerCaseName = fontName.toLowerCase();
+        return lowerCaseName.endsWith(".ttf") || lowerCaseName.endsWith(".otf") || lowerCaseName.indexOf(".ttc,") > 0
+                || lowerCaseName.endsWith(".afm") || lowerCaseName.endsWith(".pfm");
+    }
+
     private static FontProgramDescriptor getFontNamesFromCache(FontCacheKey key) {
         return fontNamesCache.get(key);
     }
@@ -191,13 +191,16 @@ public class FontProvider {
      */
     public final FontSelector getFontSelector(List<String> fontFamilies, FontCharacteristics fc) {
         FontSelectorKey key = new FontSelectorKey(fontFamilies, fc);
-        if (fontSet.getFontSelectorCache().containsKey(key)) {
-            return fontSet.getFontSelectorCache().get(key);
-        } else {
-            FontSelector fontSelector = createFontSelector(fontSet.getFonts(), fontFamilies, fc);
-            fontSet.getFontSelectorCache().put(key, fontSelector);
-            return fontSelector;
+        FontSelector fontSelector = fontSet.getFontSelectorCache().get(key);
+        if (fontSelector == null) {
+            fontSelector = createFontSelector(fontSet.getFonts(), fontFamilies, fc);
+            // the font set may be shared by several providers, the first created selector wins
+            FontSelector cachedSelector = fontSet.getFontSelectorCache().putIfAbsent(key, fontSelector);
+            if (cachedSelector != null) {
+                fontSelector = cachedSelector;
+            }
         }
+        return fontSelector;
     }
 
     /**
@@ -220,7 +223,7 @@ public class FontProvider {
      * @return cached or new instance of {@link PdfFont}.
      * @throws IOException on I/O exceptions in {@link FontProgramFactory}.
      */
-    protected PdfFont getPdfFont(FontInfo fontInfo) throws IOException {
+    protected synchronized PdfFont getPdfFont(FontInfo fontInfo) throws IOException {
         if (pdfFonts.containsKey(fontInfo)) {
             return pdfFonts.get(fontInfo);
         } else {
@@ -45,11 +45,16 @@ package com.itextpdf.layout.font;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 /**
  * Sort given set of fonts according to font name and style.
+ * <p>
+ * The sorted fonts are not modified after creation, so the instance, cached in {@link FontSet},
+ * is shared by all documents and threads which use the font set.
  */
 public class FontSelector {
 
@@ -85,13 +90,22 @@ public class FontSelector {
         return new PdfFontComparator(fontFamilies, fc);
     }
 
+    /**
+     * Compares fonts by their similarity to each of the font families in turn.
+     * The similarities of a font are calculated once, on first comparison, rather than on each comparison.
+     */
     private static class PdfFontComparator implements Comparator<FontInfo> {
         List<String> fontFamilies;
         List<FontCharacteristics> fontStyles;
+        Map<FontInfo, int[]> similarities = new IdentityHashMap<>();
 
         PdfFontComparator(List<String> fontFamilies, FontCharacteristics fc) {
             this.fontFamilies = new ArrayList<>();
             this.fontStyles = new ArrayList<>();
+            // the characteristics are shared by the selector cache key, so they are not modified
+            if (fc != null) {
+                fc = new FontCharacteristics(fc);
+            }
             if (fontFamilies != null && fontFamilies.size() > 0) {
                 for (String fontFamily : fontFamilies) {
                     String lowercaseFontFamily = fontFamily.toLowerCase();
@@ -102,25 +116,36 @@ public class FontSelector {
                 this.fontFamilies.add("");
                 this.fontStyles.add(fc);
             }
+            for (int i = 0; i < this.fontFamilies.size(); i++) {
+                if (this.fontFamilies.get(i).equals("monospace")) {
+                    this.fontStyles.get(i).setMonospaceFlag(true);
+                }
+            }
         }
 
         @Override
         public int compare(FontInfo o1, FontInfo o2) {
-            int res = 0;
-            for (int i = 0; i < fontFamilies.size() && res == 0; i++) {
-                FontCharacteristics fc = fontStyles.get(i);
-                String fontName = fontFamilies.get(i);
-
-                if (fontName.equalsIgnoreCase("monospace")) {
-                    fc.setMonospaceFlag(true);
-                }
-
-                res = characteristicsSimilarity(fontName, fc, o2) - characteristicsSimilarity(fontName, fc, o1);
+            int[] similarity1 = getSimilarities(o1);
+            int[] similarity2 = getSimilarities(o2);
+            for (int i = 0; i < similarity1.length; i++) {
+                int res = similarity2[i] - similarity1[i];
                 if (res != 0) {
                     return res;
                 }
             }
-            return res;
+            return 0;
+        }
+
+        private int[] getSimilarities(FontInfo fontInfo) {
+            int[] result = similarities.get(fontInfo);
+            if (result == null) {
+                result = new int[fontFamilies.size()];
+                for (int i = 0; i < result.length; i++) {
+                    result[i] = characteristicsSimilarity(fontFamilies.get(i), fontStyles.get(i), fontInfo);
+                }
+                similarities.put(fontInfo, result);
+            }
+            return result;
         }
 
         private static FontCharacteristics parseFontStyle(String fontFamily, FontCharacteristics fc) {
@@ -56,7 +56,7 @@ final class FontSelectorKey {
 
     public FontSelectorKey(List<String> fontFamilies, FontCharacteristics fc) {
         this.fontFamilies = new ArrayList<>(fontFamilies);
-        this.fc = fc;
+        this.fc = fc != null ? new FontCharacteristics(fc) : null;
     }
 
     @Override
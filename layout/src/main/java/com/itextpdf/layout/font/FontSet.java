@@ -42,6 +42,7 @@
  */
 package com.itextpdf.layout.font;
 
+import com.itextpdf.io.font.FontMetadataIndex;
 import com.itextpdf.io.font.FontProgram;
 import com.itextpdf.io.util.FileUtil;
 
@@ -49,6 +50,8 @@ import java.util.HashMap;
 import java.util.LinkedHashSet;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * Reusable font set for FontProgram related data.
@@ -59,7 +62,8 @@ public class FontSet {
 
     private Set<FontInfo> fonts = new LinkedHashSet<>();
     private Map<FontInfo, FontProgram> fontPrograms = new HashMap<>();
-    private Map<FontSelectorKey, FontSelector> fontSelectorCache = new HashMap<>();
+    private ConcurrentMap<FontSelectorKey, FontSelector> fontSelectorCache = new ConcurrentHashMap<>();
+    private FontMetadataIndex metadataIndex;
 
     public int addDirectory(String dir, boolean scanSubdirectories) {
         int count = 0;
@@ -83,6 +87,9 @@ public class FontSet {
             } catch (Exception ignored) {
             }
         }
+        if (metadataIndex != null) {
+            metadataIndex.saveQuietly();
+        }
         return count;
     }
 
@@ -90,6 +97,21 @@ public class FontSet {
         return addDirectory(dir, false);
     }
 
+    /**
+     * Sets a persistent index of font metadata. Fonts added by path take their descriptors from the index
+     * instead of parsing the font files, unless a file is new or has changed.
+     * The index is saved after each added directory.
+     *
+     * @param metadataIndex the index, or {@code null} to parse the font files
+     */
+    public void setFontMetadataIndex(FontMetadataIndex metadataIndex) {
+        this.metadataIndex = metadataIndex;
+    }
+
+    public FontMetadataIndex getFontMetadataIndex() {
+        return metadataIndex;
+    }
+
     /**
      * Add not supported for auto creating FontPrograms.
      *
@@ -130,7 +152,7 @@ public class FontSet {
 
     boolean addFont(String fontName, byte[] fontProgram, String encoding) {
         if (fontName != null) {
-            return addFontInfo(FontInfo.create(fontName, encoding));
+            return addFontInfo(FontInfo.create(fontName, encoding, metadataIndex));
         } else if (fontProgram != null) {
             return addFontInfo(FontInfo.create(fontProgram, encoding));
         } else {
@@ -142,7 +164,7 @@ public class FontSet {
         return fontPrograms;
     }
 
-    Map<FontSelectorKey, FontSelector> getFontSelectorCache() {
+    ConcurrentMap<FontSelectorKey, FontSelector> getFontSelectorCache() {
         return fontSelectorCache;
     }
 
@@ -0,0 +1,229 @@
+/*
+
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2017 iText Group NV
+    Authors: Bruno Lowagie, Paulo Soares, et al.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.layout.hyphenation;
+
+import com.itextpdf.io.util.ResourceUtil;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+
+/**
+ * Binary form of a {@link HyphenationTree}, produced at build time by {@link HyphenationTreeCompiler}.
+ * It contains the already balanced and packed node arrays of the pattern tree, the interletter values,
+ * the character classes and the exceptions, so that loading it requires neither XML parsing
+ * nor building the ternary trees.
+ */
+final class CompiledHyphenationTree {
+
+    /**
+     * The suffix of a compiled hyphenation tree resource, which is placed next to the XML patterns file.
+     */
+    static final String SUFFIX = ".bin";
+
+    private static final int MAGIC = 0x48595048;
+    private static final int VERSION = 1;
+
+    private static final byte STRING_ELEMENT = 0;
+    private static final byte HYPHEN_ELEMENT = 1;
+
+    private CompiledHyphenationTree() {
+    }
+
+    /**
+     * Loads the hyphenation tree from the compiled resource, if there is one.
+     *
+     * @param resourcePath the path of the compiled resource
+     * @return the hyphenation tree or {@code null} if there is no such resource or it has an unknown version
+     * @throws IOException on error
+     */
+    static HyphenationTree load(String resourcePath) throws IOException {
+        InputStream resource = ResourceUtil.getResourceStream(resourcePath);
+        if (resource == null) {
+            return null;
+        }
+        return read(resource);
+    }
+
+    /**
+     * Reads a compiled hyphenation tree. The stream is closed.
+     *
+     * @param stream the stream to read from
+     * @return the hyphenation tree or {@code null} if the data has an unknown version
+     * @throws IOException on error
+     */
+    static HyphenationTree read(InputStream stream) throws IOException {
+        DataInputStream in = new DataInputStream(new BufferedInputStream(stream));
+        try {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                return null;
+            }
+            HyphenationTree tree = new HyphenationTree();
+            readTernaryTree(in, tree);
+            readTernaryTree(in, tree.classmap);
+            byte[] values = new byte[in.readInt()];
+            in.readFully(values);
+            tree.vspace = new ByteVector(values.length + 1);
+            tree.vspace.alloc(values.length);
+            System.arraycopy(values, 0, tree.vspace.getArray(), 0, values.length);
+            tree.vspace.trimToSize();
+            int exceptionCount = in.readInt();
+            tree.stoplist = new HashMap<>(exceptionCount * 4 / 3 + 1);
+            for (int i = 0; i < exceptionCount; i++) {
+                String word = in.readUTF();
+                int size = in.readInt();
+                ArrayList<Object> hyphenatedWord = new ArrayList<>(size);
+                for (int j = 0; j < size; j++) {
+                    if (in.readByte() == HYPHEN_ELEMENT) {
+                        hyphenatedWord.add(new Hyphen(readString(in), readString(in), readString(in)));
+                    } else {
+                        hyphenatedWord.add(in.readUTF());
+                    }
+                }
+                tree.stoplist.put(word, hyphenatedWord);
+            }
+            return tree;
+        } finally {
+            in.close();
+        }
+    }
+
+    /**
+     * Writes the compiled form of a hyphenation tree loaded from patterns.
+     *
+     * @param tree the hyphenation tree
+     * @param out  the stream to write to, it isn't closed
+     * @throws IOException on error
+     */
+    static void write(HyphenationTree tree, OutputStream out) throws IOException {
+        DataOutputStream data = new DataOutputStream(out);
+        data.writeInt(MAGIC);
+        data.writeInt(VERSION);
+        writeTernaryTree(data, tree);
+        writeTernaryTree(data, tree.classmap);
+        data.writeInt(tree.vspace.length());
+        data.write(tree.vspace.getArray(), 0, tree.vspace.length());
+        data.writeInt(tree.stoplist.size());
+        for (String word : tree.stoplist.keySet()) {
+            data.writeUTF(word);
+            List<?> hyphenatedWord = tree.stoplist.get(word);
+            data.writeInt(hyphenatedWord.size());
+            for (Object element : hyphenatedWord) {
+                if (element instanceof Hyphen) {
+                    Hyphen hyphen = (Hyphen) element;
+                    data.writeByte(HYPHEN_ELEMENT);
+                    writeString(data, hyphen.preBreak);
+                    writeString(data, hyphen.noBreak);
+                    writeString(data, hyphen.postBreak);
+                } else {
+                    data.writeByte(STRING_ELEMENT);
+                    data.writeUTF((String) element);
+                }
+            }
+        }
+        data.flush();
+    }
+
+    private static void readTernaryTree(DataInputStream in, TernaryTree tree) throws IOException {
+        tree.root = in.readChar();
+        tree.freenode = in.readChar();
+        tree.length = in.readInt();
+        int nodeCount = in.readInt();
+        tree.lo = readChars(in, nodeCount);
+        tree.hi = readChars(in, nodeCount);
+        tree.eq = readChars(in, nodeCount);
+        tree.sc = readChars(in, nodeCount);
+        tree.kv = new CharVector(readChars(in, in.readInt()));
+    }
+
+    private static void writeTernaryTree(DataOutputStream out, TernaryTree tree) throws IOException {
+        out.writeChar(tree.root);
+        out.writeChar(tree.freenode);
+        out.writeInt(tree.length);
+        int nodeCount = tree.lo.length;
+        out.writeInt(nodeCount);
+        writeChars(out, tree.lo, nodeCount);
+        writeChars(out, tree.hi, nodeCount);
+        writeChars(out, tree.eq, nodeCount);
+        writeChars(out, tree.sc, nodeCount);
+        out.writeInt(tree.kv.length());
+        writeChars(out, tree.kv.getArray(), tree.kv.length());
+    }
+
+    private static char[] readChars(DataInputStream in, int length) throws IOException {
+        byte[] bytes = new byte[length * 2];
+        in.readFully(bytes);
+        char[] chars = new char[length];
+        for (int i = 0, k = 0; i < length; i++, k += 2) {
+            chars[i] = (char) ((bytes[k] & 0xff) << 8 | bytes[k + 1] & 0xff);
+        }
+        return chars;
+    }
+
+    private static void writeChars(DataOutputStream out, char[] chars, int length) throws IOException {
+        byte[] bytes = new byte[length * 2];
+        for (int i = 0, k = 0; i < length; i++, k += 2) {
+            bytes[k] = (byte) (chars[i] >> 8);
+            bytes[k + 1] = (byte) chars[i];
+        }
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+}
@@ -0,0 +1,170 @@
+/*
+
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2017 iText Group NV
+    Authors: Bruno Lowagie, Paulo Soares, et al.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.layout.hyphenation;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bounded cache of hyphenation results of a single {@link HyphenationTree}, keyed by the word
+ * and the minimum numbers of characters before and after the hyphenation point.
+ * The entries are split between several independently locked LRU segments,
+ * so that threads hyphenating text of the same language rarely wait for each other.
+ */
+final class HyphenatedWordCache {
+
+    /**
+     * The maximum number of cached words per hyphenation tree.
+     */
+    static final int MAX_SIZE = 16384;
+
+    private static final int SEGMENT_COUNT = 16;
+
+    /**
+     * Marks words which can't be hyphenated.
+     */
+    private static final Hyphenation NOT_HYPHENATED = new Hyphenation("", new int[0]);
+
+    private final Segment[] segments;
+
+    HyphenatedWordCache() {
+        segments = new Segment[SEGMENT_COUNT];
+        for (int i = 0; i < SEGMENT_COUNT; i++) {
+            segments[i] = new Segment(MAX_SIZE / SEGMENT_COUNT);
+        }
+    }
+
+    /**
+     * Hyphenates the word with the tree unless the result is already cached.
+     *
+     * @param tree            the tree the cache belongs to
+     * @param word            the word to be hyphenated
+     * @param remainCharCount minimum number of characters allowed before the hyphenation point
+     * @param pushCharCount   minimum number of characters allowed after the hyphenation point
+     * @return the hyphenated word or {@code null} if the word is not hyphenated
+     */
+    Hyphenation hyphenate(HyphenationTree tree, String word, int remainCharCount, int pushCharCount) {
+        Key key = new Key(word, remainCharCount, pushCharCount);
+        Segment segment = getSegment(key);
+        Hyphenation hyphenation;
+        synchronized (segment) {
+            hyphenation = segment.get(key);
+        }
+        if (hyphenation == null) {
+            // computed outside of the lock, concurrent misses of the same word produce equal results
+            hyphenation = tree.hyphenateWord(word, remainCharCount, pushCharCount);
+            if (hyphenation == null) {
+                hyphenation = NOT_HYPHENATED;
+            }
+            synchronized (segment) {
+                segment.put(key, hyphenation);
+            }
+        }
+        // the points array of a hyphenation is exposed, so every caller gets its own copy
+        return hyphenation == NOT_HYPHENATED ? null : new Hyphenation(hyphenation);
+    }
+
+    int size() {
+        int size = 0;
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                size += segment.size();
+            }
+        }
+        return size;
+    }
+
+    private Segment getSegment(Key key) {
+        int hash = key.hashCode();
+        hash ^= hash >>> 16;
+        return segments[hash & (SEGMENT_COUNT - 1)];
+    }
+
+    private static final class Key {
+        private final String word;
+        private final int remainCharCount;
+        private final int pushCharCount;
+        private final int hashCode;
+
+        Key(String word, int remainCharCount, int pushCharCount) {
+            this.word = word;
+            this.remainCharCount = remainCharCount;
+            this.pushCharCount = pushCharCount;
+            this.hashCode = (word.hashCode() * 31 + remainCharCount) * 31 + pushCharCount;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            Key other = (Key) o;
+            return remainCharCount == other.remainCharCount && pushCharCount == other.pushCharCount && word.equals(other.word);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+
+    private static class Segment extends LinkedHashMap<Key, Hyphenation> {
+        private static final long serialVersionUID = 4587396457296102436L;
+
+        private final int maxSize;
+
+        Segment(int maxSize) {
+            super(16, 0.75f, true);
+            this.maxSize = maxSize;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Key, Hyphenation> eldest) {
+            return size() > maxSize;
+        }
+    }
+}
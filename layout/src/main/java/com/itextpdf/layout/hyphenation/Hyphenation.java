@@ -42,6 +42,10 @@ public class Hyphenation {
         len = points.length;
     }
 
+    Hyphenation(Hyphenation other) {
+        this(other.word, other.hyphenPoints.clone());
+    }
+
     /**
      * @return the number of hyphenation points in the word
      */
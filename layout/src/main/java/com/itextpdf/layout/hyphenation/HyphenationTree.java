@@ -59,6 +59,11 @@ public class HyphenationTree extends TernaryTree implements IPatternConsumer {
      */
     private transient TernaryTree ivalues;
 
+    /**
+     * Recent hyphenation results of this tree, created on the first use.
+     */
+    private transient volatile HyphenatedWordCache wordCache;
+
     /** Default constructor. */
     public HyphenationTree() {
         stoplist = new HashMap<>(23);
@@ -308,9 +313,23 @@ public class HyphenationTree extends TernaryTree implements IPatternConsumer {
      * the hyphenation point.
      * @return a {@link Hyphenation Hyphenation} object representing
      * the hyphenated word or null if word is not hyphenated.
+     * The results of the recently hyphenated words are cached.
      */
     public Hyphenation hyphenate(String word, int remainCharCount,
                                  int pushCharCount) {
+        HyphenatedWordCache cache = wordCache;
+        if (cache == null) {
+            synchronized (this) {
+                if (wordCache == null) {
+                    wordCache = new HyphenatedWordCache();
+                }
+                cache = wordCache;
+            }
+        }
+        return cache.hyphenate(this, word, remainCharCount, pushCharCount);
+    }
+
+    Hyphenation hyphenateWord(String word, int remainCharCount, int pushCharCount) {
         char[] w = word.toCharArray();
         if (isMultiPartWord(w, w.length)) {
             List<char[]> words = splitOnNonCharacters(w);
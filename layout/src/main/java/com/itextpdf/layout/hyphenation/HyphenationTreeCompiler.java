@@ -0,0 +1,160 @@
+/*
+
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2017 iText Group NV
+    Authors: Bruno Lowagie, Paulo Soares, et al.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.layout.hyphenation;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * Compiles XML hyphenation pattern files to the binary form, which is loaded instead of parsing
+ * the patterns and building the hyphenation tree. It is run during the build of the module
+ * that contains the hyphenation resources:
+ * <pre>
+ * java com.itextpdf.layout.hyphenation.HyphenationTreeCompiler &lt;patterns directory&gt; &lt;output directory&gt;
+ * </pre>
+ * Pattern files without a compiled form are parsed as before.
+ */
+public final class HyphenationTreeCompiler {
+
+    private static final String PATTERNS_SUFFIX = ".xml";
+
+    private HyphenationTreeCompiler() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("Usage: HyphenationTreeCompiler <patterns directory> <output directory>");
+            System.exit(1);
+        }
+        int count = compileDirectory(args[0], args[1]);
+        System.out.println("Compiled " + count + " hyphenation trees to " + args[1]);
+    }
+
+    /**
+     * Compiles all XML pattern files of the directory.
+     * Pattern files that can't be parsed are skipped and reported together.
+     *
+     * @param sourceDir the directory with the XML pattern files
+     * @param targetDir the directory to write the compiled trees to
+     * @return the number of compiled trees
+     * @throws IOException on I/O error
+     */
+    public static int compileDirectory(String sourceDir, String targetDir) throws IOException {
+        File[] files = new File(sourceDir).listFiles();
+        if (files == null) {
+            throw new FileNotFoundException(sourceDir);
+        }
+        File target = new File(targetDir);
+        if (!target.isDirectory() && !target.mkdirs()) {
+            throw new IOException("Cannot create directory " + targetDir);
+        }
+        int count = 0;
+        StringBuilder skipped = new StringBuilder();
+        HyphenationException firstFailure = null;
+        for (File file : files) {
+            String name = file.getName();
+            if (file.isFile() && name.endsWith(PATTERNS_SUFFIX)) {
+                String key = name.substring(0, name.length() - PATTERNS_SUFFIX.length());
+                File compiled = new File(target, key + CompiledHyphenationTree.SUFFIX);
+                OutputStream out = new BufferedOutputStream(new FileOutputStream(compiled));
+                boolean done = false;
+                try {
+                    compile(new FileInputStream(file), name, out);
+                    done = true;
+                } catch (HyphenationException e) {
+                    // such patterns fail at runtime the same way, they are left to be parsed as before
+                    skipped.append(' ').append(name);
+                    if (firstFailure == null) {
+                        firstFailure = e;
+                    }
+                } finally {
+                    out.close();
+                    if (!done) {
+                        compiled.delete();
+                    }
+                }
+                if (done) {
+                    count++;
+                }
+            }
+        }
+        if (firstFailure != null) {
+            // patterns without their own character classes read them from classes.xml, which may be missing
+            String reason = firstFailure.getClass().getName();
+            if (firstFailure.getMessage() != null) {
+                reason += ": " + firstFailure.getMessage();
+            }
+            if (PatternParser.class.getResource("classes.xml") == null) {
+                reason += ", classes.xml is not available";
+            }
+            System.err.println("Skipped pattern files which can't be parsed (" + reason + "):" + skipped);
+        }
+        return count;
+    }
+
+    /**
+     * Compiles XML hyphenation patterns.
+     *
+     * @param patterns the stream with the XML patterns, it is closed
+     * @param name     the name of the patterns used in error messages
+     * @param out      the stream to write the compiled tree to, it isn't closed
+     * @throws IOException          on I/O error
+     * @throws HyphenationException if the patterns can't be parsed
+     */
+    public static void compile(InputStream patterns, String name, OutputStream out) throws IOException, HyphenationException {
+        HyphenationTree tree = new HyphenationTree();
+        try {
+            tree.loadPatterns(patterns, name);
+        } finally {
+            patterns.close();
+        }
+        CompiledHyphenationTree.write(tree, out);
+    }
+}
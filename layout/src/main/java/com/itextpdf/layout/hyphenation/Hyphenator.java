@@ -28,6 +28,7 @@ import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
  * <p>This class is the main entry point to the hyphenation package.
@@ -48,9 +49,9 @@ public final class Hyphenator {
      */
     private static Logger log = LoggerFactory.getLogger(Hyphenator.class);
 
-    private static HyphenationTreeCache hTreeCache;
+    private static volatile HyphenationTreeCache hTreeCache;
 
-    private static List<String> additionalHyphenationFileDirectories;
+    private static volatile List<String> additionalHyphenationFileDirectories;
 
     protected String lang;
     protected String country;
@@ -95,7 +96,7 @@ public final class Hyphenator {
     public static void registerAdditionalHyphenationFileDirectory(String directory) {
         synchronized (staticLock) {
             if (additionalHyphenationFileDirectories == null) {
-                additionalHyphenationFileDirectories = new ArrayList<>();
+                additionalHyphenationFileDirectories = new CopyOnWriteArrayList<>();
             }
             additionalHyphenationFileDirectories.add(directory);
         }
@@ -107,12 +108,16 @@ public final class Hyphenator {
      * @return the default (static) hyphenation tree cache
      */
     public static HyphenationTreeCache getHyphenationTreeCache() {
-        synchronized (staticLock) {
-            if (hTreeCache == null) {
-                hTreeCache = new HyphenationTreeCache();
+        HyphenationTreeCache cache = hTreeCache;
+        if (cache == null) {
+            synchronized (staticLock) {
+                if (hTreeCache == null) {
+                    hTreeCache = new HyphenationTreeCache();
+                }
+                cache = hTreeCache;
             }
         }
-        return hTreeCache;
+        return cache;
     }
 
     /**
@@ -194,7 +199,7 @@ public final class Hyphenator {
 
         HyphenationTree hTree;
         // first try to find it in the cache
-        hTree = getHyphenationTreeCache().getHyphenationTree(lang, country);
+        hTree = cache.getHyphenationTree(lang, country);
         if (hTree != null) {
             return hTree;
         }
@@ -204,8 +209,9 @@ public final class Hyphenator {
             key = llccKey;
         }
 
-        if (additionalHyphenationFileDirectories != null) {
-            for (String dir : additionalHyphenationFileDirectories) {
+        List<String> additionalDirectories = additionalHyphenationFileDirectories;
+        if (additionalDirectories != null) {
+            for (String dir : additionalDirectories) {
                 hTree = getHyphenationTree(dir, key);
                 if (hTree != null) {
                     break;
@@ -213,6 +219,11 @@ public final class Hyphenator {
             }
         }
 
+        if (hTree == null) {
+            // get the precompiled tree from the default directory
+            hTree = getCompiledHyphenationTree(key);
+        }
+
         if (hTree == null) {
             // get from the default directory
             InputStream defaultHyphenationResourceStream = ResourceUtil.getResourceStream(HYPHENATION_DEFAULT_RESOURCE + key + ".xml");
@@ -250,6 +261,16 @@ public final class Hyphenator {
         }
     }
 
+    private static HyphenationTree getCompiledHyphenationTree(String key) {
+        String name = HYPHENATION_DEFAULT_RESOURCE + key + CompiledHyphenationTree.SUFFIX;
+        try {
+            return CompiledHyphenationTree.load(name);
+        } catch (IOException ioe) {
+            log.error("Can't load compiled hyphenation tree " + name + ": " + ioe.getMessage());
+            return null;
+        }
+    }
+
     /**
      * Load tree from the stream.
      *
@@ -109,6 +109,7 @@ public final class Property {
     public static final int ITALIC_SIMULATION = 31;
     public static final int KEEP_TOGETHER = 32;
     public static final int KEEP_WITH_NEXT = 81;
+    public static final int LAYOUT_STATISTICS = 98;
     public static final int LEADING = 33;
     public static final int LEFT = 34;
     public static final int LINE_DRAWER = 35;
@@ -178,7 +179,7 @@ public final class Property {
      * related to textual operations. Indicates whether or not this type of property is inheritable.
      */
     private static final boolean[] INHERITED_PROPERTIES;
-    private static final int MAX_INHERITED_PROPERTY_ID = 95;
+    private static final int MAX_INHERITED_PROPERTY_ID = 98;
 
     static {
         INHERITED_PROPERTIES = new boolean[MAX_INHERITED_PROPERTY_ID + 1];
@@ -201,6 +202,7 @@ public final class Property {
         INHERITED_PROPERTIES[Property.HYPHENATION] = true;
         INHERITED_PROPERTIES[Property.ITALIC_SIMULATION] = true;
         INHERITED_PROPERTIES[Property.KEEP_TOGETHER] = true;
+        INHERITED_PROPERTIES[Property.LAYOUT_STATISTICS] = true;
         INHERITED_PROPERTIES[Property.LEADING] = true;
         INHERITED_PROPERTIES[Property.LIST_SYMBOL] = true;
         INHERITED_PROPERTIES[Property.LIST_SYMBOL_PRE_TEXT] = true;
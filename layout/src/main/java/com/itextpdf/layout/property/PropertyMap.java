@@ -0,0 +1,318 @@
+/*
+
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2017 iText Group NV
+    Authors: Bruno Lowagie, Paulo Soares, et al.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.layout.property;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * A map of the properties of a layout element or renderer which stores the values in an array
+ * indexed by the {@link Property} constants. Unlike {@link HashMap} it neither hashes the keys
+ * nor allocates an entry per value, and the keys of all the properties are cached {@link Integer} instances.
+ * Keys which are out of the range of the {@link Property} constants are kept in a {@link HashMap}.
+ */
+public class PropertyMap extends AbstractMap<Integer, Object> {
+
+    private static final int MAX_INDEXED_PROPERTY = 127;
+
+    private static final Object NULL_VALUE = new Object();
+
+    private Object[] values;
+    private int indexedSize;
+    private Map<Integer, Object> otherValues;
+    private transient Set<Entry<Integer, Object>> entrySet;
+
+    /**
+     * Creates an empty map.
+     */
+    public PropertyMap() {
+    }
+
+    /**
+     * Creates a map with the same properties as the given map.
+     *
+     * @param properties the properties to be copied
+     */
+    public PropertyMap(Map<Integer, ?> properties) {
+        if (properties instanceof PropertyMap) {
+            PropertyMap other = (PropertyMap) properties;
+            if (other.values != null) {
+                values = other.values.clone();
+            }
+            indexedSize = other.indexedSize;
+            if (other.otherValues != null) {
+                otherValues = new HashMap<>(other.otherValues);
+            }
+        } else {
+            for (Entry<Integer, ?> entry : properties.entrySet()) {
+                putValue(entry.getKey(), entry.getValue());
+            }
+        }
+    }
+
+    @Override
+    public int size() {
+        return indexedSize + (otherValues != null ? otherValues.size() : 0);
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        if (isIndexed(key)) {
+            int property = (Integer) key;
+            return values != null && property < values.length && values[property] != null;
+        }
+        return otherValues != null && otherValues.containsKey(key);
+    }
+
+    @Override
+    public Object get(Object key) {
+        if (isIndexed(key)) {
+            int property = (Integer) key;
+            return values != null && property < values.length ? unmask(values[property]) : null;
+        }
+        return otherValues != null ? otherValues.get(key) : null;
+    }
+
+    @Override
+    public Object put(Integer key, Object value) {
+        return putValue(key, value);
+    }
+
+    @Override
+    public Object remove(Object key) {
+        if (!containsKey(key)) {
+            return null;
+        }
+        Object previousValue;
+        if (isIndexed(key)) {
+            int property = (Integer) key;
+            previousValue = unmask(values[property]);
+            values[property] = null;
+            indexedSize--;
+        } else {
+            previousValue = otherValues.remove(key);
+        }
+        return previousValue;
+    }
+
+    @Override
+    public void clear() {
+        if (size() == 0) {
+            return;
+        }
+        if (values != null) {
+            Arrays.fill(values, null);
+        }
+        indexedSize = 0;
+        otherValues = null;
+    }
+
+    @Override
+    public Set<Entry<Integer, Object>> entrySet() {
+        if (entrySet == null) {
+            entrySet = new EntrySet();
+        }
+        return entrySet;
+    }
+
+    private Object putValue(Integer key, Object value) {
+        if (!isIndexed(key)) {
+            if (otherValues == null) {
+                otherValues = new HashMap<>();
+            }
+            return otherValues.put(key, value);
+        }
+        int property = (int) key;
+        if (values == null || property >= values.length) {
+            // most of the properties are set rarely, so the array grows up to the largest key only
+            int length = values != null ? Math.max(property + 1, Math.min(values.length * 2, MAX_INDEXED_PROPERTY + 1)) : property + 1;
+            values = values != null ? Arrays.copyOf(values, length) : new Object[length];
+        }
+        Object previousValue = values[property];
+        values[property] = value != null ? value : NULL_VALUE;
+        if (previousValue == null) {
+            indexedSize++;
+        }
+        return unmask(previousValue);
+    }
+
+    private static boolean isIndexed(Object key) {
+        if (key instanceof Integer) {
+            int property = (Integer) key;
+            return property >= 0 && property <= MAX_INDEXED_PROPERTY;
+        }
+        return false;
+    }
+
+    private static Object unmask(Object value) {
+        return value == NULL_VALUE ? null : value;
+    }
+
+    private class EntrySet extends AbstractSet<Entry<Integer, Object>> {
+        @Override
+        public Iterator<Entry<Integer, Object>> iterator() {
+            return new EntryIterator();
+        }
+
+        @Override
+        public int size() {
+            return PropertyMap.this.size();
+        }
+
+        @Override
+        public void clear() {
+            PropertyMap.this.clear();
+        }
+    }
+
+    private class EntryIterator implements Iterator<Entry<Integer, Object>> {
+        private int nextProperty = -1;
+        private int lastReturnedProperty = -1;
+        private Iterator<Entry<Integer, Object>> otherIterator;
+
+        EntryIterator() {
+            nextProperty = findProperty(0);
+        }
+
+        @Override
+        public boolean hasNext() {
+            return nextProperty >= 0 || getOtherIterator().hasNext();
+        }
+
+        @Override
+        public Entry<Integer, Object> next() {
+            if (nextProperty >= 0) {
+                lastReturnedProperty = nextProperty;
+                nextProperty = findProperty(nextProperty + 1);
+                return new IndexedEntry(lastReturnedProperty);
+            }
+            lastReturnedProperty = -1;
+            if (!getOtherIterator().hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return otherIterator.next();
+        }
+
+        @Override
+        public void remove() {
+            if (lastReturnedProperty >= 0) {
+                if (values[lastReturnedProperty] == null) {
+                    throw new IllegalStateException();
+                }
+                PropertyMap.this.remove(lastReturnedProperty);
+            } else {
+                // the keys out of the indexed range aren't inherited properties
+                getOtherIterator().remove();
+            }
+        }
+
+        private Iterator<Entry<Integer, Object>> getOtherIterator() {
+            if (otherIterator == null) {
+                otherIterator = otherValues != null ? otherValues.entrySet().iterator() : new HashMap<Integer, Object>().entrySet().iterator();
+            }
+            return otherIterator;
+        }
+
+        private int findProperty(int fromProperty) {
+            if (values != null) {
+                for (int property = fromProperty; property < values.length; property++) {
+                    if (values[property] != null) {
+                        return property;
+                    }
+                }
+            }
+            return -1;
+        }
+    }
+
+    private class IndexedEntry implements Entry<Integer, Object> {
+        private final int property;
+
+        IndexedEntry(int property) {
+            this.property = property;
+        }
+
+        @Override
+        public Integer getKey() {
+            return property;
+        }
+
+        @Override
+        public Object getValue() {
+            return unmask(values[property]);
+        }
+
+        @Override
+        public Object setValue(Object value) {
+            return put(property, value);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Entry)) {
+                return false;
+            }
+            Entry<?, ?> entry = (Entry<?, ?>) o;
+            Object value = getValue();
+            return getKey().equals(entry.getKey()) && (value == null ? entry.getValue() == null : value.equals(entry.getValue()));
+        }
+
+        @Override
+        public int hashCode() {
+            Object value = getValue();
+            return property ^ (value == null ? 0 : value.hashCode());
+        }
+
+        @Override
+        public String toString() {
+            return property + "=" + getValue();
+        }
+    }
+}
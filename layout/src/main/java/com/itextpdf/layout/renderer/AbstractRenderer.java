@@ -67,11 +67,14 @@ import com.itextpdf.layout.font.FontCharacteristics;
 import com.itextpdf.layout.font.FontFamilySplitter;
 import com.itextpdf.layout.font.FontProvider;
 import com.itextpdf.layout.layout.LayoutArea;
+import com.itextpdf.layout.layout.LayoutContext;
 import com.itextpdf.layout.layout.LayoutPosition;
+import com.itextpdf.layout.layout.LayoutResult;
 import com.itextpdf.layout.property.Background;
 import com.itextpdf.layout.property.BackgroundImage;
 import com.itextpdf.layout.property.HorizontalAlignment;
 import com.itextpdf.layout.property.Property;
+import com.itextpdf.layout.property.PropertyMap;
 import com.itextpdf.layout.property.TransparentColor;
 import com.itextpdf.layout.property.UnitValue;
 import org.slf4j.Logger;
@@ -81,7 +84,6 @@ import java.text.MessageFormat;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -102,6 +104,8 @@ public abstract class AbstractRenderer implements IRenderer {
      */
     public static final float INF = 1e6f;
 
+    private static final Object NULL_INHERITED_PROPERTY = new Object();
+
     // TODO linkedList?
     protected List<IRenderer> childRenderers = new ArrayList<>();
     protected List<IRenderer> positionedRenderers = new ArrayList<>();
@@ -109,9 +113,17 @@ public abstract class AbstractRenderer implements IRenderer {
     protected boolean flushed = false;
     protected LayoutArea occupiedArea;
     protected IRenderer parent;
-    protected Map<Integer, Object> properties = new HashMap<>();
+    protected Map<Integer, Object> properties = new PropertyMap();
     protected boolean isLastRendererForModelElement = true;
 
+    // the number of changes of the inherited properties in the tree of renderers of which this renderer is the top
+    private long inheritedPropertiesVersion;
+    // the values of the inherited properties resolved from the parent, see getInheritedProperty
+    private Object[] inheritedPropertiesCache;
+    private IRenderer inheritedPropertiesCacheParent;
+    private AbstractRenderer inheritedPropertiesCacheTop;
+    private long inheritedPropertiesCacheVersion;
+
     /**
      * Creates a renderer.
      */
@@ -134,7 +146,7 @@ public abstract class AbstractRenderer implements IRenderer {
         this.flushed = other.flushed;
         this.occupiedArea = other.occupiedArea != null ? other.occupiedArea.clone() : null;
         this.parent = other.parent;
-        this.properties.putAll(other.properties);
+        this.properties = new PropertyMap(other.properties);
         this.isLastRendererForModelElement = other.isLastRendererForModelElement;
     }
 
@@ -246,7 +258,10 @@ public abstract class AbstractRenderer implements IRenderer {
      */
     @Override
     public void deleteOwnProperty(int property) {
-        properties.remove(property);
+        if (properties.containsKey(property)) {
+            properties.remove(property);
+            onPropertyChanged(property);
+        }
     }
 
     /**
@@ -257,9 +272,11 @@ public abstract class AbstractRenderer implements IRenderer {
     public void deleteProperty(int property) {
         if (properties.containsKey(property)) {
             properties.remove(property);
+            onPropertyChanged(property);
         } else {
-            if (modelElement != null) {
+            if (modelElement != null && modelElement.hasOwnProperty(property)) {
                 modelElement.deleteOwnProperty(property);
+                onPropertyChanged(property);
             }
         }
     }
@@ -277,7 +294,7 @@ public abstract class AbstractRenderer implements IRenderer {
             return (T1) property;
         }
         // TODO in some situations we will want to check inheritance with additional info, such as parent and descendant.
-        if (parent != null && Property.isPropertyInherited(key) && (property = parent.<T1>getProperty(key)) != null) {
+        if (parent != null && Property.isPropertyInherited(key) && (property = getInheritedProperty(key)) != null) {
             return (T1) property;
         }
         property = this.<T1>getDefaultProperty(key);
@@ -287,6 +304,77 @@ public abstract class AbstractRenderer implements IRenderer {
         return modelElement != null ? modelElement.<T1>getDefaultProperty(key) : (T1) (Object) null;
     }
 
+    /**
+     * Gets the value of the inherited property from the parent. The values are cached until the parent is changed
+     * or any of the inherited properties is changed in the tree of renderers, so the parents aren't climbed
+     * on every lookup of the same property during layout. The changes are counted by the top renderer of the tree,
+     * which also starts a new count on each layout pass of a {@link RootRenderer}.
+     */
+    private Object getInheritedProperty(int key) {
+        if (inheritedPropertiesCacheParent != parent || inheritedPropertiesCacheTop == null || inheritedPropertiesCacheTop.parent != null
+                || inheritedPropertiesCacheTop.inheritedPropertiesVersion != inheritedPropertiesCacheVersion) {
+            if (inheritedPropertiesCache != null) {
+                Arrays.fill(inheritedPropertiesCache, null);
+            }
+            inheritedPropertiesCacheParent = parent;
+            inheritedPropertiesCacheTop = getTopRenderer();
+            if (inheritedPropertiesCacheTop == null) {
+                // the tree contains renderers which don't count the changes of their properties
+                return parent.<Object>getProperty(key);
+            }
+            inheritedPropertiesCacheVersion = inheritedPropertiesCacheTop.inheritedPropertiesVersion;
+        }
+        Object property;
+        if (inheritedPropertiesCache != null && key < inheritedPropertiesCache.length && (property = inheritedPropertiesCache[key]) != null) {
+            return property != NULL_INHERITED_PROPERTY ? property : null;
+        }
+        property = parent.<Object>getProperty(key);
+        if (inheritedPropertiesCache == null || key >= inheritedPropertiesCache.length) {
+            inheritedPropertiesCache = inheritedPropertiesCache != null
+                    ? Arrays.copyOf(inheritedPropertiesCache, key + 1) : new Object[key + 1];
+        }
+        inheritedPropertiesCache[key] = property != null ? property : NULL_INHERITED_PROPERTY;
+        return property;
+    }
+
+    /**
+     * Makes the descendants of the top renderer of this renderer's tree resolve their inherited properties again.
+     */
+    void invalidateInheritedProperties() {
+        AbstractRenderer top = getTopRenderer();
+        if (top != null) {
+            top.inheritedPropertiesVersion++;
+        }
+    }
+
+    /**
+     * Gets the number of changes of the inherited properties in the tree of this renderer. As long as both
+     * the top renderer of the tree and the returned value stay the same, the inherited properties stay the same.
+     *
+     * @return the version of the inherited properties, or -1 if the changes are not counted
+     */
+    long getInheritedPropertiesVersion() {
+        AbstractRenderer top = getTopRenderer();
+        return top != null ? top.inheritedPropertiesVersion : -1;
+    }
+
+    /**
+     * Gets the renderer at the top of this renderer's tree, or null if the parents are not all {@link AbstractRenderer}s.
+     */
+    AbstractRenderer getTopRenderer() {
+        AbstractRenderer top = this;
+        while (top.parent instanceof AbstractRenderer) {
+            top = (AbstractRenderer) top.parent;
+        }
+        return top.parent == null ? top : null;
+    }
+
+    private void onPropertyChanged(int property) {
+        if (Property.isPropertyInherited(property)) {
+            invalidateInheritedProperties();
+        }
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -309,7 +397,9 @@ public abstract class AbstractRenderer implements IRenderer {
      */
     @Override
     public void setProperty(int property, Object value) {
-        properties.put(property, value);
+        if (properties.put(property, value) != value) {
+            onPropertyChanged(property);
+        }
     }
 
     /**
@@ -533,7 +623,7 @@ public abstract class AbstractRenderer implements IRenderer {
      */
     public void drawChildren(DrawContext drawContext) {
         for (IRenderer child : childRenderers) {
-            child.draw(drawContext);
+            drawChild(child, drawContext);
         }
     }
 
@@ -609,6 +699,10 @@ public abstract class AbstractRenderer implements IRenderer {
      */
     @Override
     public IRenderer setParent(IRenderer parent) {
+        if (this.parent != null && this.parent != parent && (parent == null || parent.getModelElement() != this.parent.getModelElement())) {
+            // the descendants may have cached the properties inherited from the former parent
+            invalidateInheritedProperties();
+        }
         this.parent = parent;
         return this;
     }
@@ -710,6 +804,12 @@ public abstract class AbstractRenderer implements IRenderer {
 
     protected void addAllProperties(Map<Integer, Object> properties) {
         this.properties.putAll(properties);
+        for (Integer property : properties.keySet()) {
+            if (Property.isPropertyInherited((int) property)) {
+                invalidateInheritedProperties();
+                break;
+            }
+        }
     }
 
     /**
@@ -1170,7 +1270,27 @@ public abstract class AbstractRenderer implements IRenderer {
 
     void drawPositionedChildren(DrawContext drawContext) {
         for (IRenderer positionedChild : positionedRenderers) {
-            positionedChild.draw(drawContext);
+            drawChild(positionedChild, drawContext);
+        }
+    }
+
+    /**
+     * Lays out the child renderer, recording the layout in the {@link LayoutStatistics} of the document, if any.
+     */
+    LayoutResult layoutChild(IRenderer child, LayoutContext layoutContext) {
+        LayoutStatistics statistics = this.<LayoutStatistics>getProperty(Property.LAYOUT_STATISTICS);
+        return statistics != null ? statistics.layout(child, layoutContext) : child.layout(layoutContext);
+    }
+
+    /**
+     * Draws the child renderer, recording the draw in the {@link LayoutStatistics} of the document, if any.
+     */
+    void drawChild(IRenderer child, DrawContext drawContext) {
+        LayoutStatistics statistics = this.<LayoutStatistics>getProperty(Property.LAYOUT_STATISTICS);
+        if (statistics != null) {
+            statistics.draw(child, drawContext);
+        } else {
+            child.draw(drawContext);
         }
     }
 
@@ -60,6 +60,7 @@ import com.itextpdf.layout.layout.LayoutResult;
 import com.itextpdf.layout.margincollapse.MarginsCollapseHandler;
 import com.itextpdf.layout.margincollapse.MarginsCollapseInfo;
 import com.itextpdf.layout.property.Property;
+import com.itextpdf.layout.property.PropertyMap;
 import com.itextpdf.layout.property.VerticalAlignment;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -67,7 +68,6 @@ import org.slf4j.LoggerFactory;
 import java.text.MessageFormat;
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.List;
 
 public abstract class BlockRenderer extends AbstractRenderer {
@@ -141,7 +141,7 @@ public abstract class BlockRenderer extends AbstractRenderer {
             if (marginsCollapsingEnabled) {
                 childMarginsInfo = marginsCollapseHandler.startChildMarginsHandling(childRenderer, layoutBox);
             }
-            while ((result = childRenderer.setParent(this).layout(new LayoutContext(new LayoutArea(pageNumber, layoutBox), childMarginsInfo))).getStatus() != LayoutResult.FULL) {
+            while ((result = layoutChild(childRenderer.setParent(this), new LayoutContext(new LayoutArea(pageNumber, layoutBox), childMarginsInfo))).getStatus() != LayoutResult.FULL) {
                 if (Boolean.TRUE.equals(getPropertyAsBoolean(Property.FILL_AVAILABLE_AREA_ON_SPLIT))
                         || Boolean.TRUE.equals(getPropertyAsBoolean(Property.FILL_AVAILABLE_AREA))) {
                     occupiedArea.setBBox(Rectangle.getCommonRectangle(occupiedArea.getBBox(), layoutBox));
@@ -347,7 +347,7 @@ public abstract class BlockRenderer extends AbstractRenderer {
             LayoutArea area = new LayoutArea(occupiedArea.getPageNumber(), occupiedArea.getBBox().clone());
             applyBorderBox(area.getBBox(), false);
             for (IRenderer childPositionedRenderer : positionedRenderers) {
-                childPositionedRenderer.setParent(this).layout(new LayoutContext(area));
+                layoutChild(childPositionedRenderer.setParent(this), new LayoutContext(area));
             }
             applyBorderBox(area.getBBox(), true);
         }
@@ -374,7 +374,7 @@ public abstract class BlockRenderer extends AbstractRenderer {
         splitRenderer.modelElement = modelElement;
         splitRenderer.occupiedArea = occupiedArea;
         splitRenderer.isLastRendererForModelElement = false;
-        splitRenderer.properties = new HashMap<>(properties);
+        splitRenderer.properties = new PropertyMap(properties);
         return splitRenderer;
     }
 
@@ -382,7 +382,7 @@ public abstract class BlockRenderer extends AbstractRenderer {
         AbstractRenderer overflowRenderer = (AbstractRenderer) getNextRenderer();
         overflowRenderer.parent = parent;
         overflowRenderer.modelElement = modelElement;
-        overflowRenderer.properties = new HashMap<>(properties);
+        overflowRenderer.properties = new PropertyMap(properties);
         return overflowRenderer;
     }
 
@@ -100,7 +100,7 @@ public class CanvasRenderer extends RootRenderer {
                 tagPointer.setPageForTagging(canvas.getPage());
                 tagPointer.setContentStreamForTagging(canvas.getPdfCanvas().getContentStream());
             }
-            resultRenderer.draw(new DrawContext(canvas.getPdfDocument(), canvas.getPdfCanvas(), toTag));
+            drawChild(resultRenderer, new DrawContext(canvas.getPdfDocument(), canvas.getPdfCanvas(), toTag));
             if (toTag) {
                 tagPointer.setContentStreamForTagging(null);
             }
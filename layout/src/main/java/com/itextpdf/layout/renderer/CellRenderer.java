@@ -50,10 +50,32 @@ import com.itextpdf.kernel.geom.Rectangle;
 import com.itextpdf.kernel.pdf.canvas.PdfCanvas;
 import com.itextpdf.layout.border.Border;
 import com.itextpdf.layout.element.Cell;
+import com.itextpdf.layout.layout.LayoutArea;
+import com.itextpdf.layout.layout.LayoutContext;
+import com.itextpdf.layout.layout.LayoutResult;
 import com.itextpdf.layout.property.Property;
+import com.itextpdf.layout.property.PropertyMap;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
 
 public class CellRenderer extends BlockRenderer {
 
+    // The last full layout of the cell. A table lays out the same cell renderer several times, e.g. when a row
+    // is processed again, when a row is moved to the next page or when a kept together table is laid out again,
+    // and the result doesn't change as long as the cell is laid out in the same width and its content still fits.
+    private LayoutArea lastLayoutArea;
+    private Rectangle lastOccupiedBBox;
+    private Map<Integer, Object> lastOwnProperties;
+    private IRenderer lastParent;
+    private AbstractRenderer lastTopRenderer;
+    private long lastInheritedPropertiesVersion;
+    private IRenderer lastReferenceRenderer;
+    private Rectangle lastReferenceBBox;
+    // Whether the last layout can be reused at all. It is checked only when the cell is laid out again.
+    private Boolean lastLayoutReusable;
+
     /**
      * Creates a CellRenderer from its corresponding layout object.
      * @param modelElement the {@link com.itextpdf.layout.element.Cell} which this object should manage
@@ -64,6 +86,37 @@ public class CellRenderer extends BlockRenderer {
         setProperty(Property.COLSPAN, modelElement.getColspan());
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public LayoutResult layout(LayoutContext layoutContext) {
+        LayoutArea area = layoutContext.getArea();
+        if (canReuseLastLayout(area)) {
+            return reuseLastLayout(area);
+        }
+        lastLayoutArea = null;
+        AbstractRenderer topRenderer = getTopRenderer();
+        long inheritedPropertiesVersion = getInheritedPropertiesVersion();
+        LayoutResult result = super.layout(layoutContext);
+        if (result.getStatus() == LayoutResult.FULL && result.getSplitRenderer() == null && result.getOverflowRenderer() == null
+                && topRenderer != null && inheritedPropertiesVersion == getInheritedPropertiesVersion()
+                && (childRenderers.isEmpty() || childRenderers.get(0).getOccupiedArea() != null)) {
+            lastLayoutArea = area.clone();
+            lastOccupiedBBox = occupiedArea.getBBox().clone();
+            // the own properties which are changed by the layout itself are the height related ones,
+            // and those prevent the reuse anyway
+            lastOwnProperties = new PropertyMap(properties);
+            lastParent = parent;
+            lastTopRenderer = topRenderer;
+            lastInheritedPropertiesVersion = inheritedPropertiesVersion;
+            lastReferenceRenderer = childRenderers.isEmpty() ? null : childRenderers.get(0);
+            lastReferenceBBox = lastReferenceRenderer != null ? lastReferenceRenderer.getOccupiedArea().getBBox().clone() : null;
+            lastLayoutReusable = null;
+        }
+        return result;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -151,4 +204,129 @@ public class CellRenderer extends BlockRenderer {
     public IRenderer getNextRenderer() {
         return new CellRenderer(getModelElement());
     }
+
+    private boolean canReuseLastLayout(LayoutArea area) {
+        // The rows which don't fit are laid out again by the overflow renderer of the table, which inherits
+        // the same properties as the split one
+        if (lastLayoutArea == null || lastTopRenderer != getTopRenderer() || lastInheritedPropertiesVersion != getInheritedPropertiesVersion()
+                || parent != lastParent && (parent == null || lastParent == null || parent.getModelElement() != lastParent.getModelElement())) {
+            return false;
+        }
+        Rectangle lastBox = lastLayoutArea.getBBox();
+        Rectangle box = area.getBBox();
+        if (Math.abs(box.getWidth() - lastBox.getWidth()) > EPS || box.getHeight() < lastOccupiedBBox.getHeight() - EPS) {
+            return false;
+        }
+        if (lastReferenceRenderer != null && (childRenderers.isEmpty() || childRenderers.get(0) != lastReferenceRenderer
+                || lastReferenceRenderer.getOccupiedArea() == null)) {
+            return false;
+        }
+        if (properties.size() != lastOwnProperties.size()) {
+            return false;
+        }
+        for (Map.Entry<Integer, Object> entry : lastOwnProperties.entrySet()) {
+            Object value = properties.get(entry.getKey());
+            Object lastValue = entry.getValue();
+            if (value != lastValue && !(value instanceof Border && value.equals(lastValue))
+                    || value == null && !properties.containsKey(entry.getKey())) {
+                return false;
+            }
+        }
+        if (lastLayoutReusable == null) {
+            lastLayoutReusable = isLayoutReusable(this);
+        }
+        return (boolean) lastLayoutReusable;
+    }
+
+    private LayoutResult reuseLastLayout(LayoutArea area) {
+        Rectangle lastBox = lastLayoutArea.getBBox();
+        Rectangle box = area.getBBox();
+        float dx = box.getX() - lastBox.getX();
+        float dy = box.getTop() - lastBox.getTop();
+        if (lastReferenceRenderer != null) {
+            // The children might have been moved by the table after the layout, e.g. by the vertical alignment,
+            // so they are moved relative to their current position.
+            Rectangle referenceBBox = lastReferenceRenderer.getOccupiedArea().getBBox();
+            float childrenDx = lastReferenceBBox.getX() + dx - referenceBBox.getX();
+            float childrenDy = lastReferenceBBox.getY() + dy - referenceBBox.getY();
+            int childrenPageOffset = area.getPageNumber() - lastReferenceRenderer.getOccupiedArea().getPageNumber();
+            Set<IRenderer> shiftedRenderers = new HashSet<>();
+            for (IRenderer child : childRenderers) {
+                child.move(childrenDx, childrenDy);
+                if (childrenPageOffset != 0) {
+                    shiftPageNumbers(child, childrenPageOffset, shiftedRenderers);
+                }
+            }
+        }
+        Rectangle occupiedBBox = lastOccupiedBBox.clone().moveRight(dx).moveUp(dy);
+        occupiedArea = new LayoutArea(area.getPageNumber(), occupiedBBox);
+        lastLayoutArea = area.clone();
+        lastOccupiedBBox = occupiedBBox.clone();
+        if (lastReferenceRenderer != null) {
+            lastReferenceBBox = lastReferenceRenderer.getOccupiedArea().getBBox().clone();
+        }
+        return new LayoutResult(LayoutResult.FULL, occupiedArea, null, null);
+    }
+
+    /**
+     * Shifts the page numbers of the occupied areas of the renderer subtree. The subtree contains neither tables
+     * nor positioned renderers, see {@link #isLayoutReusable(IRenderer)}.
+     */
+    private static void shiftPageNumbers(IRenderer renderer, int pageOffset, Set<IRenderer> shiftedRenderers) {
+        if (!shiftedRenderers.add(renderer)) {
+            return;
+        }
+        if (renderer instanceof AbstractRenderer) {
+            AbstractRenderer abstractRenderer = (AbstractRenderer) renderer;
+            LayoutArea area = abstractRenderer.occupiedArea;
+            if (area != null) {
+                // the area object might be shared with other renderers, so it is replaced instead of being changed
+                abstractRenderer.occupiedArea = new LayoutArea(area.getPageNumber() + pageOffset, area.getBBox());
+                abstractRenderer.occupiedArea.setEmptyArea(area.isEmptyArea());
+            }
+        }
+        for (IRenderer child : renderer.getChildRenderers()) {
+            shiftPageNumbers(child, pageOffset, shiftedRenderers);
+        }
+        if (renderer instanceof ParagraphRenderer && ((ParagraphRenderer) renderer).lines != null) {
+            for (IRenderer line : ((ParagraphRenderer) renderer).lines) {
+                shiftPageNumbers(line, pageOffset, shiftedRenderers);
+            }
+        }
+    }
+
+    /**
+     * Checks that the layout of the renderer subtree depends only on the width and the top of the layout area,
+     * so the renderers can be moved instead of being laid out again.
+     */
+    private static boolean isLayoutReusable(IRenderer renderer) {
+        if (renderer instanceof TableRenderer || renderer instanceof AreaBreakRenderer
+                || renderer.getProperty(Property.ROTATION_ANGLE) != null
+                || renderer.getProperty(Property.HEIGHT) != null
+                || renderer.getProperty(Property.MIN_HEIGHT) != null
+                || renderer.getProperty(Property.MAX_HEIGHT) != null
+                || Boolean.TRUE.equals(renderer.getProperty(Property.FILL_AVAILABLE_AREA))
+                || Boolean.TRUE.equals(renderer.getProperty(Property.FILL_AVAILABLE_AREA_ON_SPLIT))
+                || Boolean.TRUE.equals(renderer.getProperty(Property.FORCED_PLACEMENT))
+                || Boolean.TRUE.equals(renderer.getProperty(Property.COLLAPSING_MARGINS))) {
+            return false;
+        }
+        if (renderer instanceof ImageRenderer && (Boolean.TRUE.equals(renderer.getProperty(Property.AUTO_SCALE))
+                || Boolean.TRUE.equals(renderer.getProperty(Property.AUTO_SCALE_WIDTH))
+                || Boolean.TRUE.equals(renderer.getProperty(Property.AUTO_SCALE_HEIGHT)))) {
+            return false;
+        }
+        if (renderer instanceof AbstractRenderer) {
+            AbstractRenderer abstractRenderer = (AbstractRenderer) renderer;
+            if (abstractRenderer.isPositioned() || !abstractRenderer.positionedRenderers.isEmpty()) {
+                return false;
+            }
+        }
+        for (IRenderer child : renderer.getChildRenderers()) {
+            if (!isLayoutReusable(child)) {
+                return false;
+            }
+        }
+        return true;
+    }
 }
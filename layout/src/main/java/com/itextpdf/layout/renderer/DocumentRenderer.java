@@ -81,6 +81,56 @@ public class DocumentRenderer extends RootRenderer {
         return null;
     }
 
+    /**
+     * Creates a renderer which lays out a section of the document content starting on a new page,
+     * independently of this renderer and of the other sections: pages are neither added to the document
+     * nor drawn. Thus sections may be laid out concurrently, provided that the elements of
+     * different sections don't share renderers. Add the children to the returned renderer,
+     * close it and pass it to {@link #addSection(RootRenderer)}.
+     *
+     * @param firstPageSize the size of the first page of the section, or {@code null} for the default page size
+     * @return the renderer of the section
+     */
+    public RootRenderer createSectionRenderer(PageSize firstPageSize) {
+        PageSize defaultPageSize = document.getPdfDocument().getDefaultPageSize();
+        return new SectionRenderer(document, firstPageSize != null ? firstPageSize : defaultPageSize, defaultPageSize);
+    }
+
+    /**
+     * Places a section laid out by the renderer obtained from {@link #createSectionRenderer(PageSize)}
+     * on the current page and on as many new pages as it occupies, shifting the page numbers of its content.
+     * The current page must be the empty last page of the document, e.g. just after an
+     * {@link AreaBreak}, and have the size the section was laid out for.
+     *
+     * @param sectionRenderer the closed section renderer
+     * @return {@code false} if the section can't be placed at the current position. Then its elements
+     * should be added to this renderer again.
+     */
+    public boolean addSection(RootRenderer sectionRenderer) {
+        if (!(sectionRenderer instanceof SectionRenderer) || ((SectionRenderer) sectionRenderer).document != document) {
+            throw new IllegalArgumentException("The renderer wasn't created by createSectionRenderer method of this renderer");
+        }
+        SectionRenderer section = (SectionRenderer) sectionRenderer;
+        PdfDocument pdfDocument = document.getPdfDocument();
+        LayoutArea area = getCurrentArea();
+        if (area == null || pdfDocument.getNumberOfPages() != currentPageNumber
+                || !section.pageSize.equalsWithEpsilon(pdfDocument.getDefaultPageSize())) {
+            return false;
+        }
+        int pageOffset = currentPageNumber - 1;
+        int sectionPages = section.currentArea != null ? section.currentArea.getPageNumber() : 1;
+        if (!appendSectionPages(section, pageOffset, sectionPages)) {
+            return false;
+        }
+        if (immediateFlush) {
+            // as in moveToNextPage, the last page is kept
+            for (int pageNumber = pageOffset + 1; pageNumber < currentPageNumber; pageNumber++) {
+                pdfDocument.getPage(pageNumber).flush();
+            }
+        }
+        return true;
+    }
+
     protected LayoutArea updateCurrentArea(LayoutResult overflowResult) {
         AreaBreak areaBreak = overflowResult != null && overflowResult.getAreaBreak() != null ? overflowResult.getAreaBreak() : null;
         moveToNextPage();
@@ -114,7 +164,7 @@ public class DocumentRenderer extends RootRenderer {
             if (pdfDocument.isTagged()) {
                 pdfDocument.getTagStructureContext().getAutoTaggingPointer().setPageForTagging(correspondingPage);
             }
-            resultRenderer.draw(new DrawContext(pdfDocument, new PdfCanvas(correspondingPage, wrapOldContent), pdfDocument.isTagged()));
+            drawChild(resultRenderer, new DrawContext(pdfDocument, new PdfCanvas(correspondingPage, wrapOldContent), pdfDocument.isTagged()));
         }
     }
 
@@ -127,6 +177,30 @@ public class DocumentRenderer extends RootRenderer {
         return customPageSize != null ? customPageSize : document.getPdfDocument().getDefaultPageSize();
     }
 
+    @Override
+    protected int getNumberOfPages() {
+        return document.getPdfDocument().getNumberOfPages();
+    }
+
+    @Override
+    protected void restoreNumberOfPages(int numberOfPages) {
+        PdfDocument pdfDocument = document.getPdfDocument();
+        while (pdfDocument.getNumberOfPages() > numberOfPages) {
+            pdfDocument.removePage(pdfDocument.getNumberOfPages());
+        }
+    }
+
+    private boolean appendSectionPages(SectionRenderer section, int pageOffset, int sectionPages) {
+        // the pages are needed to draw the content when it is flushed immediately
+        int numberOfPages = document.getPdfDocument().getNumberOfPages();
+        ensureDocumentHasNPages(pageOffset + sectionPages, null);
+        if (!appendSection(section, pageOffset)) {
+            restoreNumberOfPages(numberOfPages);
+            return false;
+        }
+        return true;
+    }
+
     /**
      * Adds some pages so that the overall number is at least n.
      * Returns the page size of the n'th page.
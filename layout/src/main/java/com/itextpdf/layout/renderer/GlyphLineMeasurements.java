@@ -0,0 +1,258 @@
+/*
+
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2017 iText Group NV
+    Authors: Bruno Lowagie, Paulo Soares, et al.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.layout.renderer;
+
+import com.itextpdf.io.font.otf.Glyph;
+import com.itextpdf.io.font.otf.GlyphLine;
+import com.itextpdf.io.util.TextUtil;
+import com.itextpdf.kernel.font.PdfFont;
+import com.itextpdf.layout.splitting.ISplitCharacters;
+
+/**
+ * Glyph advances and break opportunities of a text, measured once for the given font and spacing.
+ * A {@link TextRenderer} lays out a line at a time and its overflow renderer continues with the rest of the same text,
+ * so the measurements are shared between them and reused when the text is laid out again in a different width.
+ * <br>
+ * The widths of the glyphs are the same values {@link TextRenderer} calculates when it places the glyphs one by one.
+ * The prefix sums of the advances allow to find the longest run of whole words which fits into a width
+ * with a binary search, as long as none of the advances is negative.
+ */
+final class GlyphLineMeasurements {
+
+    private static final byte NO_PRINT = 1;
+    private static final byte NEW_LINE = 2;
+    private static final byte BREAK_AFTER = 4;
+
+    // the measured text; a GlyphLine is mutable, so the measurements are only valid for the very same instance
+    private final GlyphLine text;
+    private final PdfFont font;
+    private final float fontSize;
+    private final float hScale;
+    private final Float characterSpacing;
+    private final Float wordSpacing;
+    private final ISplitCharacters splitCharacters;
+
+    private final int start;
+    private final int end;
+
+    // the widths of the glyphs, in text space units divided by TextRenderer.TEXT_SPACE_COEFF
+    private final float[] widths;
+    // the scaled x advances of the glyphs, which are added after the glyph if it is followed by another printed glyph,
+    // or null if none of the glyphs has an x advance
+    private final float[] xAdvances;
+    // prefixWidths[i - start] is the sum of the widths and advances of the printed glyphs before i
+    private final float[] prefixWidths;
+    private final byte[] flags;
+    private final boolean hasNegativeAdvances;
+
+    GlyphLineMeasurements(GlyphLine text, PdfFont font, float fontSize, float hScale, Float characterSpacing,
+                          Float wordSpacing, ISplitCharacters splitCharacters) {
+        this.text = text;
+        this.font = font;
+        this.fontSize = fontSize;
+        this.hScale = hScale;
+        this.characterSpacing = characterSpacing;
+        this.wordSpacing = wordSpacing;
+        this.splitCharacters = splitCharacters;
+        this.start = text.start;
+        this.end = text.end;
+
+        int length = end - start;
+        widths = new float[length];
+        float[] advances = null;
+        prefixWidths = new float[length + 1];
+        flags = new byte[length];
+        boolean negativeAdvances = false;
+        float previousXAdvance = 0;
+        for (int i = start; i < end; i++) {
+            int k = i - start;
+            Glyph glyph = text.get(i);
+            prefixWidths[k + 1] = prefixWidths[k];
+            if (TextUtil.isNewLine(glyph)) {
+                flags[k] = NEW_LINE;
+                previousXAdvance = 0;
+                continue;
+            }
+            if (glyph.hasValidUnicode() && TextUtil.isNonPrintable(glyph.getUnicode())) {
+                flags[k] = NO_PRINT;
+                continue;
+            }
+            widths[k] = TextRenderer.getCharWidth(glyph, fontSize, hScale, characterSpacing, wordSpacing) / TextRenderer.TEXT_SPACE_COEFF;
+            prefixWidths[k + 1] += widths[k] + previousXAdvance;
+            negativeAdvances |= widths[k] + previousXAdvance < 0;
+            previousXAdvance = 0;
+            if (glyph.getXAdvance() != 0) {
+                if (advances == null) {
+                    advances = new float[length];
+                }
+                advances[k] = TextRenderer.scaleXAdvance(glyph.getXAdvance(), fontSize, hScale) / TextRenderer.TEXT_SPACE_COEFF;
+                previousXAdvance = advances[k];
+            }
+            if (splitCharacters.isSplitCharacter(text, i) || i + 1 < end && splitCharacters.isSplitCharacter(text, i + 1)
+                    && TextUtil.isSpaceOrWhitespace(text.get(i + 1))) {
+                flags[k] = BREAK_AFTER;
+            }
+        }
+        xAdvances = advances;
+        hasNegativeAdvances = negativeAdvances;
+    }
+
+    private GlyphLineMeasurements(GlyphLineMeasurements other, GlyphLine text) {
+        this.text = text;
+        this.font = other.font;
+        this.fontSize = other.fontSize;
+        this.hScale = other.hScale;
+        this.characterSpacing = other.characterSpacing;
+        this.wordSpacing = other.wordSpacing;
+        this.splitCharacters = other.splitCharacters;
+        this.start = other.start;
+        this.end = other.end;
+        this.widths = other.widths;
+        this.xAdvances = other.xAdvances;
+        this.prefixWidths = other.prefixWidths;
+        this.flags = other.flags;
+        this.hasNegativeAdvances = other.hasNegativeAdvances;
+    }
+
+    /**
+     * Creates the same measurements for a copy of the measured text which shares its glyphs,
+     * e.g. the text of an overflow renderer.
+     */
+    GlyphLineMeasurements forCopyOfText(GlyphLine copy) {
+        return new GlyphLineMeasurements(this, copy);
+    }
+
+    /**
+     * Checks whether the measurements can be used for the text laid out with the given font and spacing.
+     */
+    boolean isValidFor(GlyphLine text, PdfFont font, float fontSize, float hScale, Float characterSpacing,
+                       Float wordSpacing, ISplitCharacters splitCharacters) {
+        return this.text == text && this.font == font && this.fontSize == fontSize && this.hScale == hScale
+                && (characterSpacing == null ? this.characterSpacing == null : characterSpacing.equals(this.characterSpacing))
+                && (wordSpacing == null ? this.wordSpacing == null : wordSpacing.equals(this.wordSpacing))
+                && this.splitCharacters == splitCharacters && text.start >= start && text.end <= end;
+    }
+
+    float getWidth(int index) {
+        return widths[index - start];
+    }
+
+    float getXAdvance(int index) {
+        return xAdvances != null ? xAdvances[index - start] : 0;
+    }
+
+    boolean isNoPrint(int index) {
+        return flags[index - start] == NO_PRINT;
+    }
+
+    boolean isNewLine(int index) {
+        return flags[index - start] == NEW_LINE;
+    }
+
+    /**
+     * Checks whether a line can be broken after the glyph, the end of the text aside.
+     */
+    boolean isBreakAfter(int index) {
+        return flags[index - start] == BREAK_AFTER;
+    }
+
+    /**
+     * Finds the longest run of whole words which starts at the given position and probably fits into the given width.
+     * The prefix sums of the advances are less precise than adding up the advances of a line, so the caller
+     * still has to check the run glyph by glyph. The run may go over a new line, which also has to be checked by the caller.
+     *
+     * @param from           the index of the first glyph of the run, which is a printed glyph
+     * @param to             the end of the laid out text
+     * @param firstInLine    whether the x advance of the previous glyph is not added before the first glyph
+     * @param availableWidth the width available for the run
+     * @return the index of the last glyph of the run, or -1 if not even the first word fits or the advances
+     * don't allow to find the run with a binary search
+     */
+    int findLastFittingWordEnd(int from, int to, boolean firstInLine, float availableWidth) {
+        if (hasNegativeAdvances) {
+            return -1;
+        }
+        float base = prefixWidths[from - start];
+        if (firstInLine) {
+            base += getPreviousXAdvance(from);
+        }
+        // the last glyph q such that the glyphs from..q fit
+        int low = from;
+        int high = to - 1;
+        int last = from - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (prefixWidths[mid + 1 - start] - base <= availableWidth) {
+                last = mid;
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        if (last == to - 1) {
+            return last;
+        }
+        while (last >= from && flags[last - start] != BREAK_AFTER) {
+            last--;
+        }
+        return last >= from ? last : -1;
+    }
+
+    /**
+     * Gets the x advance of the printed glyph before the given one, which is included in the prefix sums.
+     */
+    private float getPreviousXAdvance(int index) {
+        if (xAdvances == null) {
+            return 0;
+        }
+        for (int i = index - 1; i >= start; i--) {
+            if (flags[i - start] == NEW_LINE) {
+                return 0;
+            } else if (flags[i - start] != NO_PRINT) {
+                return xAdvances[i - start];
+            }
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,382 @@
+/*
+
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2017 iText Group NV
+    Authors: Bruno Lowagie, Paulo Soares, et al.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.layout.renderer;
+
+import com.itextpdf.layout.layout.LayoutContext;
+import com.itextpdf.layout.layout.LayoutResult;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Collects statistics about the layout and drawing of renderers: per renderer type call counts and times,
+ * the number of layouts which ended with a split or with nothing placed, and the number of repeated layouts
+ * of the same renderer.
+ * <br>
+ * Statistics collection is opt-in, see {@link com.itextpdf.layout.Document#setLayoutStatistics(LayoutStatistics)}.
+ * The statistics are collected for the renderers which are laid out and drawn by their parent renderers,
+ * so custom renderers are included as well.
+ * <br>
+ * All times are measured in nanoseconds. The time of a renderer is its own time, i.e. the time spent laying out
+ * or drawing its children is attributed to the children. The total time includes the time of the children.
+ * The same instance may be used by several threads, e.g. when sections of a document are laid out concurrently.
+ */
+public class LayoutStatistics {
+
+    private Map<Class<?>, RendererStatistics> rendererStatistics = new LinkedHashMap<>();
+
+    // The time spent in the layouts or draws invoked by the currently executed one, per thread.
+    private final ThreadLocal<long[]> nestedTime = new ThreadLocal<long[]>() {
+        @Override
+        protected long[] initialValue() {
+            return new long[1];
+        }
+    };
+
+    /**
+     * Records a single layout of a renderer.
+     *
+     * @param rendererClass the class of the laid out renderer
+     * @param time          the time spent in the layout of the renderer itself, in nanoseconds
+     * @param totalTime     the time spent in the layout including the layout of the child renderers, in nanoseconds
+     * @param status        the status of the {@link LayoutResult}
+     * @param relayout      whether the renderer had already been laid out before
+     */
+    public synchronized void recordLayout(Class<?> rendererClass, long time, long totalTime, int status, boolean relayout) {
+        RendererStatistics statistics = getOrCreateStatistics(rendererClass);
+        statistics.layoutCount++;
+        statistics.layoutTime += time;
+        statistics.layoutTotalTime += totalTime;
+        if (status == LayoutResult.PARTIAL) {
+            statistics.partialCount++;
+        } else if (status == LayoutResult.NOTHING) {
+            statistics.nothingCount++;
+        }
+        if (relayout) {
+            statistics.relayoutCount++;
+        }
+    }
+
+    /**
+     * Records a single draw of a renderer.
+     *
+     * @param rendererClass the class of the drawn renderer
+     * @param time          the time spent drawing the renderer itself, in nanoseconds
+     * @param totalTime     the time spent drawing the renderer and its child renderers, in nanoseconds
+     */
+    public synchronized void recordDraw(Class<?> rendererClass, long time, long totalTime) {
+        RendererStatistics statistics = getOrCreateStatistics(rendererClass);
+        statistics.drawCount++;
+        statistics.drawTime += time;
+        statistics.drawTotalTime += totalTime;
+    }
+
+    /**
+     * Adds all the statistics collected by another instance to this one.
+     *
+     * @param other the statistics to add
+     * @return this instance
+     */
+    public LayoutStatistics merge(LayoutStatistics other) {
+        List<RendererStatistics> otherStatistics = other.getRendererStatistics();
+        synchronized (this) {
+            for (RendererStatistics statistics : otherStatistics) {
+                getOrCreateStatistics(statistics.getRendererClass()).add(statistics);
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Gets the statistics of the specified renderer type.
+     *
+     * @param rendererClass the class of the renderers
+     * @return the statistics of the renderer type, or null if no renderer of the type was laid out or drawn
+     */
+    public synchronized RendererStatistics getRendererStatistics(Class<?> rendererClass) {
+        RendererStatistics statistics = rendererStatistics.get(rendererClass);
+        return statistics != null ? new RendererStatistics(rendererClass).add(statistics) : null;
+    }
+
+    /**
+     * Gets the statistics of all renderer types, sorted by the time spent in the layout and drawing, descending.
+     *
+     * @return the list of renderer statistics
+     */
+    public synchronized List<RendererStatistics> getRendererStatistics() {
+        List<RendererStatistics> result = new ArrayList<>(rendererStatistics.size());
+        for (RendererStatistics statistics : rendererStatistics.values()) {
+            result.add(new RendererStatistics(statistics.getRendererClass()).add(statistics));
+        }
+        Collections.sort(result, new Comparator<RendererStatistics>() {
+            @Override
+            public int compare(RendererStatistics o1, RendererStatistics o2) {
+                return Long.compare(o2.getLayoutTime() + o2.getDrawTime(), o1.getLayoutTime() + o1.getDrawTime());
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Gets the total time spent in the layout of all renderers, in nanoseconds.
+     *
+     * @return the layout time
+     */
+    public synchronized long getLayoutTime() {
+        long time = 0;
+        for (RendererStatistics statistics : rendererStatistics.values()) {
+            time += statistics.getLayoutTime();
+        }
+        return time;
+    }
+
+    /**
+     * Gets the total time spent drawing all renderers, in nanoseconds.
+     *
+     * @return the draw time
+     */
+    public synchronized long getDrawTime() {
+        long time = 0;
+        for (RendererStatistics statistics : rendererStatistics.values()) {
+            time += statistics.getDrawTime();
+        }
+        return time;
+    }
+
+    /**
+     * Creates a human readable report of the collected statistics.
+     *
+     * @return the report
+     */
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("Layout: ").append(toMillis(getLayoutTime())).append(" ms, draw: ")
+                .append(toMillis(getDrawTime())).append(" ms\n");
+        for (RendererStatistics statistics : getRendererStatistics()) {
+            sb.append("  ").append(statistics).append('\n');
+        }
+        return sb.toString();
+    }
+
+    LayoutResult layout(IRenderer renderer, LayoutContext layoutContext) {
+        boolean relayout = renderer.getOccupiedArea() != null;
+        long[] nested = nestedTime.get();
+        long outerNestedTime = nested[0];
+        nested[0] = 0;
+        long start = System.nanoTime();
+        LayoutResult result = null;
+        try {
+            result = renderer.layout(layoutContext);
+        } finally {
+            long time = System.nanoTime() - start;
+            recordLayout(renderer.getClass(), time - nested[0], time, result != null ? result.getStatus() : LayoutResult.NOTHING, relayout);
+            nested[0] = outerNestedTime + time;
+        }
+        return result;
+    }
+
+    void draw(IRenderer renderer, DrawContext drawContext) {
+        long[] nested = nestedTime.get();
+        long outerNestedTime = nested[0];
+        nested[0] = 0;
+        long start = System.nanoTime();
+        try {
+            renderer.draw(drawContext);
+        } finally {
+            long time = System.nanoTime() - start;
+            recordDraw(renderer.getClass(), time - nested[0], time);
+            nested[0] = outerNestedTime + time;
+        }
+    }
+
+    private RendererStatistics getOrCreateStatistics(Class<?> rendererClass) {
+        RendererStatistics statistics = rendererStatistics.get(rendererClass);
+        if (statistics == null) {
+            statistics = new RendererStatistics(rendererClass);
+            rendererStatistics.put(rendererClass, statistics);
+        }
+        return statistics;
+    }
+
+    static double toMillis(long nanos) {
+        return Math.round(nanos / 1000d) / 1000d;
+    }
+
+    /**
+     * Statistics of a single renderer type.
+     */
+    public static class RendererStatistics {
+        private final Class<?> rendererClass;
+        private long layoutCount;
+        private long relayoutCount;
+        private long partialCount;
+        private long nothingCount;
+        private long layoutTime;
+        private long layoutTotalTime;
+        private long drawCount;
+        private long drawTime;
+        private long drawTotalTime;
+
+        RendererStatistics(Class<?> rendererClass) {
+            this.rendererClass = rendererClass;
+        }
+
+        /**
+         * Gets the class of the renderers.
+         *
+         * @return the renderer class
+         */
+        public Class<?> getRendererClass() {
+            return rendererClass;
+        }
+
+        /**
+         * Gets the number of layouts of the renderers.
+         *
+         * @return the number of layouts
+         */
+        public long getLayoutCount() {
+            return layoutCount;
+        }
+
+        /**
+         * Gets the number of layouts of the renderers which had already been laid out before.
+         *
+         * @return the number of repeated layouts
+         */
+        public long getRelayoutCount() {
+            return relayoutCount;
+        }
+
+        /**
+         * Gets the number of layouts which ended with {@link LayoutResult#PARTIAL}, i.e. with a split of the renderer.
+         *
+         * @return the number of partial layouts
+         */
+        public long getPartialCount() {
+            return partialCount;
+        }
+
+        /**
+         * Gets the number of layouts which ended with {@link LayoutResult#NOTHING}, i.e. with the whole renderer
+         * moved to the overflow.
+         *
+         * @return the number of layouts which placed nothing
+         */
+        public long getNothingCount() {
+            return nothingCount;
+        }
+
+        /**
+         * Gets the time spent in the layout of the renderers themselves, in nanoseconds.
+         *
+         * @return the layout time
+         */
+        public long getLayoutTime() {
+            return layoutTime;
+        }
+
+        /**
+         * Gets the time spent in the layout of the renderers including the layout of their children, in nanoseconds.
+         *
+         * @return the total layout time
+         */
+        public long getLayoutTotalTime() {
+            return layoutTotalTime;
+        }
+
+        /**
+         * Gets the number of draws of the renderers.
+         *
+         * @return the number of draws
+         */
+        public long getDrawCount() {
+            return drawCount;
+        }
+
+        /**
+         * Gets the time spent drawing the renderers themselves, in nanoseconds.
+         *
+         * @return the draw time
+         */
+        public long getDrawTime() {
+            return drawTime;
+        }
+
+        /**
+         * Gets the time spent drawing the renderers and their children, in nanoseconds.
+         *
+         * @return the total draw time
+         */
+        public long getDrawTotalTime() {
+            return drawTotalTime;
+        }
+
+        @Override
+        public String toString() {
+            return rendererClass.getSimpleName() + ": " + layoutCount + " layouts (" + relayoutCount + " repeated, "
+                    + partialCount + " partial, " + nothingCount + " nothing), " + toMillis(layoutTime) + " ms ("
+                    + toMillis(layoutTotalTime) + " ms total); " + drawCount + " draws, " + toMillis(drawTime) + " ms ("
+                    + toMillis(drawTotalTime) + " ms total)";
+        }
+
+        RendererStatistics add(RendererStatistics other) {
+            layoutCount += other.layoutCount;
+            relayoutCount += other.relayoutCount;
+            partialCount += other.partialCount;
+            nothingCount += other.nothingCount;
+            layoutTime += other.layoutTime;
+            layoutTotalTime += other.layoutTotalTime;
+            drawCount += other.drawCount;
+            drawTime += other.drawTime;
+            drawTotalTime += other.drawTotalTime;
+            return this;
+        }
+    }
+}
@@ -110,7 +110,7 @@ public class LineRenderer extends AbstractRenderer {
             } else if (childRenderer instanceof TabRenderer) {
                 if (hangingTabStop != null) {
                     IRenderer tabRenderer = childRenderers.get(childPos - 1);
-                    tabRenderer.layout(new LayoutContext(new LayoutArea(layoutContext.getArea().getPageNumber(), bbox)));
+                    layoutChild(tabRenderer, new LayoutContext(new LayoutArea(layoutContext.getArea().getPageNumber(), bbox)));
                     curWidth += tabRenderer.getOccupiedArea().getBBox().getWidth();
                 }
                 hangingTabStop = calculateTab(childRenderer, curWidth, layoutBox.getWidth());
@@ -127,7 +127,7 @@ public class LineRenderer extends AbstractRenderer {
                 childRenderer.setProperty(Property.TAB_ANCHOR, hangingTabStop.getTabAnchor());
             }
 
-            childResult = childRenderer.layout(new LayoutContext(new LayoutArea(layoutContext.getArea().getPageNumber(), bbox)));
+            childResult = layoutChild(childRenderer, new LayoutContext(new LayoutArea(layoutContext.getArea().getPageNumber(), bbox)));
 
             float childAscent = 0;
             float childDescent = 0;
@@ -146,7 +146,7 @@ public class LineRenderer extends AbstractRenderer {
                 IRenderer tabRenderer = childRenderers.get(childPos - 1);
                 float tabWidth = calculateTab(layoutBox, curWidth, hangingTabStop, childRenderer, childResult, tabRenderer);
 
-                tabRenderer.layout(new LayoutContext(new LayoutArea(layoutContext.getArea().getPageNumber(), bbox)));
+                layoutChild(tabRenderer, new LayoutContext(new LayoutArea(layoutContext.getArea().getPageNumber(), bbox)));
                 childResult.getOccupiedArea().getBBox().moveRight(tabWidth);
                 if (childResult.getSplitRenderer() != null)
                     childResult.getSplitRenderer().getOccupiedArea().getBBox().moveRight(tabWidth);
@@ -171,7 +171,7 @@ public class LineRenderer extends AbstractRenderer {
 
                 boolean wordWasSplitAndItWillFitOntoNextLine = false;
                 if (childResult instanceof TextLayoutResult && ((TextLayoutResult) childResult).isWordHasBeenSplit()) {
-                    LayoutResult newLayoutResult = childRenderer.layout(layoutContext);
+                    LayoutResult newLayoutResult = layoutChild(childRenderer, layoutContext);
                     if (newLayoutResult instanceof TextLayoutResult && !((TextLayoutResult) newLayoutResult).isWordHasBeenSplit()) {
                         wordWasSplitAndItWillFitOntoNextLine = true;
                     }
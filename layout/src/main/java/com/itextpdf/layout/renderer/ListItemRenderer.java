@@ -177,7 +177,7 @@ public class ListItemRenderer extends DivRenderer {
                     tagPointer.addTag(0, PdfName.Lbl);
                 }
                 beginElementOpacityApplying(drawContext);
-                symbolRenderer.draw(drawContext);
+                drawChild(symbolRenderer, drawContext);
                 endElementOpacityApplying(drawContext);
                 if (isTagged) {
                     tagPointer.moveToParent();
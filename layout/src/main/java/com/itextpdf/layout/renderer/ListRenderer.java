@@ -93,7 +93,7 @@ public class ListRenderer extends BlockRenderer {
                     currentSymbolRenderer.setProperty(Property.FONT, actualPdfFont);
                 }
                 symbolRenderers.add(currentSymbolRenderer);
-                LayoutResult listSymbolLayoutResult = currentSymbolRenderer.layout(layoutContext);
+                LayoutResult listSymbolLayoutResult = layoutChild(currentSymbolRenderer, layoutContext);
                 currentSymbolRenderer.setParent(null);
                 if (listSymbolLayoutResult.getStatus() != LayoutResult.FULL) {
                     return new LayoutResult(LayoutResult.NOTHING, null, null, this, listSymbolLayoutResult.getCauseOfNothing());
@@ -54,13 +54,13 @@ import com.itextpdf.layout.layout.LineLayoutResult;
 import com.itextpdf.layout.margincollapse.MarginsCollapseHandler;
 import com.itextpdf.layout.property.Leading;
 import com.itextpdf.layout.property.Property;
+import com.itextpdf.layout.property.PropertyMap;
 import com.itextpdf.layout.property.TextAlignment;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.List;
 
 /**
@@ -163,7 +163,7 @@ public class ParagraphRenderer extends BlockRenderer {
             float lineIndent = anythingPlaced ? 0 : (float) this.getPropertyAsFloat(Property.FIRST_LINE_INDENT);
             float availableWidth = layoutBox.getWidth() - lineIndent;
             Rectangle childLayoutBox = new Rectangle(layoutBox.getX() + lineIndent, layoutBox.getY(), availableWidth, layoutBox.getHeight());
-            LineLayoutResult result = ((LineRenderer) currentRenderer.setParent(this)).layout(new LayoutContext(new LayoutArea(pageNumber, childLayoutBox)));
+            LineLayoutResult result = (LineLayoutResult) layoutChild(currentRenderer.setParent(this), new LayoutContext(new LayoutArea(pageNumber, childLayoutBox)));
 
             LineRenderer processedRenderer = null;
             if (result.getStatus() == LayoutResult.FULL) {
@@ -399,7 +399,7 @@ public class ParagraphRenderer extends BlockRenderer {
     public void drawChildren(DrawContext drawContext) {
         if (lines != null) {
             for (LineRenderer line : lines) {
-                line.draw(drawContext);
+                drawChild(line, drawContext);
             }
         }
     }
@@ -444,7 +444,7 @@ public class ParagraphRenderer extends BlockRenderer {
     protected ParagraphRenderer createSplitRenderer(IRenderer parent) {
         ParagraphRenderer splitRenderer = createSplitRenderer();
         splitRenderer.parent = parent;
-        splitRenderer.properties = new HashMap<>(properties);
+        splitRenderer.properties = new PropertyMap(properties);
         return splitRenderer;
     }
 
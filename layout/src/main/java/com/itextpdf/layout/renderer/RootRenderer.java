@@ -56,7 +56,10 @@ import org.slf4j.LoggerFactory;
 
 import java.text.MessageFormat;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Set;
 
 public abstract class RootRenderer extends AbstractRenderer {
 
@@ -67,8 +70,17 @@ public abstract class RootRenderer extends AbstractRenderer {
     private LayoutResult keepWithNextHangingRendererLayoutResult;
     private MarginsCollapseHandler marginsCollapseHandler;
     private LayoutArea initialCurrentArea;
+    private List<LayoutCheckpoint> layoutCheckpoints = new ArrayList<>();
+    private int addedChildrenCount;
 
     public void addChild(IRenderer renderer) {
+        if (!immediateFlush) {
+            checkpointLayoutState();
+        }
+        addedChildrenCount++;
+        // the properties of the model elements might have been changed since the previous child was added
+        invalidateInheritedProperties();
+
         // Some positioned renderers might have been fetched from non-positioned child and added to this renderer,
         // so we use this generic mechanism of determining which renderers have been just added.
         int numberOfChildRenderers = childRenderers.size();
@@ -108,7 +120,7 @@ public abstract class RootRenderer extends AbstractRenderer {
             if (marginsCollapsingEnabled && currentArea != null && renderer != null) {
                 childMarginsInfo = marginsCollapseHandler.startChildMarginsHandling(renderer, currentArea.getBBox());
             }
-            while (currentArea != null && renderer != null && (result = renderer.setParent(this).layout(new LayoutContext(currentArea.clone(), childMarginsInfo))).getStatus() != LayoutResult.FULL) {
+            while (currentArea != null && renderer != null && (result = layoutChild(renderer.setParent(this), new LayoutContext(currentArea.clone(), childMarginsInfo))).getStatus() != LayoutResult.FULL) {
                 if (result.getStatus() == LayoutResult.PARTIAL) {
                     if (result.getOverflowRenderer() instanceof ImageRenderer) {
                         ((ImageRenderer) result.getOverflowRenderer()).autoScale(currentArea);
@@ -219,7 +231,7 @@ public abstract class RootRenderer extends AbstractRenderer {
             } else {
                 layoutArea = new LayoutArea((int) positionedPageNumber, initialCurrentArea.getBBox().clone());
             }
-            renderer.setParent(this).layout(new LayoutContext(layoutArea));
+            layoutChild(renderer.setParent(this), new LayoutContext(layoutArea));
 
             if (immediateFlush) {
                 flushSingleRenderer(renderer);
@@ -235,6 +247,7 @@ public abstract class RootRenderer extends AbstractRenderer {
      * @see #draw(com.itextpdf.layout.renderer.DrawContext)
      */
     public void flush() {
+        invalidateInheritedProperties();
         for (IRenderer resultRenderer: childRenderers) {
             flushSingleRenderer(resultRenderer);
         }
@@ -262,6 +275,41 @@ public abstract class RootRenderer extends AbstractRenderer {
         }
     }
 
+    /**
+     * Restores the layout state of the latest page boundary preceding the child with the given index,
+     * so that the children starting from the returned index can be added again.
+     * The layout results of the children which were added afterwards are discarded.
+     * <p>
+     * The state is saved before the first child which starts on each page, only if the content is not flushed
+     * immediately, margins collapsing is disabled and no {@link Property#KEEP_WITH_NEXT} element is waiting
+     * for the next child. Children are counted in the order of {@link #addChild(IRenderer)} calls.
+     *
+     * @param childIndex the index of the first child which layout is to be redone
+     * @return the index of the first child to be added again or -1 if there is no saved state before the child
+     */
+    public int restoreLayoutCheckpoint(int childIndex) {
+        LayoutCheckpoint checkpoint = null;
+        int checkpointIndex = layoutCheckpoints.size() - 1;
+        while (checkpointIndex >= 0 && layoutCheckpoints.get(checkpointIndex).childIndex > childIndex) {
+            checkpointIndex--;
+        }
+        if (checkpointIndex >= 0) {
+            checkpoint = layoutCheckpoints.get(checkpointIndex);
+        }
+        if (checkpoint == null || checkpoint.childRenderersCount > childRenderers.size() || checkpoint.positionedRenderersCount > positionedRenderers.size()) {
+            return -1;
+        }
+        layoutCheckpoints.subList(checkpointIndex + 1, layoutCheckpoints.size()).clear();
+        childRenderers.subList(checkpoint.childRenderersCount, childRenderers.size()).clear();
+        positionedRenderers.subList(checkpoint.positionedRenderersCount, positionedRenderers.size()).clear();
+        currentArea = checkpoint.currentArea.clone();
+        initialCurrentArea = checkpoint.initialCurrentArea.clone();
+        currentPageNumber = checkpoint.pageNumber;
+        addedChildrenCount = checkpoint.childIndex;
+        restoreNumberOfPages(checkpoint.numberOfPages);
+        return checkpoint.childIndex;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -281,6 +329,120 @@ public abstract class RootRenderer extends AbstractRenderer {
 
     protected abstract LayoutArea updateCurrentArea(LayoutResult overflowResult);
 
+    /**
+     * Gets the number of pages (or other areas) the content is laid out on, which is saved
+     * in the layout checkpoints.
+     *
+     * @return the number of pages
+     */
+    protected int getNumberOfPages() {
+        return currentPageNumber;
+    }
+
+    /**
+     * Removes the pages which were added after a layout checkpoint had been saved.
+     *
+     * @param numberOfPages the number of pages at the moment the checkpoint was saved
+     * @see #restoreLayoutCheckpoint(int)
+     */
+    protected void restoreNumberOfPages(int numberOfPages) {
+    }
+
+    int getAddedChildrenCount() {
+        return addedChildrenCount;
+    }
+
+    /**
+     * Places the content of a section laid out by a detached {@link SectionRenderer} starting from the current page.
+     * The current area must be the empty area of a new page.
+     *
+     * @param section    the laid out section
+     * @param pageOffset the number of the pages preceding the section
+     * @return {@code false} if the current state doesn't allow to place the section
+     */
+    boolean appendSection(SectionRenderer section, int pageOffset) {
+        if (currentArea == null || !currentArea.isEmptyArea() || keepWithNextHangingRenderer != null
+                || !currentArea.getBBox().equalsWithEpsilon(section.document.getPageEffectiveArea(section.firstPageSize))) {
+            return false;
+        }
+        if (section.currentArea == null) {
+            // empty section
+            addedChildrenCount += section.getChildrenCount();
+            return true;
+        }
+        Set<IRenderer> shiftedRenderers = Collections.newSetFromMap(new IdentityHashMap<IRenderer, Boolean>());
+        for (IRenderer renderer : section.childRenderers) {
+            shiftPageNumbers(renderer, pageOffset, shiftedRenderers);
+            renderer.setParent(this);
+            if (immediateFlush) {
+                flushSingleRenderer(renderer);
+            } else {
+                childRenderers.add(renderer);
+            }
+        }
+        for (IRenderer renderer : section.positionedRenderers) {
+            if (!renderer.hasProperty(Property.PAGE_NUMBER)) {
+                shiftPageNumbers(renderer, pageOffset, shiftedRenderers);
+            }
+            renderer.setParent(this);
+            if (immediateFlush) {
+                flushSingleRenderer(renderer);
+            } else {
+                positionedRenderers.add(renderer);
+            }
+        }
+        currentPageNumber = section.currentArea.getPageNumber() + pageOffset;
+        currentArea = new LayoutArea(currentPageNumber, section.currentArea.getBBox().clone());
+        currentArea.setEmptyArea(section.currentArea.isEmptyArea());
+        initialCurrentArea = new LayoutArea(currentPageNumber, ((RootRenderer) section).initialCurrentArea.getBBox().clone());
+        if (marginsCollapseHandler != null) {
+            marginsCollapseHandler = new MarginsCollapseHandler(this, null);
+        }
+        addedChildrenCount += section.getChildrenCount();
+        return true;
+    }
+
+    private static void shiftPageNumbers(IRenderer renderer, int pageOffset, Set<IRenderer> shiftedRenderers) {
+        if (renderer == null || !shiftedRenderers.add(renderer)) {
+            return;
+        }
+        if (renderer instanceof AbstractRenderer) {
+            AbstractRenderer abstractRenderer = (AbstractRenderer) renderer;
+            LayoutArea area = abstractRenderer.occupiedArea;
+            if (area != null) {
+                // the area object might be shared with other renderers, so it is replaced instead of being changed
+                abstractRenderer.occupiedArea = new LayoutArea(area.getPageNumber() + pageOffset, area.getBBox());
+                abstractRenderer.occupiedArea.setEmptyArea(area.isEmptyArea());
+            }
+            for (IRenderer child : abstractRenderer.positionedRenderers) {
+                shiftPageNumbers(child, pageOffset, shiftedRenderers);
+            }
+        }
+        for (IRenderer child : renderer.getChildRenderers()) {
+            shiftPageNumbers(child, pageOffset, shiftedRenderers);
+        }
+        if (renderer instanceof ParagraphRenderer && ((ParagraphRenderer) renderer).lines != null) {
+            for (IRenderer line : ((ParagraphRenderer) renderer).lines) {
+                shiftPageNumbers(line, pageOffset, shiftedRenderers);
+            }
+        }
+        if (renderer instanceof TableRenderer) {
+            shiftPageNumbers(((TableRenderer) renderer).headerRenderer, pageOffset, shiftedRenderers);
+            shiftPageNumbers(((TableRenderer) renderer).footerRenderer, pageOffset, shiftedRenderers);
+        }
+    }
+
+    private void checkpointLayoutState() {
+        if (currentArea == null || initialCurrentArea == null || keepWithNextHangingRenderer != null || marginsCollapseHandler != null) {
+            return;
+        }
+        if (!layoutCheckpoints.isEmpty() && layoutCheckpoints.get(layoutCheckpoints.size() - 1).pageNumber == currentPageNumber) {
+            return;
+        }
+        layoutCheckpoints.add(new LayoutCheckpoint(addedChildrenCount, currentArea.clone(), initialCurrentArea.clone(), currentPageNumber,
+                childRenderers.size(), positionedRenderers.size(), getNumberOfPages()));
+    }
+
     private void processRenderer(IRenderer renderer, List<IRenderer> resultRenderers) {
         alignChildHorizontally(renderer, currentArea.getBBox().getWidth());
         if (immediateFlush) {
@@ -307,7 +469,7 @@ public abstract class RootRenderer extends AbstractRenderer {
             LayoutArea rest = currentArea.clone();
             rest.getBBox().setHeight(rest.getBBox().getHeight() - keepWithNextHangingRendererLayoutResult.getOccupiedArea().getBBox().getHeight());
             boolean ableToProcessKeepWithNext = false;
-            if (renderer.setParent(this).layout(new LayoutContext(rest)).getStatus() != LayoutResult.NOTHING) {
+            if (layoutChild(renderer.setParent(this), new LayoutContext(rest)).getStatus() != LayoutResult.NOTHING) {
                 // The area break will not be introduced and we are safe to place everything as is
                 updateCurrentAreaAndProcessRenderer(keepWithNextHangingRenderer, new ArrayList<IRenderer>(), keepWithNextHangingRendererLayoutResult);
                 ableToProcessKeepWithNext = true;
@@ -323,15 +485,15 @@ public abstract class RootRenderer extends AbstractRenderer {
                     LayoutArea firstElementSplitLayoutArea = currentArea.clone();
                     firstElementSplitLayoutArea.getBBox().setHeight(curElementSplitHeight).
                             moveUp(currentArea.getBBox().getHeight() - curElementSplitHeight);
-                    LayoutResult firstElementSplitLayoutResult = keepWithNextHangingRenderer.setParent(this).layout(new LayoutContext(firstElementSplitLayoutArea.clone()));
+                    LayoutResult firstElementSplitLayoutResult = layoutChild(keepWithNextHangingRenderer.setParent(this), new LayoutContext(firstElementSplitLayoutArea.clone()));
                     if (firstElementSplitLayoutResult.getStatus() == LayoutResult.PARTIAL) {
                         LayoutArea storedArea = currentArea;
                         updateCurrentAndInitialArea(firstElementSplitLayoutResult);
-                        LayoutResult firstElementOverflowLayoutResult = firstElementSplitLayoutResult.getOverflowRenderer().layout(new LayoutContext(currentArea.clone()));
+                        LayoutResult firstElementOverflowLayoutResult = layoutChild(firstElementSplitLayoutResult.getOverflowRenderer(), new LayoutContext(currentArea.clone()));
                         if (firstElementOverflowLayoutResult.getStatus() == LayoutResult.FULL) {
                             LayoutArea secondElementLayoutArea = currentArea.clone();
                             secondElementLayoutArea.getBBox().setHeight(secondElementLayoutArea.getBBox().getHeight() - firstElementOverflowLayoutResult.getOccupiedArea().getBBox().getHeight());
-                            LayoutResult secondElementLayoutResult = renderer.setParent(this).layout(new LayoutContext(secondElementLayoutArea));
+                            LayoutResult secondElementLayoutResult = layoutChild(renderer.setParent(this), new LayoutContext(secondElementLayoutArea));
                             if (secondElementLayoutResult.getStatus() != LayoutResult.NOTHING) {
                                 ableToProcessKeepWithNext = true;
 
@@ -352,11 +514,11 @@ public abstract class RootRenderer extends AbstractRenderer {
             if (!ableToProcessKeepWithNext && !currentArea.isEmptyArea()) {
                 LayoutArea storedArea = currentArea;
                 updateCurrentAndInitialArea(null);
-                LayoutResult firstElementLayoutResult = keepWithNextHangingRenderer.setParent(this).layout(new LayoutContext(currentArea.clone()));
+                LayoutResult firstElementLayoutResult = layoutChild(keepWithNextHangingRenderer.setParent(this), new LayoutContext(currentArea.clone()));
                 if (firstElementLayoutResult.getStatus() == LayoutResult.FULL) {
                     LayoutArea secondElementLayoutArea = currentArea.clone();
                     secondElementLayoutArea.getBBox().setHeight(secondElementLayoutArea.getBBox().getHeight() - firstElementLayoutResult.getOccupiedArea().getBBox().getHeight());
-                    LayoutResult secondElementLayoutResult = renderer.setParent(this).layout(new LayoutContext(secondElementLayoutArea));
+                    LayoutResult secondElementLayoutResult = layoutChild(renderer.setParent(this), new LayoutContext(secondElementLayoutArea));
                     if (secondElementLayoutResult.getStatus() != LayoutResult.NOTHING) {
                         ableToProcessKeepWithNext = true;
                         updateCurrentAreaAndProcessRenderer(keepWithNextHangingRenderer, new ArrayList<IRenderer>(), keepWithNextHangingRendererLayoutResult);
@@ -382,4 +544,24 @@ public abstract class RootRenderer extends AbstractRenderer {
         initialCurrentArea = currentArea == null ? null : currentArea.clone();
     }
 
+    private static class LayoutCheckpoint {
+        final int childIndex;
+        final LayoutArea currentArea;
+        final LayoutArea initialCurrentArea;
+        final int pageNumber;
+        final int childRenderersCount;
+        final int positionedRenderersCount;
+        final int numberOfPages;
+
+        LayoutCheckpoint(int childIndex, LayoutArea currentArea, LayoutArea initialCurrentArea, int pageNumber,
+                         int childRenderersCount, int positionedRenderersCount, int numberOfPages) {
+            this.childIndex = childIndex;
+            this.currentArea = currentArea;
+            this.initialCurrentArea = initialCurrentArea;
+            this.pageNumber = pageNumber;
+            this.childRenderersCount = childRenderersCount;
+            this.positionedRenderersCount = positionedRenderersCount;
+            this.numberOfPages = numberOfPages;
+        }
+    }
 }
@@ -0,0 +1,121 @@
+/*
+
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2017 iText Group NV
+    Authors: Bruno Lowagie, Paulo Soares, et al.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.layout.renderer;
+
+import com.itextpdf.kernel.geom.PageSize;
+import com.itextpdf.layout.Document;
+import com.itextpdf.layout.layout.LayoutArea;
+import com.itextpdf.layout.layout.LayoutResult;
+
+/**
+ * Lays out a section of the document content, which starts on a new page, independently of the
+ * {@link DocumentRenderer}: neither pages are added to the document nor content is drawn.
+ * Page numbers of the section start from 1. The laid out section is placed into the document
+ * by {@link DocumentRenderer#addSection(RootRenderer)}, which shifts the page numbers.
+ */
+final class SectionRenderer extends RootRenderer {
+
+    final Document document;
+    final PageSize firstPageSize;
+    final PageSize pageSize;
+    private int childrenCount;
+
+    /**
+     * @param document      the document the section belongs to
+     * @param firstPageSize the size of the first page of the section
+     * @param pageSize      the size of the next pages of the section
+     */
+    SectionRenderer(Document document, PageSize firstPageSize, PageSize pageSize) {
+        this.document = document;
+        this.firstPageSize = firstPageSize;
+        this.pageSize = pageSize;
+        this.immediateFlush = false;
+        this.modelElement = document;
+    }
+
+    /**
+     * Completes the layout of the section, places the element waiting for the next one, if any.
+     * The laid out content is kept.
+     */
+    @Override
+    public void close() {
+        childrenCount = getAddedChildrenCount();
+        super.close();
+    }
+
+    /**
+     * The content of a section is drawn once it is added to the document, so this method does nothing.
+     */
+    @Override
+    public void flush() {
+    }
+
+    @Override
+    public IRenderer getNextRenderer() {
+        return null;
+    }
+
+    @Override
+    public LayoutArea getOccupiedArea() {
+        throw new IllegalStateException("Not applicable for SectionRenderer");
+    }
+
+    /**
+     * Gets the number of children added to the section before it was closed.
+     */
+    int getChildrenCount() {
+        return childrenCount;
+    }
+
+    @Override
+    protected LayoutArea updateCurrentArea(LayoutResult overflowResult) {
+        currentPageNumber++;
+        PageSize currentPageSize = currentPageNumber == 1 ? firstPageSize : pageSize;
+        return (currentArea = new LayoutArea(currentPageNumber, document.getPageEffectiveArea(currentPageSize)));
+    }
+
+    @Override
+    protected void flushSingleRenderer(IRenderer resultRenderer) {
+    }
+}
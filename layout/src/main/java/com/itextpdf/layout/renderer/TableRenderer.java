@@ -68,6 +68,7 @@ import org.slf4j.LoggerFactory;
 
 import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Deque;
 import java.util.HashMap;
 import java.util.List;
@@ -232,7 +233,7 @@ public class TableRenderer extends AbstractRenderer {
                 footerRenderer.setProperty(Property.WIDTH, UnitValue.createPointValue(layoutBox.getWidth()));
             }
 
-            LayoutResult result = footerRenderer.layout(new LayoutContext(new LayoutArea(area.getPageNumber(), layoutBox)));
+            LayoutResult result = layoutChild(footerRenderer, new LayoutContext(new LayoutArea(area.getPageNumber(), layoutBox)));
             if (result.getStatus() != LayoutResult.FULL) {
                 return new LayoutResult(LayoutResult.NOTHING, null, null, this, result.getCauseOfNothing());
             }
@@ -282,7 +283,7 @@ public class TableRenderer extends AbstractRenderer {
             if (hasProperty(Property.WIDTH)) {
                 headerRenderer.setProperty(Property.WIDTH, UnitValue.createPointValue(layoutBox.getWidth()));
             }
-            LayoutResult result = headerRenderer.layout(new LayoutContext(new LayoutArea(area.getPageNumber(), layoutBox)));
+            LayoutResult result = layoutChild(headerRenderer, new LayoutContext(new LayoutArea(area.getPageNumber(), layoutBox)));
             if (result.getStatus() != LayoutResult.FULL) {
                 return new LayoutResult(LayoutResult.NOTHING, null, null, this, result.getCauseOfNothing());
             }
@@ -464,7 +465,7 @@ public class TableRenderer extends AbstractRenderer {
                     cellArea.getBBox().moveUp(diff / 2).decreaseHeight(diff / 2);
                     cell.setProperty(Property.BORDER_BOTTOM, collapsedBottomBorder);
                 }
-                LayoutResult cellResult = cell.setParent(this).layout(new LayoutContext(cellArea));
+                LayoutResult cellResult = layoutChild(cell.setParent(this), new LayoutContext(cellArea));
                 // we need to disable collapsing with the next row
                 if (!processAsLast && LayoutResult.NOTHING == cellResult.getStatus()) {
                     processAsLast = true;
@@ -558,7 +559,7 @@ public class TableRenderer extends AbstractRenderer {
                                 if (hasProperty(Property.WIDTH)) {
                                     overflowRenderer.setProperty(Property.WIDTH, UnitValue.createPointValue(layoutBox.getWidth()));
                                 }
-                                if (LayoutResult.FULL == overflowRenderer.layout(new LayoutContext(potentialArea)).getStatus()) {
+                                if (LayoutResult.FULL == layoutChild(overflowRenderer, new LayoutContext(potentialArea)).getStatus()) {
                                     footerRenderer = null;
                                     // fix layout area and table bottom border
                                     layoutBox.increaseHeight(footerHeight).moveDown(footerHeight);
@@ -754,7 +755,7 @@ public class TableRenderer extends AbstractRenderer {
                     footerRenderer.setProperty(Property.WIDTH, UnitValue.createPointValue(layoutBox.getWidth()));
                 }
 
-                footerRenderer.layout(new LayoutContext(new LayoutArea(area.getPageNumber(), layoutBox)));
+                layoutChild(footerRenderer, new LayoutContext(new LayoutArea(area.getPageNumber(), layoutBox)));
                 layoutBox.<Rectangle>applyMargins(0, -collapsedTableBorderWidths[1] / 2,
                         0, -collapsedTableBorderWidths[3] / 2, true);
                 float footerHeight = footerRenderer.getOccupiedAreaBBox().getHeight();
@@ -1001,7 +1002,7 @@ public class TableRenderer extends AbstractRenderer {
             // apply the difference to set footer and table left/right margins identical
             layoutBox.<Rectangle>applyMargins(0, -collapsedTableBorderWidths[1] / 2,
                     0, -collapsedTableBorderWidths[3] / 2, false);
-            footerRenderer.layout(new LayoutContext(new LayoutArea(area.getPageNumber(), layoutBox)));
+            layoutChild(footerRenderer, new LayoutContext(new LayoutArea(area.getPageNumber(), layoutBox)));
             layoutBox.<Rectangle>applyMargins(0, -collapsedTableBorderWidths[1] / 2,
                     0, -collapsedTableBorderWidths[3] / 2, true);
 
@@ -1176,6 +1177,11 @@ public class TableRenderer extends AbstractRenderer {
         } else {
             super.draw(drawContext);
         }
+        if (!isLastRendererForModelElement) {
+            // The rows of a split renderer and of the overflow renderer are views of the same list. Release the drawn
+            // cell renderers, otherwise the renderers of all the rows are kept until the whole table is drawn.
+            Collections.fill(rows, null);
+        }
     }
 
     /**
@@ -1191,7 +1197,7 @@ public class TableRenderer extends AbstractRenderer {
                 drawContext.setTaggingEnabled(false);
                 drawContext.getCanvas().openTag(new CanvasArtifact());
             }
-            headerRenderer.draw(drawContext);
+            drawChild(headerRenderer, drawContext);
             if (notToTagHeader) {
                 drawContext.getCanvas().closeTag();
                 drawContext.setTaggingEnabled(true);
@@ -1205,7 +1211,7 @@ public class TableRenderer extends AbstractRenderer {
                 drawContext.setTaggingEnabled(false);
                 drawContext.getCanvas().openTag(new CanvasArtifact());
             }
-            footerRenderer.draw(drawContext);
+            drawChild(footerRenderer, drawContext);
             if (notToTagFooter) {
                 drawContext.getCanvas().closeTag();
                 drawContext.setTaggingEnabled(true);
@@ -1251,7 +1257,7 @@ public class TableRenderer extends AbstractRenderer {
                 }
             }
 
-            child.draw(drawContext);
+            drawChild(child, drawContext);
 
             if (isTagged) {
                 tagPointer.moveToParent();
@@ -49,6 +49,7 @@ import com.itextpdf.io.font.FontProgram;
 import com.itextpdf.io.font.TrueTypeFont;
 import com.itextpdf.io.font.otf.Glyph;
 import com.itextpdf.io.font.otf.GlyphLine;
+import com.itextpdf.io.font.otf.ShapedGlyphLineCache;
 import com.itextpdf.io.util.TextUtil;
 import com.itextpdf.kernel.color.Color;
 import com.itextpdf.kernel.font.PdfFont;
@@ -110,6 +111,10 @@ public class TextRenderer extends AbstractRenderer {
 
     protected List<int[]> reversedRanges;
 
+    // The glyph advances and break opportunities of the text, shared with the overflow renderers.
+    // Dropped whenever the text is replaced or shaped.
+    private GlyphLineMeasurements measurements;
+
     /**
      * Creates a TextRenderer from its corresponding layout object.
      *
@@ -141,6 +146,7 @@ public class TextRenderer extends AbstractRenderer {
         this.otfFeaturesApplied = other.otfFeaturesApplied;
         this.tabAnchorCharacterPosition = other.tabAnchorCharacterPosition;
         this.reversedRanges = other.reversedRanges;
+        this.measurements = other.measurements;
     }
 
     @Override
@@ -174,6 +180,10 @@ public class TextRenderer extends AbstractRenderer {
         float ascender = ascenderDescender[0];
         float descender = ascenderDescender[1];
 
+        if (measurements == null || !measurements.isValidFor(text, font, fontSize, hScale, characterSpacing, wordSpacing, splitCharacters)) {
+            measurements = new GlyphLineMeasurements(text, font, fontSize, hScale, characterSpacing, wordSpacing, splitCharacters);
+        }
+
         float currentLineAscender = 0;
         float currentLineDescender = 0;
         float currentLineHeight = 0;
@@ -206,6 +216,50 @@ public class TextRenderer extends AbstractRenderer {
                 continue;
             }
 
+            if (tabAnchorCharacter == null) {
+                // Place the whole words which fit into the line at once. The widths of the words are summed up the same
+                // way as when the words are placed one by one below, so that the line width is exactly the same.
+                int lastFittingPos = measurements.findLastFittingWordEnd(currentTextPos, text.end, previousCharPos == -1,
+                        layoutBox.getWidth() - currentLineWidth - italicSkewAddition - boldSimulationAddition);
+                float lineWidth = currentLineWidth;
+                float wordWidth = 0;
+                int wordPreviousCharPos = previousCharPos;
+                int placedPartEnd = -1;
+                for (int ind = currentTextPos; ind <= lastFittingPos && !measurements.isNewLine(ind); ind++) {
+                    if (measurements.isNoPrint(ind)) {
+                        continue;
+                    }
+                    float glyphWidth = measurements.getWidth(ind);
+                    float xAdvance = wordPreviousCharPos != -1 ? measurements.getXAdvance(wordPreviousCharPos) : 0;
+                    if (wordWidth + glyphWidth + xAdvance + italicSkewAddition + boldSimulationAddition > layoutBox.getWidth() - lineWidth) {
+                        break;
+                    }
+                    wordWidth += glyphWidth + xAdvance;
+                    wordPreviousCharPos = ind;
+                    if (measurements.isBreakAfter(ind) || ind + 1 == text.end) {
+                        lineWidth += wordWidth;
+                        wordWidth = 0;
+                        placedPartEnd = ind;
+                    }
+                }
+                if (placedPartEnd != -1) {
+                    if (line.start == -1) {
+                        line.start = currentTextPos;
+                    }
+                    line.end = Math.max(line.end, placedPartEnd + 1);
+                    float placedPartMaxAscender = Math.max(0, ascender);
+                    float placedPartMaxDescender = Math.min(0, descender);
+                    currentLineAscender = Math.max(currentLineAscender, placedPartMaxAscender);
+                    currentLineDescender = Math.min(currentLineDescender, placedPartMaxDescender);
+                    currentLineHeight = Math.max(currentLineHeight, (placedPartMaxAscender - placedPartMaxDescender) * fontSize / TEXT_SPACE_COEFF + textRise);
+                    currentLineWidth = lineWidth;
+                    previousCharPos = placedPartEnd;
+                    currentTextPos = placedPartEnd + 1;
+                    anythingPlaced = true;
+                    continue;
+                }
+            }
+
             int nonBreakablePartEnd = text.end - 1;
             float nonBreakablePartFullWidth = 0;
             float nonBreakablePartWidthWhichDoesNotExceedAllowedWidth = 0;
@@ -215,7 +269,7 @@ public class TextRenderer extends AbstractRenderer {
             int firstCharacterWhichExceedsAllowedWidth = -1;
 
             for (int ind = currentTextPos; ind < text.end; ind++) {
-                if (TextUtil.isNewLine(text.get(ind))) {
+                if (measurements.isNewLine(ind)) {
                     isSplitForcedByNewLineAndWeNeedToIgnoreNewLineSymbol = true;
                     firstCharacterWhichExceedsAllowedWidth = ind + 1;
                     if (currentTextPos == firstPrintPos) {
@@ -226,8 +280,7 @@ public class TextRenderer extends AbstractRenderer {
                     break;
                 }
 
-                Glyph currentGlyph = text.get(ind);
-                if (noPrint(currentGlyph))
+                if (measurements.isNoPrint(ind))
                     continue;
 
                 if (tabAnchorCharacter != null && tabAnchorCharacter == text.get(ind).getUnicode()) {
@@ -235,11 +288,8 @@ public class TextRenderer extends AbstractRenderer {
                     tabAnchorCharacter = null;
                 }
 
-                float glyphWidth = getCharWidth(currentGlyph, fontSize, hScale, characterSpacing, wordSpacing) / TEXT_SPACE_COEFF;
-                float xAdvance = previousCharPos != -1 ? text.get(previousCharPos).getXAdvance() : 0;
-                if (xAdvance != 0) {
-                    xAdvance = scaleXAdvance(xAdvance, fontSize, hScale) / TEXT_SPACE_COEFF;
-                }
+                float glyphWidth = measurements.getWidth(ind);
+                float xAdvance = previousCharPos != -1 ? measurements.getXAdvance(previousCharPos) : 0;
                 if ((nonBreakablePartFullWidth + glyphWidth + xAdvance + italicSkewAddition + boldSimulationAddition) > layoutBox.getWidth() - currentLineWidth && firstCharacterWhichExceedsAllowedWidth == -1) {
                     firstCharacterWhichExceedsAllowedWidth = ind;
                 }
@@ -260,9 +310,7 @@ public class TextRenderer extends AbstractRenderer {
                     break;
                 }
 
-                if (splitCharacters.isSplitCharacter(text, ind) || ind + 1 == text.end ||
-                        splitCharacters.isSplitCharacter(text, ind + 1) &&
-                                TextUtil.isSpaceOrWhitespace(text.get(ind + 1))) {
+                if (measurements.isBreakAfter(ind) || ind + 1 == text.end) {
                     nonBreakablePartEnd = ind;
                     break;
                 }
@@ -461,16 +509,29 @@ public class TextRenderer extends AbstractRenderer {
                 }
             }
 
-            if (hasOtfFont() && script != null) {
-                TypographyUtils.applyOtfScript(font.getFontProgram(), text, script);
-            }
-
+            boolean applyOtfScript = hasOtfFont() && script != null;
             FontKerning fontKerning = (FontKerning) this.<FontKerning>getProperty(Property.FONT_KERNING, FontKerning.NO);
-            if (fontKerning == FontKerning.YES) {
-                TypographyUtils.applyKerning(font.getFontProgram(), text);
+            boolean applyKerning = fontKerning == FontKerning.YES;
+            ShapedGlyphLineCache shapingCache = null;
+            ShapedGlyphLineCache.Key shapingKey = null;
+            if ((applyOtfScript || applyKerning) && TypographyUtils.isTypographyModuleInitialized()) {
+                shapingCache = font.getFontProgram().getShapedGlyphLineCache();
+                shapingKey = shapingCache.createKey(applyOtfScript ? script : null, applyKerning, text);
+            }
+            if (shapingKey == null || !shapingCache.applyCachedResult(shapingKey, text)) {
+                if (applyOtfScript) {
+                    TypographyUtils.applyOtfScript(font.getFontProgram(), text, script);
+                }
+                if (applyKerning) {
+                    TypographyUtils.applyKerning(font.getFontProgram(), text);
+                }
+                if (shapingKey != null) {
+                    shapingCache.cacheResult(shapingKey, text);
+                }
             }
 
             otfFeaturesApplied = true;
+            measurements = null;
         }
     }
 
@@ -791,6 +852,7 @@ public class TextRenderer extends AbstractRenderer {
         this.text.start = leftPos;
         this.text.end = rightPos;
         this.otfFeaturesApplied = false;
+        this.measurements = null;
     }
 
     public GlyphLine getText() {
@@ -953,6 +1015,9 @@ public class TextRenderer extends AbstractRenderer {
         overflowRenderer.setText(text, initialOverflowTextPos, text.end);
         overflowRenderer.font = font;
         overflowRenderer.otfFeaturesApplied = otfFeaturesApplied;
+        if (measurements != null) {
+            overflowRenderer.measurements = measurements.forCopyOfText(overflowRenderer.text);
+        }
         overflowRenderer.parent = parent;
         overflowRenderer.addAllProperties(getOwnProperties());
 
@@ -1056,7 +1121,7 @@ public class TextRenderer extends AbstractRenderer {
         return TextUtil.isNonPrintable(c);
     }
 
-    private float getCharWidth(Glyph g, float fontSize, Float hScale, Float characterSpacing, Float wordSpacing) {
+    static float getCharWidth(Glyph g, float fontSize, Float hScale, Float characterSpacing, Float wordSpacing) {
         if (hScale == null)
             hScale = 1f;
 
@@ -1070,7 +1135,7 @@ public class TextRenderer extends AbstractRenderer {
         return resultWidth;
     }
 
-    private float scaleXAdvance(float xAdvance, float fontSize, Float hScale) {
+    static float scaleXAdvance(float xAdvance, float fontSize, Float hScale) {
         return xAdvance * fontSize * (float) hScale;
     }
 
@@ -1117,6 +1182,7 @@ public class TextRenderer extends AbstractRenderer {
             font = getPropertyAsFont(Property.FONT);
             text = convertToGlyphLine(strToBeConverted);
             otfFeaturesApplied = false;
+            measurements = null;
             strToBeConverted = null;
         }
     }
@@ -1125,6 +1191,7 @@ public class TextRenderer extends AbstractRenderer {
         this.text = new GlyphLine(glyphs);
         this.font = font;
         this.otfFeaturesApplied = false;
+        this.measurements = null;
         this.strToBeConverted = null;
         setProperty(Property.FONT, font);
     }
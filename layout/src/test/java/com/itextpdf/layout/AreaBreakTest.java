@@ -49,8 +49,12 @@ import com.itextpdf.kernel.pdf.PdfReader;
 import com.itextpdf.kernel.pdf.PdfWriter;
 import com.itextpdf.kernel.utils.CompareTool;
 import com.itextpdf.layout.element.AreaBreak;
+import com.itextpdf.layout.element.IBlockElement;
+import com.itextpdf.layout.element.IElement;
 import com.itextpdf.layout.element.Paragraph;
+import com.itextpdf.layout.element.Table;
 import com.itextpdf.layout.property.AreaBreakType;
+import com.itextpdf.layout.renderer.IRenderer;
 import com.itextpdf.test.ExtendedITextTest;
 import com.itextpdf.test.annotations.type.IntegrationTest;
 import org.junit.Assert;
@@ -59,6 +63,12 @@ import org.junit.Test;
 import org.junit.experimental.categories.Category;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 @Category(IntegrationTest.class)
 public class AreaBreakTest extends ExtendedITextTest {
@@ -66,6 +76,8 @@ public class AreaBreakTest extends ExtendedITextTest {
     public static final String sourceFolder = "./src/test/resources/com/itextpdf/layout/AreaBreakTest/";
     public static final String destinationFolder = "./target/test/com/itextpdf/layout/AreaBreakTest/";
 
+    private static final int CHAPTERS = 8;
+
     @BeforeClass
     public static void beforeClass() {
         createDestinationFolder(destinationFolder);
@@ -132,4 +144,82 @@ public class AreaBreakTest extends ExtendedITextTest {
         Assert.assertNull(new CompareTool().compareByContent(outFileName, cmpFileName, destinationFolder, "diff"));
     }
 
+    @Test
+    public void concurrentSectionsLayoutTest() throws IOException, InterruptedException {
+        concurrentSectionsLayout("concurrentSectionsLayout.pdf", true, 0);
+    }
+
+    @Test
+    public void concurrentSectionsLayoutNotImmediateFlushTest() throws IOException, InterruptedException {
+        concurrentSectionsLayout("concurrentSectionsLayoutNotImmediateFlush.pdf", false, 0);
+    }
+
+    @Test
+    public void concurrentSectionsLayoutLastPageBreakTest() throws IOException, InterruptedException {
+        // the section after the LAST_PAGE break depends on the previous ones and is laid out sequentially
+        concurrentSectionsLayout("concurrentSectionsLayoutLastPageBreak.pdf", true, 5);
+    }
+
+    private void concurrentSectionsLayout(String fileName, boolean immediateFlush, int lastPageBreakChapter) throws IOException, InterruptedException {
+        String outFileName = destinationFolder + fileName;
+        String cmpFileName = destinationFolder + "cmp_" + fileName;
+
+        Document document = new Document(new PdfDocument(new PdfWriter(cmpFileName)), PageSize.A4, immediateFlush);
+        for (IElement element : createChapters(lastPageBreakChapter, new AtomicInteger())) {
+            if (element instanceof AreaBreak) {
+                document.add((AreaBreak) element);
+            } else {
+                document.add((IBlockElement) element);
+            }
+        }
+        document.add(new Paragraph("The end"));
+        document.close();
+
+        AtomicInteger headingRenderers = new AtomicInteger();
+        ThreadPoolExecutor executorService = new ThreadPoolExecutor(4, 4, 0, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<Runnable>());
+        try {
+            document = new Document(new PdfDocument(new PdfWriter(outFileName)), PageSize.A4, immediateFlush);
+            document.addAll(createChapters(lastPageBreakChapter, headingRenderers), executorService);
+            document.add(new Paragraph("The end"));
+            document.close();
+        } finally {
+            executorService.shutdown();
+        }
+        Assert.assertTrue(executorService.awaitTermination(1, TimeUnit.MINUTES));
+
+        // every independent section has been laid out by a task, and no section has been laid out again
+        // because it couldn't be placed, otherwise the renderer of its heading would have been created twice
+        Assert.assertEquals(lastPageBreakChapter > 0 ? CHAPTERS - 1 : CHAPTERS, executorService.getCompletedTaskCount());
+        Assert.assertEquals(CHAPTERS, headingRenderers.get());
+        Assert.assertNull(new CompareTool().compareByContent(outFileName, cmpFileName, destinationFolder, "diff"));
+    }
+
+    private static List<IElement> createChapters(int lastPageBreakChapter, final AtomicInteger headingRenderers) {
+        List<IElement> elements = new ArrayList<>();
+        elements.add(new Paragraph("Contents"));
+        for (int chapter = 1; chapter <= CHAPTERS; chapter++) {
+            if (chapter == lastPageBreakChapter) {
+                elements.add(new AreaBreak(AreaBreakType.LAST_PAGE));
+            } else {
+                elements.add(chapter % 3 == 0 ? new AreaBreak(new PageSize(400, 600)) : new AreaBreak());
+            }
+            elements.add(new Paragraph("Chapter " + chapter) {
+                @Override
+                public IRenderer createRendererSubTree() {
+                    headingRenderers.incrementAndGet();
+                    return super.createRendererSubTree();
+                }
+            }.setFontSize(20).setDestination("chapter" + chapter));
+            for (int i = 0; i < chapter * 15; i++) {
+                elements.add(new Paragraph("Paragraph " + i + " of chapter " + chapter + ". Some text to fill the line with words."));
+            }
+            Table table = new Table(2);
+            for (int i = 0; i < chapter * 10; i++) {
+                table.addCell("Row " + i).addCell("Value " + i * chapter);
+            }
+            elements.add(table);
+        }
+        return elements;
+    }
+
 }
@@ -48,7 +48,9 @@ import com.itextpdf.kernel.pdf.PdfWriter;
 import com.itextpdf.kernel.utils.CompareTool;
 import com.itextpdf.layout.element.Paragraph;
 import com.itextpdf.layout.element.Text;
+import com.itextpdf.layout.font.FontCharacteristics;
 import com.itextpdf.layout.font.FontProvider;
+import com.itextpdf.layout.font.FontSelector;
 import com.itextpdf.layout.property.Property;
 import com.itextpdf.test.ExtendedITextTest;
 import com.itextpdf.test.annotations.type.IntegrationTest;
@@ -58,6 +60,7 @@ import org.junit.Test;
 import org.junit.experimental.categories.Category;
 
 import java.io.FileOutputStream;
+import java.util.Arrays;
 
 @Category(IntegrationTest.class)
 public class FontSelectorTest extends ExtendedITextTest {
@@ -167,4 +170,20 @@ public class FontSelectorTest extends ExtendedITextTest {
 
         Assert.assertNull(new CompareTool().compareByContent(outFileName, cmpFileName, destinationFolder, "diff"));
     }
+
+    @Test
+    public void fontSelectorSharedByProviders() {
+        FontProvider provider = new FontProvider();
+        provider.addStandardPdfFonts();
+        FontProvider anotherProvider = new FontProvider(provider.getFontSet());
+
+        FontCharacteristics fc = new FontCharacteristics();
+        FontSelector selector = provider.getFontSelector(Arrays.asList("Times", "Helvetica Bold"), fc);
+        Assert.assertTrue(fc.isUndefined());
+        Assert.assertSame(selector, anotherProvider.getFontSelector(Arrays.asList("Times", "Helvetica Bold"), new FontCharacteristics()));
+        Assert.assertEquals("Times-Bold", selector.bestMatch().getDescriptor().getFontName());
+
+        FontSelector monospaceSelector = anotherProvider.getFontSelector(Arrays.asList("monospace"), new FontCharacteristics().setItalicFlag(true));
+        Assert.assertEquals("Courier-Oblique", monospaceSelector.bestMatch().getDescriptor().getFontName());
+    }
 }
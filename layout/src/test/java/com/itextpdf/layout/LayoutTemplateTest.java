@@ -0,0 +1,159 @@
+/*
+
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2017 iText Group NV
+    Authors: Bruno Lowagie, Paulo Soares, et al.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.layout;
+
+import com.itextpdf.kernel.pdf.PdfDictionary;
+import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfName;
+import com.itextpdf.kernel.pdf.PdfReader;
+import com.itextpdf.kernel.pdf.PdfWriter;
+import com.itextpdf.kernel.pdf.action.PdfAction;
+import com.itextpdf.kernel.pdf.tagging.IPdfStructElem;
+import com.itextpdf.kernel.pdf.xobject.PdfFormXObject;
+import com.itextpdf.layout.element.AreaBreak;
+import com.itextpdf.layout.element.Div;
+import com.itextpdf.layout.element.Image;
+import com.itextpdf.layout.element.Link;
+import com.itextpdf.layout.element.Paragraph;
+import com.itextpdf.test.ExtendedITextTest;
+import com.itextpdf.test.annotations.type.IntegrationTest;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+
+@Category(IntegrationTest.class)
+public class LayoutTemplateTest extends ExtendedITextTest {
+
+    @Test
+    public void staticBlocksTest() throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        PdfDocument pdfDocument = new PdfDocument(new PdfWriter(baos));
+        Document document = new Document(pdfDocument);
+
+        Div terms = new Div();
+        for (int i = 0; i < 5; i++) {
+            terms.add(new Paragraph("Term " + i + ": the quick brown fox jumps over the lazy dog."));
+        }
+        LayoutTemplate template = new LayoutTemplate(document)
+                .addStaticBlock("terms", terms)
+                .addStaticBlock("footer", new Paragraph("Footer").setMargin(0), 200);
+
+        PdfFormXObject termsXObject = template.getStaticBlock("terms");
+        Assert.assertEquals(523, termsXObject.getWidth(), 1e-3);
+        Assert.assertTrue(termsXObject.getHeight() > 5 * 12);
+        Assert.assertEquals(200, template.getStaticBlock("footer").getWidth(), 1e-3);
+
+        for (int i = 0; i < 3; i++) {
+            if (i > 0) {
+                document.add(new AreaBreak());
+            }
+            document.add(new Paragraph("Dear customer " + i + ","));
+            document.add(template.createStaticBlock("terms"));
+            document.add(template.createStaticBlock("footer").setFixedPosition(i + 1, 36, 36));
+        }
+        document.close();
+
+        PdfDocument result = new PdfDocument(new PdfReader(new ByteArrayInputStream(baos.toByteArray())));
+        Assert.assertEquals(3, result.getNumberOfPages());
+        PdfDictionary firstPageXObjects = result.getPage(1).getResources().getResource(PdfName.XObject);
+        for (int i = 2; i <= 3; i++) {
+            PdfDictionary xObjects = result.getPage(i).getResources().getResource(PdfName.XObject);
+            Assert.assertEquals(2, xObjects.size());
+            for (PdfName name : xObjects.keySet()) {
+                Assert.assertEquals(firstPageXObjects.get(name, false), xObjects.get(name, false));
+            }
+        }
+        result.close();
+    }
+
+    @Test
+    public void taggedDocumentTest() throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        PdfDocument pdfDocument = new PdfDocument(new PdfWriter(baos));
+        pdfDocument.setTagged();
+        Document document = new Document(pdfDocument);
+
+        LayoutTemplate template = new LayoutTemplate(document)
+                .addStaticBlock("terms", new Paragraph("The quick brown fox jumps over the lazy dog."))
+                .addStaticBlock("letterhead", new Paragraph("Letterhead"));
+        Image letterhead = template.createStaticBlock("letterhead");
+        letterhead.setRole(PdfName.Artifact);
+        document.add(letterhead);
+        document.add(new Paragraph("Dear customer,"));
+        Image terms = template.createStaticBlock("terms");
+        terms.getAccessibilityProperties().setAlternateDescription("The quick brown fox jumps over the lazy dog.");
+        document.add(terms);
+        document.close();
+
+        PdfDocument result = new PdfDocument(new PdfReader(new ByteArrayInputStream(baos.toByteArray())));
+        List<IPdfStructElem> documentKids = result.getStructTreeRoot().getKids().get(0).getKids();
+        Assert.assertEquals(2, documentKids.size());
+        Assert.assertEquals(PdfName.P, documentKids.get(0).getRole());
+        Assert.assertEquals(PdfName.Figure, documentKids.get(1).getRole());
+        result.close();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void staticBlockWithLinkTest() {
+        Document document = new Document(new PdfDocument(new PdfWriter(new ByteArrayOutputStream())));
+        new LayoutTemplate(document).addStaticBlock("link", new Paragraph().add(new Link("link", PdfAction.createURI("http://itextpdf.com"))));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void staticBlockWithActionTest() {
+        Document document = new Document(new PdfDocument(new PdfWriter(new ByteArrayOutputStream())));
+        new LayoutTemplate(document).addStaticBlock("action", new Paragraph("x").setAction(PdfAction.createURI("http://itextpdf.com")));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void unknownStaticBlockTest() {
+        Document document = new Document(new PdfDocument(new PdfWriter(new ByteArrayOutputStream())));
+        new LayoutTemplate(document).createStaticBlock("unknown");
+    }
+}
@@ -118,6 +118,83 @@ public class PreLayoutTest extends ExtendedITextTest{
         Assert.assertNull(new CompareTool().compareByContent(outFileName, cmpFileName, destinationFolder, "diff"));
     }
 
+    @Test
+    public void preLayoutTest03() throws IOException, InterruptedException {
+        String outFileName = destinationFolder + "preLayoutTest03.pdf";
+        String cmpFileName = sourceFolder + "cmp_preLayoutTest01.pdf";
+        PdfDocument pdfDocument = new PdfDocument(new PdfWriter(outFileName));
+
+        Document document = new Document(pdfDocument, PageSize.Default, false);
+
+        List<IRenderer> pageNumberRenderers = new ArrayList<>();
+        List<Paragraph> pageNumberParagraphs = new ArrayList<>();
+        addPageNumberedContent(document, pageNumberRenderers, pageNumberParagraphs);
+        updatePageNumbers(pageNumberRenderers, 0);
+
+        // the first page number is on the first page, so the result must be the same as of the entire relayout
+        document.relayout(pageNumberParagraphs.get(0));
+
+        document.close();
+
+        Assert.assertNull(new CompareTool().compareByContent(outFileName, cmpFileName, destinationFolder, "diff"));
+    }
+
+    @Test
+    public void preLayoutTest04() throws IOException, InterruptedException {
+        String outFileName = destinationFolder + "preLayoutTest04.pdf";
+        String cmpFileName = destinationFolder + "cmp_preLayoutTest04.pdf";
+
+        int cmpNumberOfPages = 0;
+        for (String fileName : new String[] {cmpFileName, outFileName}) {
+            Document document = new Document(new PdfDocument(new PdfWriter(fileName)), PageSize.Default, false);
+            List<IRenderer> pageNumberRenderers = new ArrayList<>();
+            List<Paragraph> pageNumberParagraphs = new ArrayList<>();
+            addPageNumberedContent(document, pageNumberRenderers, pageNumberParagraphs);
+            updatePageNumbers(pageNumberRenderers, pageNumberRenderers.size() - 1);
+            if (fileName.equals(cmpFileName)) {
+                document.relayout();
+                cmpNumberOfPages = document.getPdfDocument().getNumberOfPages();
+            } else {
+                // only the last pages are laid out again
+                document.relayout(pageNumberParagraphs.get(pageNumberParagraphs.size() - 1));
+                Assert.assertEquals(cmpNumberOfPages, document.getPdfDocument().getNumberOfPages());
+            }
+            document.close();
+        }
+
+        Assert.assertNull(new CompareTool().compareByContent(outFileName, cmpFileName, destinationFolder, "diff"));
+    }
+
+    private static void addPageNumberedContent(Document document, List<IRenderer> pageNumberRenderers, List<Paragraph> pageNumberParagraphs) throws IOException {
+        document.setProperty(Property.FONT, PdfFontFactory.createFont(FontConstants.HELVETICA));
+
+        for (int i = 0; i < 200; i++) {
+            document.add(new Paragraph("This is just junk text"));
+            if (i % 10 == 0) {
+                Text pageNumberText = new Text("Page #: {pageNumber}");
+                IRenderer renderer = new TextRenderer(pageNumberText);
+                pageNumberText.setNextRenderer(renderer);
+                pageNumberRenderers.add(renderer);
+
+                Paragraph pageNumberParagraph = new Paragraph().add(pageNumberText);
+                pageNumberParagraphs.add(pageNumberParagraph);
+                document.add(pageNumberParagraph);
+            }
+        }
+    }
+
+    private static void updatePageNumbers(List<IRenderer> pageNumberRenderers, int firstUpdated) {
+        for (int i = 0; i < pageNumberRenderers.size(); i++) {
+            IRenderer renderer = pageNumberRenderers.get(i);
+            String currentData = renderer.toString();
+            if (i >= firstUpdated) {
+                currentData = currentData.replace("{pageNumber}", String.valueOf(renderer.getOccupiedArea().getPageNumber()));
+            }
+            ((TextRenderer)renderer).setText(currentData);
+            ((Text)renderer.getModelElement()).setNextRenderer(renderer);
+        }
+    }
+
     @Test
     public void preLayoutTest02() throws IOException, InterruptedException {
         String outFileName = destinationFolder + "preLayoutTest02.pdf";
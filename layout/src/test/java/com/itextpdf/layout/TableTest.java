@@ -59,10 +59,14 @@ import com.itextpdf.layout.element.Image;
 import com.itextpdf.layout.element.Paragraph;
 import com.itextpdf.layout.element.Table;
 import com.itextpdf.layout.element.Text;
+import com.itextpdf.layout.layout.LayoutContext;
+import com.itextpdf.layout.layout.LayoutResult;
 import com.itextpdf.layout.property.HorizontalAlignment;
 import com.itextpdf.layout.property.Property;
 import com.itextpdf.layout.property.UnitValue;
 import com.itextpdf.layout.renderer.DocumentRenderer;
+import com.itextpdf.layout.renderer.IRenderer;
+import com.itextpdf.layout.renderer.ParagraphRenderer;
 import com.itextpdf.layout.renderer.TableRenderer;
 import com.itextpdf.test.ExtendedITextTest;
 import com.itextpdf.test.annotations.LogMessage;
@@ -1390,9 +1394,60 @@ public class TableTest extends ExtendedITextTest {
         Assert.assertNull(new CompareTool().compareByContent(outFileName, cmpFileName, destinationFolder, testName + "_diff"));
     }
 
+    @Test
+    public void keptTogetherTableLayoutReuseTest() throws IOException, InterruptedException {
+        String testName = "keptTogetherTableLayoutReuseTest.pdf";
+        String outFileName = destinationFolder + testName;
+        String cmpFileName = sourceFolder + "cmp_" + testName;
+
+        PdfDocument pdfDoc = new PdfDocument(new PdfWriter(outFileName));
+        Document doc = new Document(pdfDoc);
+
+        for (int i = 0; i < 9; i++) {
+            doc.add(new Paragraph(textContent));
+        }
+        // the table doesn't fit the rest of the first page, so it is laid out again on the second one
+        int[] fullLayoutsCount = new int[1];
+        Table table = new Table(new float[]{250, 250}).setKeepTogether(true);
+        for (int i = 0; i < 20; i++) {
+            Paragraph paragraph = new Paragraph("cell " + i + "\n" + shortTextContent);
+            paragraph.setNextRenderer(new FullLayoutCountingParagraphRenderer(paragraph, fullLayoutsCount));
+            table.addCell(new Cell().add(paragraph));
+        }
+        doc.add(table);
+        doc.close();
+
+        // the cells fully laid out on the first page are moved to the second one instead of being laid out again
+        Assert.assertEquals(20, fullLayoutsCount[0]);
+        Assert.assertNull(new CompareTool().compareByContent(outFileName, cmpFileName, destinationFolder, testName + "_diff"));
+    }
+
     static class CustomRenderer extends TableRenderer {
         public CustomRenderer(Table modelElement, Table.RowRange rowRange) {
             super(modelElement, rowRange);
         }
     }
+
+    static class FullLayoutCountingParagraphRenderer extends ParagraphRenderer {
+        private int[] fullLayoutsCount;
+
+        public FullLayoutCountingParagraphRenderer(Paragraph modelElement, int[] fullLayoutsCount) {
+            super(modelElement);
+            this.fullLayoutsCount = fullLayoutsCount;
+        }
+
+        @Override
+        public LayoutResult layout(LayoutContext layoutContext) {
+            LayoutResult result = super.layout(layoutContext);
+            if (result.getStatus() == LayoutResult.FULL) {
+                fullLayoutsCount[0]++;
+            }
+            return result;
+        }
+
+        @Override
+        public IRenderer getNextRenderer() {
+            return new FullLayoutCountingParagraphRenderer((Paragraph) modelElement, fullLayoutsCount);
+        }
+    }
 }
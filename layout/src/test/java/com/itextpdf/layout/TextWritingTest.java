@@ -55,6 +55,7 @@ import com.itextpdf.layout.element.AreaBreak;
 import com.itextpdf.layout.element.Paragraph;
 import com.itextpdf.layout.element.Text;
 import com.itextpdf.layout.property.Property;
+import com.itextpdf.layout.property.TextAlignment;
 import com.itextpdf.test.ExtendedITextTest;
 import com.itextpdf.test.annotations.type.IntegrationTest;
 import org.junit.Assert;
@@ -254,6 +255,30 @@ public class TextWritingTest extends ExtendedITextTest {
         Assert.assertNull(new CompareTool().compareByContent(outFileName, cmpFileName, destinationFolder, "diff"));
     }
 
+    @Test
+    public void narrowColumnsTest01() throws IOException, InterruptedException {
+        String outFileName = destinationFolder + "narrowColumnsTest01.pdf";
+        String cmpFileName = sourceFolder + "cmp_narrowColumnsTest01.pdf";
+        PdfDocument pdfDocument = new PdfDocument(new PdfWriter(outFileName));
+
+        Document document = new Document(pdfDocument);
+
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < 20; i++) {
+            text.append("To make your document look professionally produced, Word provides header, footer, cover page, " +
+                    "and text box designs that complement each other. AVAST, Tomato: WAVE \u00ADsoft\u00ADhyphen. ");
+        }
+        text.append("\nThe last line.");
+        for (float width : new float[] {60, 150}) {
+            document.add(new Paragraph(text.toString()).setWidth(width).setTextAlignment(TextAlignment.JUSTIFIED));
+            document.add(new AreaBreak());
+        }
+
+        document.close();
+
+        Assert.assertNull(new CompareTool().compareByContent(outFileName, cmpFileName, destinationFolder, "diff"));
+    }
+
     @Test
     public void fontStyleSimulationTest01() throws IOException, InterruptedException {
         String outFileName = destinationFolder + "fontStyleSimulationTest01.pdf";
@@ -0,0 +1,121 @@
+/*
+
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2017 iText Group NV
+    Authors: Bruno Lowagie, Paulo Soares, et al.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.layout.hyphenation;
+
+import com.itextpdf.test.annotations.type.UnitTest;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import java.io.ByteArrayInputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Category(UnitTest.class)
+public class HyphenatedWordCacheTest {
+
+    private static final String PATTERNS = "<?xml version=\"1.0\" encoding=\"utf-8\"?>\n" +
+            "<hyphenation-info>\n" +
+            "<classes>\n" +
+            "aA\nbB\ncC\ndD\neE\nfF\ngG\nhH\niI\nlL\nmM\nnN\noO\npP\nrR\nsS\ntT\nuU\nyY\n" +
+            "</classes>\n" +
+            "<patterns>\n" +
+            "hy3ph he2n hena4 hen5at 1na n2at 1tio 2io o2n 1ph 3tion\n" +
+            "</patterns>\n" +
+            "</hyphenation-info>\n";
+
+    @Test
+    public void cachedHyphenationIsCopiedTest() throws HyphenationException {
+        HyphenationTree tree = createTree();
+        Hyphenation first = tree.hyphenate("hyphenation", 1, 1);
+        Assert.assertEquals("hy-phen-ation", first.toString());
+        first.getHyphenationPoints()[0] = 5;
+
+        Hyphenation second = tree.hyphenate("hyphenation", 1, 1);
+        Assert.assertNotSame(first, second);
+        Assert.assertEquals("hy-phen-ation", second.toString());
+        Assert.assertNull(tree.hyphenate("on", 1, 1));
+        Assert.assertNull(tree.hyphenate("on", 1, 1));
+        // other limits are cached separately
+        Assert.assertEquals("hy-phenation", tree.hyphenate("hyphenation", 1, 6).toString());
+    }
+
+    @Test
+    public void concurrentHyphenationTest() throws Exception {
+        final HyphenationTree tree = createTree();
+        final String[] words = {"hyphenation", "nation", "phon", "hyphen", "Hyphenation"};
+        final String[] expected = new String[words.length];
+        for (int i = 0; i < words.length; i++) {
+            expected[i] = String.valueOf(tree.hyphenateWord(words[i], 2, 2));
+        }
+        final AtomicInteger failures = new AtomicInteger();
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            Thread thread = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    for (int k = 0; k < 1000; k++) {
+                        int i = k % words.length;
+                        if (!expected[i].equals(String.valueOf(tree.hyphenate(words[i], 2, 2)))) {
+                            failures.incrementAndGet();
+                        }
+                    }
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        Assert.assertEquals(0, failures.get());
+    }
+
+    private static HyphenationTree createTree() throws HyphenationException {
+        HyphenationTree tree = new HyphenationTree();
+        tree.loadPatterns(new ByteArrayInputStream(PATTERNS.getBytes()), "test.xml");
+        return tree;
+    }
+}
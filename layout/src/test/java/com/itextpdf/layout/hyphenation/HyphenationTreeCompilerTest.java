@@ -0,0 +1,107 @@
+/*
+
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2017 iText Group NV
+    Authors: Bruno Lowagie, Paulo Soares, et al.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.layout.hyphenation;
+
+import com.itextpdf.test.annotations.type.UnitTest;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+
+@Category(UnitTest.class)
+public class HyphenationTreeCompilerTest {
+
+    private static final String PATTERNS = "<?xml version=\"1.0\" encoding=\"utf-8\"?>\n" +
+            "<hyphenation-info>\n" +
+            "<classes>\n" +
+            "aA\nbB\ncC\ndD\neE\nfF\ngG\nhH\niI\nlL\nmM\nnN\noO\npP\nrR\nsS\ntT\nuU\nyY\n" +
+            "</classes>\n" +
+            "<exceptions>\n" +
+            "ta-ble\n" +
+            "</exceptions>\n" +
+            "<patterns>\n" +
+            "hy3ph he2n hena4 hen5at 1na n2at 1tio 2io o2n 1ph 3tion\n" +
+            "</patterns>\n" +
+            "</hyphenation-info>\n";
+
+    @Test
+    public void compiledTreeHyphenatesAsParsedTest() throws IOException, HyphenationException {
+        HyphenationTree parsed = new HyphenationTree();
+        parsed.loadPatterns(createPatternsStream(), "test.xml");
+
+        ByteArrayOutputStream compiled = new ByteArrayOutputStream();
+        HyphenationTreeCompiler.compile(createPatternsStream(), "test.xml", compiled);
+        HyphenationTree loaded = CompiledHyphenationTree.read(new ByteArrayInputStream(compiled.toByteArray()));
+        Assert.assertNotNull(loaded);
+
+        for (String word : new String[] {"hyphenation", "Hyphenation", "table", "nation", "phon"}) {
+            Hyphenation expected = parsed.hyphenate(word, 1, 1);
+            Hyphenation actual = loaded.hyphenate(word, 1, 1);
+            Assert.assertEquals(word, String.valueOf(expected), String.valueOf(actual));
+            if (expected != null) {
+                Assert.assertTrue(word, Arrays.equals(expected.getHyphenationPoints(), actual.getHyphenationPoints()));
+            }
+        }
+        Assert.assertEquals("hy-phen-ation", String.valueOf(loaded.hyphenate("hyphenation", 1, 1)));
+        Assert.assertEquals("ta-ble", String.valueOf(loaded.hyphenate("table", 1, 1)));
+    }
+
+    @Test
+    public void unknownVersionIsNotLoadedTest() throws IOException, HyphenationException {
+        ByteArrayOutputStream compiled = new ByteArrayOutputStream();
+        HyphenationTreeCompiler.compile(createPatternsStream(), "test.xml", compiled);
+        byte[] bytes = compiled.toByteArray();
+        bytes[7]++;
+        Assert.assertNull(CompiledHyphenationTree.read(new ByteArrayInputStream(bytes)));
+    }
+
+    private static InputStream createPatternsStream() {
+        return new ByteArrayInputStream(PATTERNS.getBytes());
+    }
+}
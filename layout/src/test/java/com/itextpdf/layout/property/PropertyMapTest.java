@@ -0,0 +1,94 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2017 iText Group NV
+    Authors: iText Software.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.layout.property;
+
+import com.itextpdf.test.ExtendedITextTest;
+import com.itextpdf.test.annotations.type.UnitTest;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+@Category(UnitTest.class)
+public class PropertyMapTest extends ExtendedITextTest {
+
+    @Test
+    public void behavesAsHashMapTest() {
+        Map<Integer, Object> expected = new HashMap<>();
+        Map<Integer, Object> properties = new PropertyMap();
+        int[] keys = {Property.FONT_SIZE, Property.MARGIN_TOP, -1, 1000, Property.ACTION, Property.FONT_SIZE};
+        for (int i = 0; i < keys.length; i++) {
+            Object value = i == 2 ? null : "value" + i;
+            Assert.assertEquals(expected.put(keys[i], value), properties.put(keys[i], value));
+        }
+        properties.put(Property.UNDERLINE, null);
+        expected.put(Property.UNDERLINE, null);
+
+        Assert.assertEquals(expected, properties);
+        Assert.assertEquals(expected.hashCode(), properties.hashCode());
+        Assert.assertTrue(properties.containsKey(Property.UNDERLINE));
+        Assert.assertTrue(properties.containsKey(-1));
+        Assert.assertFalse(properties.containsKey(Property.WIDTH));
+        Assert.assertEquals(expected, new PropertyMap(properties));
+        Assert.assertEquals(expected, new PropertyMap(expected));
+
+        Assert.assertEquals(expected.remove(Property.MARGIN_TOP), properties.remove(Property.MARGIN_TOP));
+        Assert.assertNull(properties.remove(Property.MARGIN_TOP));
+        for (Iterator<Map.Entry<Integer, Object>> iterator = properties.entrySet().iterator(); iterator.hasNext(); ) {
+            if (iterator.next().getKey() == 1000) {
+                iterator.remove();
+            }
+        }
+        expected.remove(1000);
+        Assert.assertEquals(expected, properties);
+        Assert.assertEquals(expected.size(), properties.size());
+
+        properties.clear();
+        Assert.assertTrue(properties.isEmpty());
+    }
+
+}
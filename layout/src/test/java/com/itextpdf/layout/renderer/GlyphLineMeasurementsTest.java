@@ -0,0 +1,172 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2017 iText Group NV
+    Authors: iText Software.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.layout.renderer;
+
+import com.itextpdf.io.font.otf.Glyph;
+import com.itextpdf.io.font.otf.GlyphLine;
+import com.itextpdf.layout.splitting.DefaultSplitCharacters;
+import com.itextpdf.layout.splitting.ISplitCharacters;
+import com.itextpdf.test.annotations.type.UnitTest;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Category(UnitTest.class)
+public class GlyphLineMeasurementsTest {
+
+    // with this font size the width of a glyph in points equals its width in glyph space
+    private static final float FONT_SIZE = TextRenderer.TEXT_SPACE_COEFF;
+
+    private static final ISplitCharacters SPLIT_CHARACTERS = new DefaultSplitCharacters();
+
+    @Test
+    public void wholeWordsTest() {
+        GlyphLine text = createGlyphLine("ab cd ef");
+        GlyphLineMeasurements measurements = measure(text, null);
+
+        Assert.assertEquals(7, measurements.findLastFittingWordEnd(0, 8, true, 80));
+        // "ab cd" doesn't fit, so the run ends with the space after "ab"
+        Assert.assertEquals(2, measurements.findLastFittingWordEnd(0, 8, true, 45));
+        Assert.assertEquals(4, measurements.findLastFittingWordEnd(3, 8, false, 25));
+        Assert.assertEquals(-1, measurements.findLastFittingWordEnd(0, 8, true, 15));
+        Assert.assertTrue(measurements.isBreakAfter(1));
+        Assert.assertTrue(measurements.isBreakAfter(2));
+        Assert.assertFalse(measurements.isBreakAfter(3));
+    }
+
+    @Test
+    public void noPrintGlyphsTest() {
+        GlyphLine text = createGlyphLine("ab\u00ADcd ef");
+        GlyphLineMeasurements measurements = measure(text, null);
+
+        Assert.assertTrue(measurements.isNoPrint(2));
+        Assert.assertEquals(0, measurements.getWidth(2), 0);
+        // the soft hyphen takes no space, so the first word fits into 40
+        Assert.assertEquals(4, measurements.findLastFittingWordEnd(0, 8, true, 45));
+        Assert.assertEquals(-1, measurements.findLastFittingWordEnd(0, 8, true, 35));
+    }
+
+    @Test
+    public void newLineGlyphsTest() {
+        List<Glyph> glyphs = createGlyphs("ab\ncd");
+        glyphs.set(1, new Glyph(glyphs.get(1), 0, 0, 5, 0, 0));
+        GlyphLine text = new GlyphLine(glyphs);
+        GlyphLineMeasurements measurements = measure(text, null);
+
+        Assert.assertTrue(measurements.isNewLine(2));
+        Assert.assertEquals(0, measurements.getWidth(2), 0);
+        // the run may go over the new line, which has to be checked by the caller
+        Assert.assertEquals(4, measurements.findLastFittingWordEnd(0, 5, true, 100));
+        // the x advance of the glyph before the new line is not added to the glyphs after it
+        Assert.assertEquals(4, measurements.findLastFittingWordEnd(3, 5, true, 20));
+    }
+
+    @Test
+    public void xAdvancesTest() {
+        List<Glyph> glyphs = createGlyphs("ab cd");
+        glyphs.set(0, new Glyph(glyphs.get(0), 0, 0, 5, 0, 0));
+        GlyphLine text = new GlyphLine(glyphs);
+        GlyphLineMeasurements measurements = measure(text, null);
+
+        Assert.assertEquals(5, measurements.getXAdvance(0), 0);
+        Assert.assertEquals(0, measurements.getXAdvance(1), 0);
+        // the advance after "a" is part of the width of "ab": 10 + 5 + 10
+        Assert.assertEquals(1, measurements.findLastFittingWordEnd(0, 5, true, 25));
+        Assert.assertEquals(-1, measurements.findLastFittingWordEnd(0, 5, true, 24));
+        Assert.assertEquals(4, measurements.findLastFittingWordEnd(0, 5, true, 55));
+        Assert.assertEquals(2, measurements.findLastFittingWordEnd(0, 5, true, 54));
+        // a line starting with "b" doesn't include the advance of "a"
+        Assert.assertEquals(4, measurements.findLastFittingWordEnd(1, 5, true, 40));
+        // but a run following "a" in the same line does
+        Assert.assertEquals(2, measurements.findLastFittingWordEnd(1, 5, false, 40));
+    }
+
+    @Test
+    public void negativeAdvancesTest() {
+        GlyphLine text = createGlyphLine("ab cd");
+        GlyphLineMeasurements measurements = measure(text, -20f);
+
+        Assert.assertEquals(-10, measurements.getWidth(0), 0);
+        // the prefix sums are not monotonic, so they can't be searched
+        Assert.assertEquals(-1, measurements.findLastFittingWordEnd(0, 5, true, 100));
+    }
+
+    @Test
+    public void validityTest() {
+        GlyphLine text = createGlyphLine("ab cd");
+        GlyphLineMeasurements measurements = measure(text, null);
+
+        Assert.assertTrue(measurements.isValidFor(text, null, FONT_SIZE, 1, null, null, SPLIT_CHARACTERS));
+        Assert.assertFalse(measurements.isValidFor(text, null, FONT_SIZE, 1, 1f, null, SPLIT_CHARACTERS));
+        Assert.assertFalse(measurements.isValidFor(text, null, FONT_SIZE, 1, null, null, new DefaultSplitCharacters()));
+
+        // another line with the same range is not the measured one
+        GlyphLine otherText = createGlyphLine("ef gh");
+        Assert.assertFalse(measurements.isValidFor(otherText, null, FONT_SIZE, 1, null, null, SPLIT_CHARACTERS));
+
+        GlyphLine copy = new GlyphLine(text);
+        copy.start = 3;
+        Assert.assertFalse(measurements.isValidFor(copy, null, FONT_SIZE, 1, null, null, SPLIT_CHARACTERS));
+        Assert.assertTrue(measurements.forCopyOfText(copy).isValidFor(copy, null, FONT_SIZE, 1, null, null, SPLIT_CHARACTERS));
+    }
+
+    private static GlyphLineMeasurements measure(GlyphLine text, Float characterSpacing) {
+        return new GlyphLineMeasurements(text, null, FONT_SIZE, 1, characterSpacing, null, SPLIT_CHARACTERS);
+    }
+
+    private static GlyphLine createGlyphLine(String text) {
+        return new GlyphLine(createGlyphs(text));
+    }
+
+    // every glyph is 10 points wide
+    private static List<Glyph> createGlyphs(String text) {
+        List<Glyph> glyphs = new ArrayList<>();
+        for (int i = 0; i < text.length(); i++) {
+            glyphs.add(new Glyph(i, 10, text.charAt(i)));
+        }
+        return glyphs;
+    }
+}
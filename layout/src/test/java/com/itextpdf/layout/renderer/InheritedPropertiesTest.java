@@ -0,0 +1,105 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2017 iText Group NV
+    Authors: iText Software.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.layout.renderer;
+
+import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfWriter;
+import com.itextpdf.layout.Document;
+import com.itextpdf.layout.element.Div;
+import com.itextpdf.layout.element.Paragraph;
+import com.itextpdf.layout.property.Property;
+import com.itextpdf.test.annotations.type.UnitTest;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import java.io.ByteArrayOutputStream;
+
+@Category(UnitTest.class)
+public class InheritedPropertiesTest {
+
+    @Test
+    public void changesInOtherTreesTest() {
+        DocumentRenderer root = new DocumentRenderer(new Document(new PdfDocument(new PdfWriter(new ByteArrayOutputStream()))));
+        DivRenderer div = new DivRenderer(new Div().setFontSize(20));
+        ParagraphRenderer paragraph = new ParagraphRenderer(new Paragraph());
+        div.setParent(root);
+        paragraph.setParent(div);
+        Assert.assertEquals(20, (float) paragraph.getPropertyAsFloat(Property.FONT_SIZE), 0);
+
+        long version = paragraph.getInheritedPropertiesVersion();
+        DivRenderer otherDiv = new DivRenderer(new Div());
+        otherDiv.setProperty(Property.FONT_SIZE, 30f);
+        Assert.assertEquals(version, paragraph.getInheritedPropertiesVersion());
+
+        div.setProperty(Property.FONT_SIZE, 10f);
+        Assert.assertNotEquals(version, paragraph.getInheritedPropertiesVersion());
+        Assert.assertEquals(10, (float) paragraph.getPropertyAsFloat(Property.FONT_SIZE), 0);
+
+        div.deleteOwnProperty(Property.FONT_SIZE);
+        Assert.assertEquals(20, (float) paragraph.getPropertyAsFloat(Property.FONT_SIZE), 0);
+    }
+
+    @Test
+    public void changedAncestorTest() {
+        DocumentRenderer root = new DocumentRenderer(new Document(new PdfDocument(new PdfWriter(new ByteArrayOutputStream()))));
+        DivRenderer outerDiv = new DivRenderer(new Div().setFontSize(20));
+        DivRenderer otherOuterDiv = new DivRenderer(new Div().setFontSize(30));
+        DivRenderer div = new DivRenderer(new Div());
+        ParagraphRenderer paragraph = new ParagraphRenderer(new Paragraph());
+        outerDiv.setParent(root);
+        otherOuterDiv.setParent(root);
+        div.setParent(outerDiv);
+        paragraph.setParent(div);
+        Assert.assertEquals(20, (float) paragraph.getPropertyAsFloat(Property.FONT_SIZE), 0);
+
+        div.setParent(otherOuterDiv);
+        Assert.assertEquals(30, (float) paragraph.getPropertyAsFloat(Property.FONT_SIZE), 0);
+
+        // a detached tree counts its own changes
+        div.setParent(null);
+        Assert.assertNull(paragraph.getPropertyAsFloat(Property.FONT_SIZE));
+        div.setParent(outerDiv);
+        Assert.assertEquals(20, (float) paragraph.getPropertyAsFloat(Property.FONT_SIZE), 0);
+    }
+}
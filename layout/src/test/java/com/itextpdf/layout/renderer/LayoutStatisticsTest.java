@@ -0,0 +1,103 @@
+/*
+
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2017 iText Group NV
+    Authors: Bruno Lowagie, Paulo Soares, et al.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.layout.renderer;
+
+import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfWriter;
+import com.itextpdf.layout.Document;
+import com.itextpdf.layout.element.Cell;
+import com.itextpdf.layout.element.Paragraph;
+import com.itextpdf.layout.element.Table;
+import com.itextpdf.test.annotations.type.IntegrationTest;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import java.io.ByteArrayOutputStream;
+
+@Category(IntegrationTest.class)
+public class LayoutStatisticsTest {
+
+    @Test
+    public void layoutStatisticsTest() {
+        PdfDocument pdfDocument = new PdfDocument(new PdfWriter(new ByteArrayOutputStream()));
+        Document document = new Document(pdfDocument);
+        LayoutStatistics statistics = new LayoutStatistics();
+        document.setLayoutStatistics(statistics);
+        Assert.assertSame(statistics, document.getLayoutStatistics());
+
+        for (int i = 0; i < 10; i++) {
+            document.add(new Paragraph("Paragraph " + i));
+        }
+        Table table = new Table(2);
+        for (int i = 0; i < 200; i++) {
+            table.addCell(new Cell().add("Cell " + i));
+        }
+        document.add(table);
+        document.close();
+
+        LayoutStatistics.RendererStatistics paragraphStatistics = statistics.getRendererStatistics(ParagraphRenderer.class);
+        Assert.assertNotNull(paragraphStatistics);
+        Assert.assertEquals(210, paragraphStatistics.getDrawCount());
+        // the paragraphs of the cells which don't fit on a page are laid out again on the next one
+        Assert.assertEquals(210 + paragraphStatistics.getNothingCount(), paragraphStatistics.getLayoutCount());
+        Assert.assertEquals(paragraphStatistics.getNothingCount(), paragraphStatistics.getRelayoutCount());
+
+        LayoutStatistics.RendererStatistics tableStatistics = statistics.getRendererStatistics(TableRenderer.class);
+        Assert.assertNotNull(tableStatistics);
+        Assert.assertTrue(tableStatistics.getPartialCount() > 0);
+        Assert.assertEquals(tableStatistics.getPartialCount() + 1, tableStatistics.getDrawCount());
+        Assert.assertNotNull(statistics.getRendererStatistics(TextRenderer.class));
+
+        long layoutTime = 0;
+        for (LayoutStatistics.RendererStatistics rendererStatistics : statistics.getRendererStatistics()) {
+            layoutTime += rendererStatistics.getLayoutTime();
+            Assert.assertTrue(rendererStatistics.getLayoutTime() <= rendererStatistics.getLayoutTotalTime());
+        }
+        Assert.assertEquals(layoutTime, statistics.getLayoutTime());
+        Assert.assertEquals(paragraphStatistics.getLayoutCount() * 2,
+                new LayoutStatistics().merge(statistics).merge(statistics).getRendererStatistics(ParagraphRenderer.class).getLayoutCount());
+        Assert.assertTrue(statistics.toString().contains("ParagraphRenderer: " + paragraphStatistics.getLayoutCount() + " layouts"));
+    }
+}
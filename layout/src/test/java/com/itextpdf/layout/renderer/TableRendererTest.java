@@ -0,0 +1,128 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2017 iText Group NV
+    Authors: iText Software.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.layout.renderer;
+
+import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfWriter;
+import com.itextpdf.kernel.utils.CompareTool;
+import com.itextpdf.layout.Document;
+import com.itextpdf.layout.element.Cell;
+import com.itextpdf.layout.element.Paragraph;
+import com.itextpdf.layout.element.Table;
+import com.itextpdf.test.ExtendedITextTest;
+import com.itextpdf.test.annotations.type.IntegrationTest;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import java.io.IOException;
+import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.List;
+
+@Category(IntegrationTest.class)
+public class TableRendererTest extends ExtendedITextTest {
+    public static final String sourceFolder = "./src/test/resources/com/itextpdf/layout/renderer/TableRendererTest/";
+    public static final String destinationFolder = "./target/test/com/itextpdf/layout/renderer/TableRendererTest/";
+
+    @BeforeClass
+    public static void beforeClass() {
+        createDestinationFolder(destinationFolder);
+    }
+
+    @Test
+    public void largeTableDrawnRowsReleasingTest() throws IOException, InterruptedException {
+        String testName = "largeTableDrawnRowsReleasingTest.pdf";
+        String outFileName = destinationFolder + testName;
+        String cmpFileName = sourceFolder + "cmp_" + testName;
+
+        PdfDocument pdfDoc = new PdfDocument(new PdfWriter(outFileName));
+        Document doc = new Document(pdfDoc);
+        DrawnTablesRecordingDocumentRenderer documentRenderer = new DrawnTablesRecordingDocumentRenderer(doc);
+        doc.setRenderer(documentRenderer);
+
+        Table table = new Table(new float[]{100, 200, 200}, true);
+        doc.add(table);
+        for (int i = 0; i < 300; i++) {
+            for (int j = 0; j < 3; j++) {
+                table.addCell(new Cell().add(new Paragraph(MessageFormat.format("Cell {0}, {1}", i + 1, j + 1))));
+            }
+            // each flushed part of the table takes several pages
+            if (i % 100 == 99) {
+                table.flush();
+            }
+        }
+        table.complete();
+        doc.close();
+
+        int splitRenderersCount = 0;
+        for (TableRenderer tableRenderer : documentRenderer.drawnTables) {
+            if (!tableRenderer.isLastRendererForModelElement) {
+                splitRenderersCount++;
+                // the rows of a drawn part of the table are released, though the remaining part still refers to the same list
+                for (CellRenderer[] row : tableRenderer.rows) {
+                    Assert.assertNull(row);
+                }
+            }
+        }
+        Assert.assertTrue(splitRenderersCount > 3);
+        Assert.assertNull(new CompareTool().compareByContent(outFileName, cmpFileName, destinationFolder, testName + "_diff"));
+    }
+
+    private static class DrawnTablesRecordingDocumentRenderer extends DocumentRenderer {
+        private List<TableRenderer> drawnTables = new ArrayList<>();
+
+        public DrawnTablesRecordingDocumentRenderer(Document document) {
+            super(document);
+        }
+
+        @Override
+        protected void flushSingleRenderer(IRenderer resultRenderer) {
+            super.flushSingleRenderer(resultRenderer);
+            if (resultRenderer instanceof TableRenderer) {
+                drawnTables.add((TableRenderer) resultRenderer);
+            }
+        }
+    }
+}